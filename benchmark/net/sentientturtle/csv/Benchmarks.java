@@ -0,0 +1,24 @@
+package net.sentientturtle.csv;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with the GC profiler, reporting allocation rate alongside throughput
+ * <br>
+ * Usage: {@code Benchmarks [regex]}, running all benchmarks if no regex is specified
+ */
+public final class Benchmarks {
+    private Benchmarks() {}
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                                  .include(args.length > 0 ? args[0] : "net\\.sentientturtle\\.csv\\..*Benchmark")
+                                  .addProfiler(GCProfiler.class)
+                                  .build();
+        new Runner(options).run();
+    }
+}
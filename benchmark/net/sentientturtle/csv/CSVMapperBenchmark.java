@@ -0,0 +1,76 @@
+package net.sentientturtle.csv;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CSVMapper#readRecord()} mapping the same document to records of primitive, boxed, and String components, and {@link CSVMapper#readColumns(ColumnBatch, int)} decoding it to columns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSVMapperBenchmark {
+    public record PrimitiveRecord(int id, long count, double ratio, boolean flag) {}
+
+    public record BoxedRecord(Integer id, Long count, Double ratio, Boolean flag) {}
+
+    public record StringRecord(String id, String count, String ratio, String flag) {}
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean generatedMappers;
+
+    private String document;
+    private CSVMapper.Builder<PrimitiveRecord> primitiveBuilder;
+    private CSVMapper.Builder<BoxedRecord> boxedBuilder;
+    private CSVMapper.Builder<StringRecord> stringBuilder;
+    private final ColumnBatch batch = new ColumnBatch();
+
+    @Setup
+    public void setup() {
+        document = Datasets.generateTyped(rows);
+        // Builders are reused, as generated mappers are generated once per builder and column binding
+        primitiveBuilder = CSVReader.Builder.DEFAULT_RFC4180().mapped(PrimitiveRecord.class, true).useGeneratedMappers(generatedMappers).validate();
+        boxedBuilder = CSVReader.Builder.DEFAULT_RFC4180().mapped(BoxedRecord.class, true).useGeneratedMappers(generatedMappers).validate();
+        stringBuilder = CSVReader.Builder.DEFAULT_RFC4180().mapped(StringRecord.class, true).useGeneratedMappers(generatedMappers).validate();
+    }
+
+    private <R extends Record> void readAll(CSVMapper.Builder<R> builder, Blackhole blackhole) throws Exception {
+        CSVMapper<R> mapper = builder.build(document);
+        while (mapper.hasNext()) {
+            blackhole.consume(mapper.readRecord());
+        }
+    }
+
+    @Benchmark
+    public void primitiveRecord(Blackhole blackhole) throws Exception {
+        readAll(primitiveBuilder, blackhole);
+    }
+
+    @Benchmark
+    public void boxedRecord(Blackhole blackhole) throws Exception {
+        readAll(boxedBuilder, blackhole);
+    }
+
+    @Benchmark
+    public void stringRecord(Blackhole blackhole) throws Exception {
+        readAll(stringBuilder, blackhole);
+    }
+
+    @Benchmark
+    public void primitiveColumns(Blackhole blackhole) throws Exception {
+        CSVMapper<PrimitiveRecord> mapper = CSVReader.Builder.DEFAULT_RFC4180()
+                                                    .mapped(PrimitiveRecord.class, true)
+                                                    .build(document);
+        while (mapper.readColumns(batch, 4096) > 0) {
+            blackhole.consume(batch.ints(0));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package net.sentientturtle.csv;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CSVReader#readLine()} and {@link CSVReader#readBatch(RowBatch, int)} across every {@link CSVReader.QuoteParsingMode}, trim setting, and dataset shape, reading from both character and byte input
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSVReaderBenchmark {
+    @Param({"TREAT_QUOTES_AS_NORMAL_CHARACTERS", "PERMIT_INNER_QUOTES_IN_UNQUOTED_FIELDS", "REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS"})
+    public CSVReader.QuoteParsingMode quoteMode;
+
+    @Param({"false", "true"})
+    public boolean trimWhitespace;
+
+    @Param({"NARROW", "WIDE", "QUOTE_HEAVY", "NON_ASCII"})
+    public Datasets.Shape shape;
+
+    @Param({"10000"})
+    public int rows;
+
+    private CSVReader.Builder builder;
+    private final RowBatch batch = new RowBatch();
+    private String chars;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        builder = CSVReader.Builder.DEFAULT_RFC4180()
+                          .setQuoteMode(quoteMode)
+                          .trimWhitespace(trimWhitespace);
+        chars = Datasets.generate(shape, rows);
+        bytes = chars.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void readAll(CSVReader reader, Blackhole blackhole) throws IOException, CSVParseException {
+        while (reader.hasNext()) {
+            blackhole.consume(reader.readLine());
+        }
+    }
+
+    @Benchmark
+    public void readLineChars(Blackhole blackhole) throws IOException, CSVParseException {
+        readAll(builder.build(chars), blackhole);
+    }
+
+    @Benchmark
+    public void readLineBytes(Blackhole blackhole) throws IOException, CSVParseException {
+        readAll(builder.build(new ByteArrayInputStream(bytes)), blackhole);
+    }
+
+    @Benchmark
+    public void readBatchChars(Blackhole blackhole) throws IOException, CSVParseException {
+        CSVReader reader = builder.build(chars);
+        while (reader.readBatch(batch, 1024) > 0) {
+            blackhole.consume(batch.chars());
+        }
+    }
+
+    @Benchmark
+    public void readBatchBytes(Blackhole blackhole) throws IOException, CSVParseException {
+        CSVReader reader = builder.build(new ByteArrayInputStream(bytes));
+        while (reader.readBatch(batch, 1024) > 0) {
+            blackhole.consume(batch.chars());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package net.sentientturtle.csv;
+
+import java.util.Random;
+
+/**
+ * Synthetic CSV documents for benchmarks
+ * <br>
+ * Documents are generated from fixed seeds, such that every run of a benchmark parses identical input.
+ * All documents are valid under every {@link CSVReader.QuoteParsingMode}, with or without whitespace trimming.
+ * Documents do not end in a record separator, such that {@link CSVReader#hasNext()} is false after the last row.
+ */
+public final class Datasets {
+    private static final int[] ASCII_WORDS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".codePoints().toArray();
+    private static final int[] NON_ASCII_WORDS = "äöüßéèêçñøåæ中文字符日本語한국어Ελληνικάкириллица😊🚀".codePoints().toArray();
+
+    private Datasets() {}
+
+    /**
+     * Shapes of generated documents
+     */
+    public enum Shape {
+        /**
+         * 5 short unquoted columns
+         */
+        NARROW(5, 8, 0),
+        /**
+         * 150 short unquoted columns, as found in wide extract files
+         */
+        WIDE(150, 8, 0),
+        /**
+         * 8 columns, most of them quoted, containing separators, newlines, and escaped quotes
+         */
+        QUOTE_HEAVY(8, 16, 0),
+        /**
+         * 8 columns of mostly non-ASCII text, including characters outside the BMP
+         */
+        NON_ASCII(8, 16, 1);
+
+        private final int columns;
+        private final int unitLength;
+        private final long seed;
+
+        Shape(int columns, int unitLength, long seed) {
+            this.columns = columns;
+            this.unitLength = unitLength;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * @param shape Shape of document
+     * @param rows  Amount of rows
+     * @return Generated document, without trailing newline
+     */
+    public static String generate(Shape shape, int rows) {
+        Random random = new Random(shape.ordinal() * 31L + shape.seed);
+        StringBuilder document = new StringBuilder();
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) document.append('\n');
+            for (int column = 0; column < shape.columns; column++) {
+                if (column > 0) document.append(',');
+                int length = 1 + random.nextInt(shape.unitLength * 2);
+                switch (shape) {
+                    case NARROW, WIDE -> appendWord(document, random, ASCII_WORDS, length);
+                    case QUOTE_HEAVY -> {
+                        if (random.nextInt(4) == 0) {
+                            appendWord(document, random, ASCII_WORDS, length);
+                        } else {
+                            document.append('"');
+                            appendWord(document, random, ASCII_WORDS, length / 2);
+                            document.append(switch (random.nextInt(3)) {
+                                case 0 -> ",";
+                                case 1 -> "\n";
+                                default -> "\"\"";
+                            });
+                            appendWord(document, random, ASCII_WORDS, length / 2);
+                            document.append('"');
+                        }
+                    }
+                    case NON_ASCII -> appendWord(document, random, random.nextInt(4) == 0 ? ASCII_WORDS : NON_ASCII_WORDS, length);
+                }
+            }
+        }
+        return document.toString();
+    }
+
+    /**
+     * Document of int, long, double, and boolean columns, with header {@code id,count,ratio,flag}
+     *
+     * @param rows Amount of rows, excluding header
+     * @return Generated document, without trailing newline
+     */
+    public static String generateTyped(int rows) {
+        Random random = new Random(42);
+        StringBuilder document = new StringBuilder("id,count,ratio,flag");
+        for (int row = 0; row < rows; row++) {
+            document.append('\n').append(random.nextInt()).append(',')
+                    .append(random.nextLong()).append(',')
+                    .append(random.nextInt(1_000_000) / 100.0).append(',')
+                    .append(random.nextBoolean());
+        }
+        return document.toString();
+    }
+
+    private static void appendWord(StringBuilder document, Random random, int[] codepoints, int length) {
+        for (int i = 0; i < length; i++) {
+            document.appendCodePoint(codepoints[random.nextInt(codepoints.length)]);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.sentientturtle.csv;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link DelimiterScanner} implementations, scanning a buffer of units of varying length from delimiter to delimiter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DelimiterScannerBenchmark {
+    /**
+     * Average length of units, in bytes
+     */
+    @Param({"4", "16", "64", "256"})
+    public int unitLength;
+
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+    private DelimiterScanner scalar;
+    private DelimiterScanner swar;
+    private DelimiterScanner created;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        byte[] bytes = new byte[1 << 20];
+        for (int i = 0; i < bytes.length; i++) {
+            if (random.nextInt(unitLength) == 0) {
+                bytes[i] = (byte) (random.nextInt(8) == 0 ? '\n' : ',');
+            } else {
+                bytes[i] = (byte) ('a' + random.nextInt(26));
+            }
+        }
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).clear();
+        scalar = new ScalarDelimiterScanner(',', '\n', '"');
+        swar = new SwarDelimiterScanner(',', '\n', '"');
+        created = DelimiterScanner.create(',', '\n', '"');
+    }
+
+    private static void scan(DelimiterScanner scanner, ByteBuffer buffer, Blackhole blackhole) {
+        int limit = buffer.limit();
+        for (int i = scanner.indexOf(buffer, 0, limit); i < limit; i = scanner.indexOf(buffer, i + 1, limit)) {
+            blackhole.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void scalarHeap(Blackhole blackhole) {
+        scan(scalar, heapBuffer, blackhole);
+    }
+
+    @Benchmark
+    public void swarHeap(Blackhole blackhole) {
+        scan(swar, heapBuffer, blackhole);
+    }
+
+    @Benchmark
+    public void scalarDirect(Blackhole blackhole) {
+        scan(scalar, directBuffer, blackhole);
+    }
+
+    @Benchmark
+    public void swarDirect(Blackhole blackhole) {
+        scan(swar, directBuffer, blackhole);
+    }
+
+    /**
+     * Scanner used by tokenizers; Vectorized if run with {@code --add-modules jdk.incubator.vector}, SWAR otherwise
+     */
+    @Benchmark
+    public void createdHeap(Blackhole blackhole) {
+        scan(created, heapBuffer, blackhole);
+    }
+}
@@ -0,0 +1,93 @@
+package net.sentientturtle.csv;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures reading gzip-compressed input through {@link CSVReader.Builder#buildGzip(java.io.InputStream, int)}, against parsing on the thread inflating a {@link GZIPInputStream}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GzipBenchmark {
+    @Param({"NARROW", "WIDE"})
+    public Datasets.Shape shape;
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private byte[] gzip;
+    private byte[] bgzf;
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] bytes = Datasets.generate(shape, rows).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream gzipOutput = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(gzipOutput)) {
+            output.write(bytes);
+        }
+        gzip = gzipOutput.toByteArray();
+        // BGZF blocks of 64KB of uncompressed data, as written by bgzip
+        ByteBuffer blocks = ByteBuffer.allocate(bytes.length + bytes.length / 8 + 1024).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] deflated = new byte[65536 + 1024];
+        for (int start = 0; start <= bytes.length; start += 65280) {
+            int length = Math.min(65280, bytes.length - start);
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            deflater.setInput(bytes, start, length);
+            deflater.finish();
+            int deflatedLength = deflater.deflate(deflated);
+            deflater.end();
+            CRC32 crc = new CRC32();
+            crc.update(bytes, start, length);
+            blocks.put(new byte[]{0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0});
+            blocks.putShort((short) (18 + deflatedLength + 8 - 1));
+            blocks.put(deflated, 0, deflatedLength);
+            blocks.putInt((int) crc.getValue());
+            blocks.putInt(length);
+        }
+        bgzf = new byte[blocks.position()];
+        blocks.flip().get(bgzf);
+    }
+
+    private final RowBatch batch = new RowBatch();
+
+    private long readAll(CSVReader reader) throws IOException, CSVParseException {
+        long rows = 0;
+        try (reader) {
+            while (reader.readBatch(batch, 1024) > 0) rows += batch.rowCount();
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long gzipInputStream() throws IOException, CSVParseException {
+        return readAll(CSVReader.Builder.DEFAULT_RFC4180().build(new GZIPInputStream(new ByteArrayInputStream(gzip), 65536)));
+    }
+
+    @Benchmark
+    public long buildGzip() throws IOException, CSVParseException {
+        return readAll(CSVReader.Builder.DEFAULT_RFC4180().buildGzip(new ByteArrayInputStream(gzip), threads));
+    }
+
+    @Benchmark
+    public long buildGzipBgzf() throws IOException, CSVParseException {
+        return readAll(CSVReader.Builder.DEFAULT_RFC4180().buildGzip(new ByteArrayInputStream(bgzf), threads));
+    }
+}
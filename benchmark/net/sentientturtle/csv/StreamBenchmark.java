@@ -0,0 +1,79 @@
+package net.sentientturtle.csv;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the stream and spliterator paths of {@link CSVReader} and {@link CSVMapper}, reading from a file such that parallel streams may split the input
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamBenchmark {
+    @Param({"NARROW", "QUOTE_HEAVY", "NON_ASCII"})
+    public Datasets.Shape shape;
+
+    @Param({"100000"})
+    public int rows;
+
+    private Path file;
+    private Path typedFile;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("csv-benchmark", ".csv");
+        Files.writeString(file, Datasets.generate(shape, rows));
+        typedFile = Files.createTempFile("csv-benchmark-typed", ".csv");
+        Files.writeString(typedFile, Datasets.generateTyped(rows));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(typedFile);
+    }
+
+    @Benchmark
+    public long readerStream() throws IOException, CSVParseException {
+        try (CSVReader reader = CSVReader.Builder.DEFAULT_RFC4180().build(file)) {
+            return reader.stream(false).mapToInt(row -> row.length).sum();
+        }
+    }
+
+    @Benchmark
+    public long readerParallelStream() throws IOException, CSVParseException {
+        try (CSVReader reader = CSVReader.Builder.DEFAULT_RFC4180().build(file)) {
+            return reader.stream(true).mapToInt(row -> row.length).sum();
+        }
+    }
+
+    @Benchmark
+    public long readerIterator() throws IOException, CSVParseException {
+        long units = 0;
+        try (CSVReader reader = CSVReader.Builder.DEFAULT_RFC4180().build(file)) {
+            for (String[] row : reader) units += row.length;
+        }
+        return units;
+    }
+
+    @Benchmark
+    public long mapperStream() throws Exception {
+        try (CSVMapper<CSVMapperBenchmark.PrimitiveRecord> mapper = CSVReader.Builder.DEFAULT_RFC4180().mapped(CSVMapperBenchmark.PrimitiveRecord.class, true).build(typedFile)) {
+            return mapper.stream(false).mapToLong(CSVMapperBenchmark.PrimitiveRecord::count).sum();
+        }
+    }
+
+    @Benchmark
+    public long mapperParallelStream() throws Exception {
+        try (CSVMapper<CSVMapperBenchmark.PrimitiveRecord> mapper = CSVReader.Builder.DEFAULT_RFC4180().mapped(CSVMapperBenchmark.PrimitiveRecord.class, true).build(typedFile)) {
+            return mapper.stream(true).mapToLong(CSVMapperBenchmark.PrimitiveRecord::count).sum();
+        }
+    }
+}
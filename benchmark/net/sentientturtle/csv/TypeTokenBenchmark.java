@@ -0,0 +1,43 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.reflection.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures record reflection through {@link TypeToken}, performed once per {@link CSVMapper}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeTokenBenchmark {
+    public record GenericRecord<T>(T value, String name, int count) {}
+
+    private final TypeToken<CSVMapperBenchmark.PrimitiveRecord> recordToken = new TypeToken<>(CSVMapperBenchmark.PrimitiveRecord.class);
+    private final TypeToken<GenericRecord<Double>> genericToken = new TypeToken<>() {};
+    private final Object[] arguments = {1, 2L, 3.0, true};
+
+    @Benchmark
+    public Object getRecordComponents() {
+        return recordToken.getRecordComponents();
+    }
+
+    @Benchmark
+    public Object getRecordComponentsGeneric() {
+        return genericToken.getRecordComponents();
+    }
+
+    @Benchmark
+    public Object getRecordConstructor() throws NoSuchMethodException {
+        return recordToken.getRecordConstructor();
+    }
+
+    @Benchmark
+    public Object constructRecord() throws Exception {
+        return recordToken.getRecordConstructor().apply(arguments);
+    }
+}
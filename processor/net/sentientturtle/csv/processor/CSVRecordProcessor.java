@@ -0,0 +1,198 @@
+package net.sentientturtle.csv.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a compiled record mapper for each record annotated with {@code net.sentientturtle.csv.CSVRecord}
+ * <br>
+ * Generated mappers extend {@code net.sentientturtle.csv.CompiledRecordMapper}, and are named after the binary name of their record with suffix {@value #CLASS_NAME_SUFFIX}, in the package of the record.
+ * Records must be accessible from their package, must not be generic, and may only have components of (boxed) primitive types and {@link String}; Other records are reported as errors.
+ * <br>
+ * This processor does not depend on the library, and only references it in generated sources.
+ */
+@SupportedAnnotationTypes(CSVRecordProcessor.ANNOTATION)
+public final class CSVRecordProcessor extends AbstractProcessor {
+    static final String ANNOTATION = "net.sentientturtle.csv.CSVRecord";
+    static final String MAPPER_SUPERCLASS = "net.sentientturtle.csv.CompiledRecordMapper";
+    static final String CLASS_NAME_SUFFIX = "_CSVRecordMapper";
+
+    /**
+     * Code generated per component type
+     *
+     * @param parse   Default type mapper of the type, or null to use units as-is
+     * @param convert Conversion of an Object argument to the type, with the argument as format parameter
+     */
+    private record ComponentType(String sourceName, String parse, String convert) {
+        static ComponentType primitive(String name, String parse) {
+            return new ComponentType(name, parse, "to" + Character.toUpperCase(name.charAt(0)) + name.substring(1) + "(%s)");
+        }
+
+        static ComponentType reference(String name, String parse) {
+            return new ComponentType(name, parse, "toReference(" + name + ".class, %s)");
+        }
+    }
+
+    private static final Map<String, ComponentType> COMPONENT_TYPES = Map.ofEntries(
+            Map.entry("boolean", ComponentType.primitive("boolean", "parseBoolean")),
+            Map.entry("char", ComponentType.primitive("char", "parseChar")),
+            Map.entry("byte", ComponentType.primitive("byte", "parseByte")),
+            Map.entry("short", ComponentType.primitive("short", "parseShort")),
+            Map.entry("int", ComponentType.primitive("int", "parseInt")),
+            Map.entry("long", ComponentType.primitive("long", "parseLong")),
+            Map.entry("float", ComponentType.primitive("float", "parseFloat")),
+            Map.entry("double", ComponentType.primitive("double", "parseDouble")),
+            Map.entry("java.lang.Boolean", ComponentType.reference("java.lang.Boolean", "parseBoolean")),
+            Map.entry("java.lang.Character", ComponentType.reference("java.lang.Character", "parseChar")),
+            Map.entry("java.lang.Byte", ComponentType.reference("java.lang.Byte", "parseByte")),
+            Map.entry("java.lang.Short", ComponentType.reference("java.lang.Short", "parseShort")),
+            Map.entry("java.lang.Integer", ComponentType.reference("java.lang.Integer", "parseInt")),
+            Map.entry("java.lang.Long", ComponentType.reference("java.lang.Long", "parseLong")),
+            Map.entry("java.lang.Float", ComponentType.reference("java.lang.Float", "parseFloat")),
+            Map.entry("java.lang.Double", ComponentType.reference("java.lang.Double", "parseDouble")),
+            Map.entry("java.lang.String", ComponentType.reference("java.lang.String", null))
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD) {
+                    error(element, "@CSVRecord may only be applied to records");
+                } else {
+                    process((TypeElement) element);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks a record and generates its mapper, reporting an error if the record is not supported
+     *
+     * @param record Annotated record
+     */
+    private void process(TypeElement record) {
+        if (!record.getTypeParameters().isEmpty()) {
+            error(record, "@CSVRecord records must not be generic");
+            return;
+        }
+        for (Element element = record; element instanceof TypeElement type; element = element.getEnclosingElement()) {
+            if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER || type.getModifiers().contains(Modifier.PRIVATE)) {
+                error(record, "@CSVRecord records must be accessible from their package");
+                return;
+            }
+        }
+
+        List<? extends RecordComponentElement> components = record.getRecordComponents();
+        ComponentType[] types = new ComponentType[components.size()];
+        boolean supported = true;
+        for (int i = 0; i < types.length; i++) {
+            types[i] = COMPONENT_TYPES.get(typeName(components.get(i).asType()));
+            if (types[i] == null) {
+                error(record, "@CSVRecord records may only have components of (boxed) primitive types and String, found: " + components.get(i).asType() + " " + components.get(i).getSimpleName());
+                supported = false;
+            }
+        }
+        if (!supported) return;
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(record).toString();
+        String mapperName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + CLASS_NAME_SUFFIX;
+        String recordName = record.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Compiled CSV mapper for {@link ").append(recordName).append("}, generated by ").append(CSVRecordProcessor.class.getName()).append("\n */\n");
+        source.append("public final class ").append(mapperName).append(" extends ").append(MAPPER_SUPERCLASS).append('<').append(recordName).append("> {\n");
+
+        source.append("    public ").append(mapperName).append("() {\n");
+        source.append("        super(").append(recordName).append(".class, new java.lang.String[]{");
+        for (int i = 0; i < types.length; i++) {
+            source.append(i == 0 ? "" : ", ").append('"').append(components.get(i).getSimpleName()).append('"');
+        }
+        source.append("}, new java.lang.Class<?>[]{");
+        for (int i = 0; i < types.length; i++) {
+            source.append(i == 0 ? "" : ", ").append(types[i].sourceName()).append(".class");
+        }
+        source.append("});\n    }\n\n");
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public ").append(recordName).append(" map(java.lang.String[] units, int[] columns) throws java.lang.Exception {\n");
+        for (int i = 0; i < types.length; i++) {
+            String unit = "units[columns[" + i + "]]";
+            source.append("        ").append(types[i].sourceName()).append(" c").append(i).append(" = ")
+                    .append(types[i].parse() == null ? unit : types[i].parse() + "(" + unit + ")").append(";\n");
+        }
+        appendConstructorCall(source, recordName, types.length);
+        source.append("    }\n\n");
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public ").append(recordName).append(" construct(java.lang.Object[] fields) throws java.lang.Exception {\n");
+        source.append("        checkArgumentCount(fields, ").append(types.length).append(");\n");
+        for (int i = 0; i < types.length; i++) {
+            source.append("        ").append(types[i].sourceName()).append(" c").append(i).append(" = ")
+                    .append(String.format(types[i].convert(), "fields[" + i + "]")).append(";\n");
+        }
+        appendConstructorCall(source, recordName, types.length);
+        source.append("    }\n}\n");
+
+        String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMapperName, record).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(record, "cannot write compiled mapper " + qualifiedMapperName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a call of the canonical constructor with variables c0..cN, wrapping exceptions as {@link java.lang.reflect.Constructor#newInstance(Object...)} does
+     */
+    private static void appendConstructorCall(StringBuilder source, String recordName, int componentCount) {
+        source.append("        try {\n            return new ").append(recordName).append('(');
+        for (int i = 0; i < componentCount; i++) {
+            source.append(i == 0 ? "" : ", ").append('c').append(i);
+        }
+        source.append(");\n        } catch (java.lang.Throwable e) {\n            throw new java.lang.reflect.InvocationTargetException(e);\n        }\n");
+    }
+
+    /**
+     * @param type Type of a record component
+     * @return Name of a primitive type, qualified name of a declared type, or null for other types
+     */
+    private String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) processingEnv.getTypeUtils().asElement(type)).getQualifiedName().toString();
+        } else {
+            return null;
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
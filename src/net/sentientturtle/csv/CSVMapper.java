@@ -1,7 +1,5 @@
 package net.sentientturtle.csv;
 
-import net.sentientturtle.csv.exception.BooleanParseException;
-import net.sentientturtle.csv.exception.CharParseException;
 import net.sentientturtle.csv.reflection.TypeToken;
 import net.sentientturtle.csv.util.Util;
 import org.jetbrains.annotations.NotNull;
@@ -10,8 +8,14 @@ import org.jetbrains.annotations.Nullable;
 import java.io.*;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -23,6 +27,8 @@ import java.util.stream.StreamSupport;
  * Implements {@link Iterable} and can be used in for-each loops.
  * <br>
  * CAUTION: CSVMapper can only be iterated once. Each row of the document will be yielded once, even when multiple iterators from {@link CSVMapper#iterator()} are created. To iterate multiple times, collect each record to a list.
+ * <br>
+ * CAUTION: CSVMapper is not thread-safe, and must be confined to a single consumer thread. Use {@link CSVMapper#concurrent(int)} to share records between threads, or {@link CSVMapper#stream(boolean)} for parallel processing.
  * <br><br>
  * Example usage:
  * <pre>
@@ -51,13 +57,18 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
     private final boolean inferEmptyTrailingColumns;
     private final @NotNull String @Nullable [] headerFields;
     private final BiFunction<String, String, Boolean> headerCompareFunction;
+    private final TypeToken<?>[] fieldTypes;
     private final ThrowingFunction<String, Object>[] fieldMappers;
     private final ThrowingFunction<Object[], R> recordMapper;
+    private final @Nullable Function<int[], RecordMapperGenerator.GeneratedMapper<R>> mapperGenerator;
     // State
     private boolean mustReadHeader;
     // Column indices for the record fields; int #N in this array specifies which column is used for field N in the record.
     // If null, no re-ordering of columns is done, and the first N units are passed into the record constructor
     private int @Nullable [] fieldColumnIndices;
+    // Generated mapper for the current column binding, used for rows containing every bound column
+    private RecordMapperGenerator.@Nullable GeneratedMapper<R> generatedMapper;
+    private int generatedMapperUnits;
 
     /**
      * Private constructor; This type is initialized through {@link CSVMapper.Builder}
@@ -68,8 +79,10 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
      * @param inferEmptyTrailingColumns If true, insert empty-string as value for missing columns. If expecting a header, all header fields must still be present, only data fields may be missing
      * @param headerCompareFunction     Function used to compare headers, usually either {@link String#equals(Object) String::equals} or {@link String#equalsIgnoreCase(String) String::equalsIgnoreCase}
      * @param headerFields              Header fields that are expected, may be null even if `readHeader` is true. If `readHeader` is true and `headerFields` is null, the first line of the csv document is simply discarded
+     * @param fieldTypes                Types of fields, in the order of `fieldMappers`
      * @param fieldMappers              Type mappers for fields. If `headerFields` is set, order must match that of `headerFields`
      * @param recordMapper              Record constructor, takes array created by `fieldMappers`
+     * @param mapperGenerator           Generator of mappers per column binding, generated or compiled, or null to map through `fieldMappers` and `recordMapper`
      */
     private CSVMapper(
             CSVReader reader,
@@ -78,8 +91,10 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
             boolean inferEmptyTrailingColumns,
             BiFunction<String, String, Boolean> headerCompareFunction,
             @NotNull String @Nullable [] headerFields,
+            TypeToken<?>[] fieldTypes,
             ThrowingFunction<String, Object>[] fieldMappers,
-            ThrowingFunction<Object[], R> recordMapper
+            ThrowingFunction<Object[], R> recordMapper,
+            @Nullable Function<int[], RecordMapperGenerator.GeneratedMapper<R>> mapperGenerator
     ) {
         this.reader = Objects.requireNonNull(reader);
         this.csvIter = reader.iterator();
@@ -87,9 +102,28 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
         this.inferEmptyTrailingColumns = inferEmptyTrailingColumns;
         this.headerFields = Util.requireNonNullValues(headerFields, true);
         this.headerCompareFunction = headerCompareFunction;
+        this.fieldTypes = fieldTypes;
         this.fieldMappers = fieldMappers;
         this.recordMapper = recordMapper;
+        this.mapperGenerator = mapperGenerator;
         this.mustReadHeader = readHeader;
+        // Only the first N units are passed into the record constructor; Columns are projected after reading the header if it specifies fields
+        if (!readHeader || headerFields == null) {
+            int[] columns = IntStream.range(0, fieldMappers.length).toArray();
+            reader.setProjection(columns);
+            bindGeneratedMapper(columns);
+        }
+    }
+
+    /**
+     * Selects the generated mapper for a column binding, if mappers are generated or compiled
+     *
+     * @param columns Column index of each record component
+     */
+    private void bindGeneratedMapper(int[] columns) {
+        if (mapperGenerator == null) return;
+        generatedMapper = mapperGenerator.apply(columns);
+        generatedMapperUnits = Arrays.stream(columns).max().orElse(-1) + 1;
     }
 
     /**
@@ -100,10 +134,19 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
      * @throws IOException       if an underlying error in the backing CSVReader occurs
      * @throws CSVParseException Header is missing, or does not match expected columns
      */
-    private synchronized void readHeader() throws IOException, CSVParseException {
+    private void readHeader() throws IOException, CSVParseException {
         mustReadHeader = false;
         if (!csvIter.hasNext()) throw new CSVParseException("header expected, found end of stream");
-        String[] header = reader.readLine();
+        processHeader(reader.readLine());
+    }
+
+    /**
+     * Matches a header against the expected columns, see {@link CSVMapper#readHeader()}
+     *
+     * @param header Units of the header row
+     * @throws CSVParseException Header does not match expected columns
+     */
+    private void processHeader(String[] header) throws CSVParseException {
         if (headerFields != null) {   // if csvColumns is null, we just throw away the header. This may result in the first row of a header-less CSV file being discarded if headers are expected.
             if (!ignoreExcessColumns && headerFields.length != header.length) {
                 throw new CSVParseException("Expected " + headerFields.length + " columns, found " + header.length + "(`" + String.join(String.valueOf(reader.getUnitSeparator()), header) + "`)");
@@ -122,6 +165,8 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
                 // Missing column
                 throw new CSVParseException("could not find column (" + column + ") in CSV header (" + String.join(String.valueOf(reader.getUnitSeparator()), header) + ")");
             }
+            reader.setProjection(fieldColumnIndices);
+            bindGeneratedMapper(fieldColumnIndices);
         }
     }
 
@@ -135,10 +180,69 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
      * @throws IOException            If an error occurs while reading input
      * @throws Exception              If an error occurs while parsing a CSV row into Record {@link R}. Exception type depends on used fieldMappers
      */
-    public synchronized R readRecord() throws NoSuchElementException, Exception {
+    public R readRecord() throws NoSuchElementException, Exception {
         if (mustReadHeader) readHeader();   // TODO: Move to constructor so that iterators will not throw error
 
-        String[] units = reader.readLine();
+        return mapRecord(reader.nextRow(), reader.projection());
+    }
+
+    /**
+     * Maps the current row of a tokenizer that is driven externally, as by {@link CSVPushParser}
+     *
+     * @param tokenizer Tokenizer of this mapper's reader, positioned on a row
+     * @return Record representing the row, or null if the row was the header
+     * @throws Exception If an error occurs while parsing a CSV row into Record {@link R}. Exception type depends on used fieldMappers
+     */
+    @Nullable R mapRow(Tokenizer tokenizer) throws Exception {
+        if (mustReadHeader) {
+            mustReadHeader = false;
+            processHeader(tokenizer.units());
+            return null;
+        }
+        return mapRecord(tokenizer, reader.projection());
+    }
+
+    /**
+     * Maps the current row of a tokenizer to a record
+     * <br>
+     * Rows mapped by the generated mapper are read from the tokenizer directly, such that fields of primitive types are not materialized as Strings.
+     * Does not modify mapper state, and may be called concurrently for different tokenizers once the header has been read
+     *
+     * @param tokenizer  Tokenizer positioned on a row
+     * @param projection Projected columns of the row, see {@link Tokenizer#units(boolean[])}
+     * @return Record representing the row
+     * @throws Exception If an error occurs while parsing a CSV row into Record {@link R}. Exception type depends on used fieldMappers
+     */
+    private R mapRecord(Tokenizer tokenizer, boolean @Nullable [] projection) throws Exception {
+        if (generatedMapper != null && mapsGenerated(tokenizer.unitCount())) {
+            return generatedMapper.map(tokenizer, projection);
+        }
+        return mapRecord(tokenizer.units(projection), tokenizer.rowCount());
+    }
+
+    /**
+     * @param unitCount Amount of units in a row
+     * @return True if the row is mapped by the generated mapper, being mapped without inferring or rejecting columns
+     */
+    private boolean mapsGenerated(int unitCount) {
+        return unitCount >= generatedMapperUnits && (fieldColumnIndices != null || unitCount == fieldMappers.length || ignoreExcessColumns);
+    }
+
+    /**
+     * Maps the units of a single row to a record
+     * <br>
+     * Does not modify mapper state, and may be called concurrently once the header has been read
+     *
+     * @param units Units of the row
+     * @param row   Number of the row, used in exception messages
+     * @return Record representing the row
+     * @throws Exception If an error occurs while parsing a CSV row into Record {@link R}. Exception type depends on used fieldMappers
+     */
+    private R mapRecord(String[] units, long row) throws Exception {
+        if (generatedMapper != null && mapsGenerated(units.length)) {
+            return generatedMapper.map(units);
+        }
+
         Object[] fields;
         if (fieldColumnIndices != null) {
             fields = new Object[fieldColumnIndices.length];
@@ -148,15 +252,15 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
                 } else if (inferEmptyTrailingColumns) {
                     fields[i] = fieldMappers[i].apply("");
                 } else {
-                    throw new CSVParseException("expected column #" + fieldColumnIndices[i] + " found only " + units.length + " @ row " + reader.rowCount());
+                    throw new CSVParseException("expected column #" + fieldColumnIndices[i] + " found only " + units.length + " @ row " + row);
                 }
             }
         } else {
             fields = new Object[fieldMappers.length];
             if (units.length > fields.length && !ignoreExcessColumns) {
-                throw new CSVParseException("expected " + fields.length + " columns, found " + units.length + " @ row " + reader.rowCount());
+                throw new CSVParseException("expected " + fields.length + " columns, found " + units.length + " @ row " + row);
             } else if (units.length < fields.length && !inferEmptyTrailingColumns) {
-                throw new CSVParseException("expected " + fields.length + " columns, found " + units.length + " @ row " + reader.rowCount());
+                throw new CSVParseException("expected " + fields.length + " columns, found " + units.length + " @ row " + row);
             } else {
                 for (int i = 0; i < Math.min(units.length, fields.length); i++) {
                     fields[i] = fieldMappers[i].apply(units[i]);
@@ -170,6 +274,111 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
         return recordMapper.apply(fields);
     }
 
+    /**
+     * Captures the position of this mapper, including the binding of header columns to record components, from which a new mapper may resume; See {@link Checkpoint}
+     * <br>
+     * Must be called between records; Checkpoints taken after an exception was thrown while reading a record are not valid.
+     *
+     * @return Checkpoint at the next row of this mapper
+     * @throws UnsupportedOperationException If the reader of this mapper does not support checkpoints, see {@link CSVReader#checkpoint()}
+     */
+    public Checkpoint checkpoint() throws UnsupportedOperationException {
+        return reader.checkpoint().withHeader(!mustReadHeader, fieldColumnIndices);
+    }
+
+    /**
+     * Restores the header state of a checkpoint, instead of reading the header
+     *
+     * @param checkpoint Checkpoint taken from a mapper with the same record type
+     */
+    private void resumeHeader(Checkpoint checkpoint) {
+        if (!checkpoint.headerRead()) return;
+        mustReadHeader = false;
+        int[] headerBinding = checkpoint.headerBinding();
+        if (headerBinding != null) {
+            fieldColumnIndices = headerBinding;
+            reader.setProjection(headerBinding);
+            bindGeneratedMapper(headerBinding);
+        }
+    }
+
+    /**
+     * Moves to a row, such that it is the next row read; See {@link CSVReader#seekToRow(long, RowIndex)}
+     * <br>
+     * Row numbers count every row of the document, including the header. If a header is expected and has not yet been read, it is read before seeking.
+     *
+     * @param row   Row number, counting from 0 at the start of the document
+     * @param index Index of this mapper's file, built with the same CSV configuration as this mapper
+     * @throws IOException                   If an error occurs while reading input
+     * @throws CSVParseException             If a CSV parsing exception occurs, or if the header does not match expected columns
+     * @throws IndexOutOfBoundsException     If the row number is negative, or greater than the amount of rows in the index
+     * @throws IllegalArgumentException      If the index does not match the size of this mapper's file
+     * @throws UnsupportedOperationException If this mapper does not read a memory-mapped file
+     */
+    public void seekToRow(long row, @NotNull RowIndex index) throws IOException, CSVParseException, IndexOutOfBoundsException, IllegalArgumentException, UnsupportedOperationException {
+        if (mustReadHeader) readHeader();
+        reader.seekToRow(row, index);
+    }
+
+    /**
+     * Reads records into a reusable columnar batch, replacing its previous contents; Records are not instantiated, see {@link ColumnBatch}
+     * <br>
+     * Each record component is decoded into a column of the batch, in the order of the record's components. Fields are mapped by the same type mappers, and validated by the same column rules, as {@link CSVMapper#readRecord()}.
+     * <br>
+     * Shares iteration state with this CSVMapper's iterators, continuing where previous iteration left.
+     *
+     * @param batch   Batch to fill; Laid out for this mapper by its first fill
+     * @param maxRows Maximum amount of rows to read
+     * @return Amount of rows read, 0 if end-of-stream has been reached
+     * @throws IOException              If an error occurs while reading input
+     * @throws IllegalArgumentException If the maximum amount of rows is not positive
+     * @throws Exception                If an error occurs while parsing a CSV row. Exception type depends on used fieldMappers; Rows read before the failing row remain in the batch
+     */
+    public int readColumns(@NotNull ColumnBatch batch, int maxRows) throws IOException, IllegalArgumentException, Exception {
+        if (maxRows < 1) throw new IllegalArgumentException("maximum amount of rows must be positive: " + maxRows);
+        Objects.requireNonNull(batch);
+        if (mustReadHeader) readHeader();
+
+        String[] names = headerFields != null ? headerFields : IntStream.range(0, fieldTypes.length).mapToObj(String::valueOf).toArray(String[]::new);
+        batch.reset(this, names, fieldTypes, fieldMappers);
+        Tokenizer tokenizer = reader.tokenizer();
+        int[] columns = new int[fieldTypes.length];
+        while (batch.rowCount() < maxRows && reader.advance()) {
+            resolveColumns(tokenizer.unitCount(), tokenizer.rowCount(), columns);
+            batch.add(tokenizer, columns);
+        }
+        return batch.rowCount();
+    }
+
+    /**
+     * Resolves the unit of each field in a row, validating the row's column count as {@link CSVMapper#mapRecord(String[], long)}
+     *
+     * @param unitCount Amount of units in the row
+     * @param row       Number of the row, used in exception messages
+     * @param columns   Array to store the unit index of each field in, or -1 if the unit is missing and inferred to be empty
+     * @throws CSVParseException If the row has too few or too many columns
+     */
+    private void resolveColumns(int unitCount, long row, int[] columns) throws CSVParseException {
+        if (fieldColumnIndices != null) {
+            for (int i = 0; i < fieldColumnIndices.length; i++) {
+                if (unitCount > fieldColumnIndices[i]) {
+                    columns[i] = fieldColumnIndices[i];
+                } else if (inferEmptyTrailingColumns) {
+                    columns[i] = -1;
+                } else {
+                    throw new CSVParseException("expected column #" + fieldColumnIndices[i] + " found only " + unitCount + " @ row " + row);
+                }
+            }
+        } else {
+            if (unitCount > columns.length && !ignoreExcessColumns) {
+                throw new CSVParseException("expected " + columns.length + " columns, found " + unitCount + " @ row " + row);
+            } else if (unitCount < columns.length && !inferEmptyTrailingColumns) {
+                throw new CSVParseException("expected " + columns.length + " columns, found " + unitCount + " @ row " + row);
+            }
+            for (int i = 0; i < columns.length; i++) columns[i] = i < unitCount ? i : -1;
+        }
+    }
+
     /**
      * @return True if this CSVMapper has not yet encountered end-of-file, and another record may be read
      */
@@ -220,16 +429,94 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
      * <br><br>
      * WARNING: This is a "throwing" spliterator, which may throw exceptions of any type depending on the Field Type Mappers used.
      *
+     * <br><br>
+     * For files read through {@link CSVReader.Builder#build(Path)}, the returned spliterator splits the remaining input at record boundaries, such that parallel streams tokenize and map each split independently. See {@link CSVReader#spliterator()} for details.
+     *
      * @return Spliterator equivalent of this CSVMapper, having characteristics {@link Spliterator#ORDERED} and {@link Spliterator#NONNULL}
      */
     @Override
     public Spliterator<R> spliterator() {
+        if (mustReadHeader && reader.hasNext()) {
+            try {
+                readHeader();
+            } catch (IOException | CSVParseException e) {
+                return Util.sneakyThrow(e);
+            }
+        }
+        boolean[] projection = reader.projection();
+        Spliterator<R> fileSpliterator = reader.fileSpliterator(tokenizer -> mapRecord(tokenizer, projection));
+        if (fileSpliterator != null) return fileSpliterator;
         return Spliterators.spliteratorUnknownSize(
                 this.iterator(),
                 Spliterator.ORDERED | Spliterator.NONNULL
         );
     }
 
+    /**
+     * Use this CSVMapper as a pipelined Stream, mapping records on worker threads while the next rows are tokenized
+     * <br>
+     * Rows are tokenized in batches by a single producer, and mapped by {@code workers} concurrent workers; The stream yields records in document order. At most {@code 2 * workers} batches are in flight at any time, bounding memory use.
+     * Useful if field type mappers are expensive relative to tokenizing. See {@link CSVMapper#pipelinedStream(int, int, Executor)} for details.
+     *
+     * @param workers Amount of mapping workers
+     * @return Sequential, ordered stream of records
+     * @throws IllegalArgumentException If the amount of workers is not positive
+     */
+    public Stream<R> pipelinedStream(int workers) throws IllegalArgumentException {
+        return pipelinedStream(workers, 256, null);
+    }
+
+    /**
+     * Use this CSVMapper as a pipelined Stream, mapping records on worker threads while the next rows are tokenized
+     * <br>
+     * Rows are tokenized in batches by a single producer, and mapped by {@code workers} concurrent workers; The stream yields records in document order. At most {@code 2 * workers} batches are in flight at any time, bounding memory use.
+     * <br>
+     * The pipeline takes over iteration of this mapper, continuing where previous iteration left; This mapper must no longer be used directly until the stream has been consumed or closed. If a header is expected, it is read by this call.
+     * <br>
+     * CAUTION: Close the stream if it is not consumed in its entirety, such as through try-with-resources, to stop the pipeline's threads.
+     * <br><br>
+     * WARNING: This is a "throwing" stream, which may throw exceptions of any type depending on the Field Type Mappers used. Records preceding a failing row are yielded before the exception is thrown.
+     *
+     * @param workers   Amount of mapping workers
+     * @param batchSize Maximum amount of rows per batch
+     * @param executor  Executor running the tokenizer stage and the mapping workers, which must be able to run {@code workers + 1} tasks concurrently;
+     *                  If null, virtual threads are used where available (Java 21 and higher), and daemon platform threads otherwise
+     * @return Sequential, ordered stream of records
+     * @throws IllegalArgumentException If the amount of workers or the batch size is not positive
+     */
+    public Stream<R> pipelinedStream(int workers, int batchSize, @Nullable Executor executor) throws IllegalArgumentException {
+        if (workers < 1) throw new IllegalArgumentException("amount of workers must be positive: " + workers);
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        if (mustReadHeader && reader.hasNext()) {
+            try {
+                readHeader();
+            } catch (IOException | CSVParseException e) {
+                return Util.sneakyThrow(e);
+            }
+        }
+        MappingPipeline<R> pipeline = new MappingPipeline<>(reader, reader.projection(), this::mapRecord, workers, batchSize, 2 * workers);
+        pipeline.start(executor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pipeline, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                       .onClose(pipeline::cancel);
+    }
+
+    /**
+     * Creates a thread-safe facade over this CSVMapper, for consumption by multiple threads
+     * <br>
+     * The facade takes over iteration of this mapper, continuing where previous iteration left; This mapper must no longer be used directly. If a header is expected, it is read by this call.
+     *
+     * @param batchSize Maximum amount of records handed out per batch
+     * @return Facade handing out batches of records
+     * @throws IllegalArgumentException If the batch size is not positive
+     * @throws IOException              If an error occurs while reading the header
+     * @throws CSVParseException        If the header does not match expected columns
+     */
+    public ConcurrentCSVReader<R> concurrent(int batchSize) throws IllegalArgumentException, IOException, CSVParseException {
+        if (mustReadHeader && reader.hasNext()) readHeader();
+        boolean[] projection = reader.projection();
+        return new ConcurrentCSVReader<>(reader, batchSize, tokenizer -> mapRecord(tokenizer, projection));
+    }
+
     /**
      * Use this CSVMapper as a Stream
      * <br><br>
@@ -252,7 +539,7 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
      * @throws IOException If an error occurs closing the backing reader
      */
     @Override
-    public synchronized void close() throws Exception { // We do not throw Exception here, but it may be silently thrown by iteration. Inclusion here ensures a catch clause is present to handle exceptions during iteration
+    public void close() throws Exception { // We do not throw Exception here, but it may be silently thrown by iteration. Inclusion here ensures a catch clause is present to handle exceptions during iteration
         this.reader.close();
     }
 
@@ -274,7 +561,8 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
          * <li> {@link String} mapper is performs no parsing; String field is passed as-is in the document, with whitespace trimmed as configured by {@link CSVReader.Builder#trimWhitespace(boolean)} </li>
          * <li> {@link Boolean} mapper accepts only `true` and `false`, any other string throws a parsing exception. Must be overridden if {@link Boolean#parseBoolean(String)} behaviour is desired instead </li>
          * <li> {@link Character} mapper accepts only strings with a single unicode codepoint <= {@link Character#MAX_VALUE}. Codepoints consisting of a surrogate pair, or strings with more than one codepoint will throw an exception </li>
-         * <li> Numerical types use their respective #Parse[Type] methods, with radix 10. (e.g. {@link Byte#parseByte(String)}). Must be overridden if a different radix is required </li>
+         * <li> Numerical types accept and reject the same strings, with the same results and exceptions, as their respective #Parse[Type] methods with radix 10 (e.g. {@link Byte#parseByte(String)}). Must be overridden if a different radix is required.
+         * int, long, float, and double use faster equivalents, which only defer to #Parse[Type] for uncommon inputs </li>
          * </ul>
          * NOTE: This is an unmodifiable map. Use {@link CSVMapper.Builder#addTypeMapper(TypeToken, ThrowingFunction)} to add type mappers
          * <br><br>
@@ -291,33 +579,20 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
             map.put(new TypeToken<>(Byte.class), Byte::parseByte);
             map.put(new TypeToken<>(short.class), Short::parseShort);
             map.put(new TypeToken<>(Short.class), Short::parseShort);
-            map.put(new TypeToken<>(int.class), Integer::parseInt);
-            map.put(new TypeToken<>(Integer.class), Integer::parseInt);
-            map.put(new TypeToken<>(long.class), Long::parseLong);
-            map.put(new TypeToken<>(Long.class), Long::parseLong);
-            map.put(new TypeToken<>(float.class), Float::parseFloat);
-            map.put(new TypeToken<>(Float.class), Float::parseFloat);
-            map.put(new TypeToken<>(double.class), Double::parseDouble);
-            map.put(new TypeToken<>(Double.class), Double::parseDouble);
-            ThrowingFunction<String, Object> mapBoolean = string -> {
-                if ("true".equalsIgnoreCase(string)) {
-                    return true;
-                } else if ("false".equalsIgnoreCase(string)) {
-                    return false;
-                } else {
-                    throw new BooleanParseException("cannot read string `" + string + "` as boolean; Only 'true' and 'false' (in any capitalization) are accepted, if you need Boolean#parseBoolean behaviour, please override the field type mapper");
-                }
-            };
+            // Fast paths of parse[Type], with identical behaviour
+            map.put(new TypeToken<>(int.class), FieldParsers::parseInt);
+            map.put(new TypeToken<>(Integer.class), FieldParsers::parseInt);
+            map.put(new TypeToken<>(long.class), FieldParsers::parseLong);
+            map.put(new TypeToken<>(Long.class), FieldParsers::parseLong);
+            map.put(new TypeToken<>(float.class), FieldParsers::parseFloat);
+            map.put(new TypeToken<>(Float.class), FieldParsers::parseFloat);
+            map.put(new TypeToken<>(double.class), FieldParsers::parseDouble);
+            map.put(new TypeToken<>(Double.class), FieldParsers::parseDouble);
+            ThrowingFunction<String, Object> mapBoolean = FieldParsers::parseBoolean;
             map.put(new TypeToken<>(boolean.class), mapBoolean);
             map.put(new TypeToken<>(Boolean.class), mapBoolean);
 
-            ThrowingFunction<String, Object> mapCharacter = string -> {
-                if (string.codePointCount(0, Math.min(string.length(), 2)) > 1)
-                    throw new CharParseException("cannot read string `" + string + "` with length " + string.codePointCount(0, string.length()) + "(codepoints) as single char"); // Including the string in the error is not ideal in a post-log4shell world, but parse[Type] functions do it as well, included for parity. TODO: Consider replacing all parseType functions
-                int codepoint = string.codePointAt(0);
-                if (codepoint > (int) Character.MAX_VALUE) throw new CharParseException(String.format("codepoint U+%X cannot fit into a single char; Please use a wrapper type if you are trying to read single codepoints", codepoint));
-                return (char) codepoint;
-            };
+            ThrowingFunction<String, Object> mapCharacter = FieldParsers::parseChar;
             map.put(new TypeToken<>(char.class), mapCharacter);
             map.put(new TypeToken<>(Character.class), mapCharacter);
 
@@ -334,10 +609,15 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
 
         private final Map<TypeToken<?>, ThrowingFunction<String, Object>> typeMappers;
 
+        private @Nullable Checkpoint resumeFrom;
+
         private boolean isValidated;
         private String[] csvHeader;
+        private TypeToken<?>[] fieldTypes;
         private ThrowingFunction<String, Object>[] fieldMappers;
         private ThrowingFunction<Object[], R> recordMapper;
+        private boolean useGeneratedMappers;
+        private @Nullable Function<int[], RecordMapperGenerator.GeneratedMapper<R>> mapperGenerator;
 
         /**
          * Alternative to {@link CSVReader.Builder#mapped(TypeToken, boolean)}, identical functioning
@@ -438,6 +718,45 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
             return this;
         }
 
+        /**
+         * If set to true, mappers built by this builder map rows through generated code, rather than through type mappers returning Objects and a reflective constructor call
+         * <br>
+         * A mapper is generated per column binding; When {@link Builder#validate()} runs if columns are bound by position, or when the header is read otherwise.
+         * Each is defined as a hidden class, which parses units and calls the canonical constructor directly. Fields using the {@link CSVMapper.Builder#DEFAULT_TYPE_MAPPERS default type mappers} of primitive types are parsed without boxing, and no array of field values is allocated per row.
+         * Rows read by this mapper are read from the tokenizer directly: Fields of int, long, float, double, and boolean components using the default type mappers are parsed without creating a String, and no array of units is allocated per row.
+         * <br>
+         * Records are mapped identically, and exceptions are identical, to when mappers are not generated. Rows with missing columns are mapped as without generated mappers.
+         * <br>
+         * Records annotated with {@link CSVRecord} are mapped through their compiled mapper instead when all fields use default type mappers, regardless of this setting.
+         * <br>Default: False
+         *
+         * @param useGeneratedMappers configuration value
+         * @return this builder, for chaining
+         */
+        public Builder<R> useGeneratedMappers(boolean useGeneratedMappers) {
+            this.useGeneratedMappers = useGeneratedMappers;
+            this.isValidated = false;
+            return this;
+        }
+
+        /**
+         * Sets a checkpoint to resume reading from, see {@link Checkpoint} and {@link CSVReader.Builder#resumeFrom(Checkpoint)}
+         * <br>
+         * If the checkpoint was taken after the header was read, the header is not read again; Columns are bound to record components as when the checkpoint was taken.
+         * Only mappers built from a file with {@link Builder#build(Path)} can be resumed.
+         * <br>
+         * Default: null, reading from the start of input
+         *
+         * @param checkpoint Checkpoint taken from a mapper with the same record type and configuration, or null to read from the start of input
+         * @return this builder, for chaining
+         */
+        public Builder<R> resumeFrom(@Nullable Checkpoint checkpoint) {
+            this.resumeFrom = checkpoint;
+            this.readerBuilder.resumeFrom(checkpoint);
+            this.isValidated = false;
+            return this;
+        }
+
         /**
          * Adds a type mapper to this builder.
          * <br>Type mappers convert the string parsed from the csv document to the type of the record field
@@ -480,7 +799,8 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
         /**
          * Validates configuration, ensuring any future calls to {@link CSVMapper.Builder#build(BufferedReader)} throw no error
          * <br>
-         * This method performs reflection lookup, and may start throwing exceptions as a result of changes to the Record which the CSVMapper instantiates
+         * This method performs reflection lookup, and may start throwing exceptions as a result of changes to the Record which the CSVMapper instantiates.
+         * Records annotated with {@link CSVRecord} are looked up through their generated {@link CompiledRecordMapper} instead, if the annotation processor was enabled
          * <br>
          * The purpose of this method is to provide fail-fast behaviour when reusing builders
          *
@@ -488,23 +808,64 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
          * @throws IllegalStateException If the current builder configuration is invalid
          */
         public Builder<R> validate() throws IllegalStateException {
-            TypeToken.RecordField[] fields = recordType.getRecordComponents();
-            String[] csvHeader = new String[fields.length];
+            CompiledRecordMapper<R> compiled = CompiledRecordMapper.find(Objects.requireNonNull(recordType.getRawType()));
+            String[] csvHeader;
+            TypeToken<?>[] fieldTypes;
+            if (compiled != null) {
+                // Record annotated with @CSVRecord; Components are known without reflection
+                csvHeader = compiled.componentNames();
+                Class<?>[] componentTypes = compiled.componentTypes();
+                fieldTypes = new TypeToken<?>[componentTypes.length];
+                for (int i = 0; i < componentTypes.length; i++) fieldTypes[i] = new TypeToken<>(componentTypes[i]);
+            } else {
+                TypeToken.RecordField[] fields = recordType.getRecordComponents();
+                csvHeader = new String[fields.length];
+                fieldTypes = new TypeToken<?>[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    csvHeader[i] = fields[i].name();
+                    fieldTypes[i] = fields[i].type();
+                }
+            }
             @SuppressWarnings("unchecked")
-            ThrowingFunction<String, Object>[] fieldMappers = new ThrowingFunction[fields.length];
-            for (int i = 0; i < fields.length; i++) {
-                csvHeader[i] = fields[i].name();
-                fieldMappers[i] = this.typeMappers.get(fields[i].type());
-                if (fieldMappers[i] == null) throw new IllegalStateException("no mapper found for type " + fields[i].type());
+            ThrowingFunction<String, Object>[] fieldMappers = new ThrowingFunction[fieldTypes.length];
+            boolean defaultMappers = true;
+            for (int i = 0; i < fieldTypes.length; i++) {
+                fieldMappers[i] = this.typeMappers.get(fieldTypes[i]);
+                if (fieldMappers[i] == null) throw new IllegalStateException("no mapper found for type " + fieldTypes[i]);
+                defaultMappers &= fieldMappers[i] == DEFAULT_TYPE_MAPPERS.get(fieldTypes[i]);
             }
 
+            int[] headerBinding = resumeFrom == null ? null : resumeFrom.headerBinding();
+            if (headerBinding != null && headerBinding.length != fieldTypes.length) throw new IllegalStateException("checkpoint binds " + headerBinding.length + " columns, record has " + fieldTypes.length + " components");
+            this.readerBuilder.validate();
+
             this.csvHeader = csvHeader;
+            this.fieldTypes = fieldTypes;
             this.fieldMappers = fieldMappers;
 
-            try {
-                this.recordMapper = recordType.getRecordConstructor();
-            } catch (NoSuchMethodException e) { // Change exception type to IllegalStateException
-                throw new IllegalStateException(e.getMessage());
+            if (compiled != null) {
+                this.recordMapper = compiled::construct;
+            } else {
+                try {
+                    this.recordMapper = recordType.getRecordConstructor();
+                } catch (NoSuchMethodException e) { // Change exception type to IllegalStateException
+                    throw new IllegalStateException(e.getMessage());
+                }
+            }
+
+            this.mapperGenerator = null;
+            if (compiled != null && defaultMappers) {
+                // The compiled mapper parses with the default type mappers directly, for any column binding
+                this.mapperGenerator = columns -> {
+                    int[] binding = columns.clone();
+                    return units -> compiled.map(units, binding);
+                };
+            } else if (useGeneratedMappers) {
+                RecordMapperGenerator<R> generator = new RecordMapperGenerator<>(recordType, fieldTypes, fieldMappers);
+                // Bindings that are known before reading input are generated eagerly
+                if (!readHeader) generator.mapper(IntStream.range(0, fieldTypes.length).toArray());
+                if (headerBinding != null) generator.mapper(headerBinding);
+                this.mapperGenerator = generator::mapper;
             }
 
             this.isValidated = true;
@@ -522,21 +883,12 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
          *
          * @param input Input CSV document
          * @return CSVMapper that yields rows from the input document
-         * @throws IOException           if an IOException occurs initialising the CSVMapper
-         * @throws IllegalStateException if configuration is invalid
+         * @throws IOException                   if an IOException occurs initialising the CSVMapper
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
          */
         public CSVMapper<R> build(BufferedReader input) throws IOException, IllegalStateException {
-            Objects.requireNonNull(input);
-            if (!this.isValidated) this.validate();
-
-            return new CSVMapper<>(
-                    readerBuilder.build(input),
-                    readHeader,
-                    ignoreExcessColumns,
-                    inferEmptyTrailingColumns,
-                    headerCompareFunction,
-                    csvHeader, fieldMappers, recordMapper
-            );
+            return build((Reader) input);
         }
 
         /**
@@ -550,16 +902,106 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
          *
          * @param input Input CSV document
          * @return CSVMapper that yields rows from the input document
-         * @throws IOException           if an IOException occurs initialising the CSVMapper
-         * @throws IllegalStateException if configuration is invalid
+         * @throws IOException                   if an IOException occurs initialising the CSVMapper
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
          */
         public CSVMapper<R> build(Reader input) throws IOException {
             Objects.requireNonNull(input);
-            if (input instanceof BufferedReader bufferedReader) {
-                return build(bufferedReader);
-            } else {
-                return build(new BufferedReader(input));
-            }
+            if (!this.isValidated) this.validate();
+
+            return build(readerBuilder.build(input));
+        }
+
+        /**
+         * Builds a new mapper for the given UTF-8 encoded input, see {@link CSVReader.Builder#build(InputStream)}
+         * <br>
+         * May be called multiple times to create new mappers with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Performs an initial (blocking) read of the input
+         *
+         * @param input Input CSV document, encoded as UTF-8
+         * @return CSVMapper that yields rows from the input document
+         * @throws IOException                   if an IOException occurs initialising the CSVMapper
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
+         */
+        public CSVMapper<R> build(InputStream input) throws IOException {
+            Objects.requireNonNull(input);
+            if (!this.isValidated) this.validate();
+
+            return build(readerBuilder.build(input));
+        }
+
+        /**
+         * Builds a new mapper for the given UTF-8 encoded file, memory-mapping regular files; See {@link CSVReader.Builder#build(Path)}
+         * <br>
+         * May be called multiple times to create new mappers with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Performs an initial (blocking) read of the input
+         *
+         * @param path Path of input CSV document, encoded as UTF-8
+         * @return CSVMapper that yields rows from the input document
+         * @throws IOException                   if an IOException occurs opening the file or initialising the CSVMapper
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, and the file is not a regular file or either separator is not an ASCII character
+         */
+        public CSVMapper<R> build(Path path) throws IOException {
+            Objects.requireNonNull(path);
+            if (!this.isValidated) this.validate();
+
+            return build(readerBuilder.build(path));
+        }
+
+        /**
+         * Builds a new mapper for the given gzip-compressed UTF-8 encoded file, decompressing on background threads; See {@link CSVReader.Builder#buildGzip(InputStream, int)}
+         * <br>
+         * May be called multiple times to create new mappers with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Performs an initial (blocking) read of the input
+         *
+         * @param path    Path of input gzip-compressed CSV document, encoded as UTF-8
+         * @param threads Amount of worker threads inflating BGZF blocks
+         * @return CSVMapper that yields rows from the input document
+         * @throws IOException                   if an IOException occurs opening the file or initialising the CSVMapper, including if the file is not valid gzip
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws IllegalArgumentException      if the amount of threads is not positive
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
+         */
+        public CSVMapper<R> buildGzip(Path path, int threads) throws IOException, IllegalStateException, IllegalArgumentException, UnsupportedOperationException {
+            Objects.requireNonNull(path);
+            if (!this.isValidated) this.validate();
+
+            return build(readerBuilder.buildGzip(path, threads));
+        }
+
+        /**
+         * Builds a new mapper that follows the given UTF-8 encoded file as it is appended to; See {@link CSVReader.Builder#buildFollowing(Path, Duration)}
+         * <br>
+         * At end-of-file, the mapper waits for more data instead of ending, until it is closed. If a header is expected, reading the first record waits until the header has been written.
+         * <br>
+         * May be called multiple times to create new mappers with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         *
+         * @param path         Path of input CSV document, encoded as UTF-8
+         * @param pollInterval Time to wait before checking for new data, when no data is available
+         * @return CSVMapper that yields records from the input document as they are appended
+         * @throws IOException              if an IOException occurs opening the file
+         * @throws IllegalStateException    if configuration is invalid
+         * @throws IllegalArgumentException if the poll interval is not positive
+         */
+        public CSVMapper<R> buildFollowing(Path path, Duration pollInterval) throws IOException, IllegalStateException, IllegalArgumentException {
+            Objects.requireNonNull(path);
+            if (!this.isValidated) this.validate();
+
+            return build(readerBuilder.buildFollowing(path, pollInterval));
         }
 
         /**
@@ -573,12 +1015,50 @@ public class CSVMapper<R extends Record> implements Iterable<R>, AutoCloseable {
          *
          * @param input Input CSV document
          * @return CSVMapper that yields rows from the input document
-         * @throws IOException           if an IOException occurs initialising the CSVMapper
-         * @throws IllegalStateException if configuration is invalid
+         * @throws IOException                   if an IOException occurs initialising the CSVMapper
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
          */
         public CSVMapper<R> build(String input) throws IOException {
             Objects.requireNonNull(input);
-            return this.build(new BufferedReader(new StringReader(input)));
+            return this.build(new StringReader(input));
+        }
+
+        /**
+         * Builds a push parser, parsing input that is passed to it in chunks, see {@link CSVPushParser}
+         * <br>
+         * May be called multiple times to create new parsers with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         *
+         * @param recordConsumer Consumer receiving each record, in document order
+         * @return Push parser that passes records to the consumer
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as pushed input is not seekable
+         */
+        public CSVPushParser<R> buildPushParser(@NotNull Consumer<R> recordConsumer) throws IllegalStateException, UnsupportedOperationException {
+            Objects.requireNonNull(recordConsumer);
+            if (!this.isValidated) this.validate();
+            readerBuilder.requireNotResuming();
+
+            return new CSVPushParser<>(readerBuilder, reader -> build(reader)::mapRow, recordConsumer);
+        }
+
+        /**
+         * @param reader Reader built from this builder's CSVReader configuration
+         * @return CSVMapper that yields records from the given reader
+         */
+        private CSVMapper<R> build(CSVReader reader) {
+            CSVMapper<R> mapper = new CSVMapper<>(
+                    reader,
+                    readHeader,
+                    ignoreExcessColumns,
+                    inferEmptyTrailingColumns,
+                    headerCompareFunction,
+                    csvHeader, fieldTypes, fieldMappers, recordMapper, mapperGenerator
+            );
+            if (resumeFrom != null) mapper.resumeHeader(resumeFrom);
+            return mapper;
         }
     }
 }
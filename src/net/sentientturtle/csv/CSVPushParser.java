@@ -0,0 +1,340 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.util.Util;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Incremental parser for CSV documents that arrive in chunks, such as from non-blocking IO
+ * <br>
+ * Created through {@link CSVReader.Builder#buildPushParser(Consumer)} or {@link CSVMapper.Builder#buildPushParser(Consumer)}.
+ * Chunks are passed to {@link CSVPushParser#feed(ByteBuffer)} (UTF-8 encoded) or {@link CSVPushParser#feed(CharBuffer)}, which never block; Each row completed by a chunk is passed to the consumer before {@code feed} returns.
+ * {@link CSVPushParser#finish()} must be called at end of input, to parse the final row.
+ * <br>
+ * A row that is incomplete at the end of a chunk, including open quotes and partial UTF-8 sequences or surrogate pairs, is retained, and parsed from its start once a chunk arrives that may complete it.
+ * A row within a quoted unit is only parsed again once a closing quote followed by a record separator arrives, such that a large quoted unit fed in many chunks is parsed once.
+ * Rows are parsed exactly as by {@link CSVReader} and {@link CSVMapper}.
+ * <br>
+ * A parser accepts either byte or char chunks, determined by the first chunk. Byte chunks require ASCII separators.
+ * <br>
+ * CAUTION: CSVPushParser is not thread-safe. After an exception has been thrown, the parser can no longer be used.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * CSVPushParser&lt;String[]&gt; parser = CSVReader.Builder.DEFAULT_RFC4180()
+ *                                         .buildPushParser(row -&gt; {
+ *                                             // Use row
+ *                                         });
+ * // As chunks arrive
+ * parser.feed(chunk);
+ * // At end of input
+ * parser.finish();
+ * </pre>
+ *
+ * @param <T> Type of row passed to the consumer
+ */
+public final class CSVPushParser<T> {
+    private static final NeedInput NEED_INPUT = new NeedInput();
+    // Quote state of input fed after the tokenizer was interrupted; Separators only complete a row outside of quoted units
+    private static final int UNQUOTED = 0, QUOTED = 1, CLOSING_QUOTE = 2;
+    // Configuration
+    private final CSVReader.Builder settings;
+    private final Function<CSVReader, ThrowingFunction<Tokenizer, @Nullable T>> rowFunctionFactory;
+    private final Consumer<? super T> consumer;
+    // Input, created by the first chunk
+    private @Nullable ByteInput byteInput;
+    private @Nullable CharInput charInput;
+    private @Nullable Tokenizer tokenizer;
+    private @Nullable ThrowingFunction<Tokenizer, @Nullable T> rowFunction;
+    // State
+    private int quoteState;
+    private boolean finished;
+    private boolean failed;
+
+    /**
+     * Package-private constructor, this type is initialized through {@link CSVReader.Builder#buildPushParser(Consumer)} or {@link CSVMapper.Builder#buildPushParser(Consumer)}
+     *
+     * @param settings           Reader configuration, must be valid and not modified afterwards
+     * @param rowFunctionFactory Creates a function mapping the current row of the tokenizer, given a reader over the tokenizer; The function returns null for rows that are not passed to the consumer
+     * @param consumer           Consumer receiving each row
+     */
+    CSVPushParser(CSVReader.Builder settings, Function<CSVReader, ThrowingFunction<Tokenizer, @Nullable T>> rowFunctionFactory, Consumer<? super T> consumer) {
+        this.settings = settings;
+        this.rowFunctionFactory = rowFunctionFactory;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Parses a chunk of UTF-8 encoded input, passing completed rows to the consumer
+     * <br>
+     * The chunk is read in its entirety, and may be reused once this method returns
+     *
+     * @param chunk Next chunk of input
+     * @throws IOException           If an error occurs while reading input
+     * @throws CSVParseException     If a CSV parsing exception occurs
+     * @throws IllegalStateException If this parser was fed chars, has finished, or has previously thrown an exception, or if either separator is not an ASCII character
+     */
+    public void feed(@NotNull ByteBuffer chunk) throws IOException, CSVParseException, IllegalStateException {
+        requireOpen();
+        if (tokenizer == null) {
+            byteInput = new ByteInput();
+            try {
+                start(settings.byteTokenizer(byteInput));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("byte chunks require ASCII separators, feed chars instead");
+            }
+        } else if (byteInput == null) {
+            throw new IllegalStateException("cannot feed bytes to a parser fed with chars");
+        }
+        if (byteInput.append(chunk)) parse();
+    }
+
+    /**
+     * Parses a chunk of character input, passing completed rows to the consumer
+     * <br>
+     * The chunk is read in its entirety, and may be reused once this method returns
+     *
+     * @param chunk Next chunk of input
+     * @throws IOException           If an error occurs while reading input
+     * @throws CSVParseException     If a CSV parsing exception occurs
+     * @throws IllegalStateException If this parser was fed bytes, has finished, or has previously thrown an exception
+     */
+    public void feed(@NotNull CharBuffer chunk) throws IOException, CSVParseException, IllegalStateException {
+        requireOpen();
+        if (tokenizer == null) {
+            charInput = new CharInput();
+            start(settings.charTokenizer(charInput));
+        } else if (charInput == null) {
+            throw new IllegalStateException("cannot feed chars to a parser fed with bytes");
+        }
+        if (charInput.append(chunk)) parse();
+    }
+
+    /**
+     * Signals end of input, parsing and passing the final row to the consumer
+     *
+     * @throws IOException           If the final row has unclosed quotes
+     * @throws CSVParseException     If a CSV parsing exception occurs
+     * @throws IllegalStateException If this parser has already finished, or has previously thrown an exception
+     */
+    public void finish() throws IOException, CSVParseException, IllegalStateException {
+        requireOpen();
+        finished = true;
+        if (tokenizer != null) parse();
+    }
+
+    /**
+     * @return True if the row being read is within a quoted unit, such that fed input is not parsed until a closing quote arrives
+     */
+    boolean inQuotedUnit() {
+        return quoteState != UNQUOTED;
+    }
+
+    /**
+     * @throws IllegalStateException If this parser can no longer be used
+     */
+    private void requireOpen() throws IllegalStateException {
+        if (failed) throw new IllegalStateException("parser has previously thrown an exception");
+        if (finished) throw new IllegalStateException("parser has finished");
+    }
+
+    /**
+     * @param tokenizer Tokenizer reading from this parser's input
+     */
+    private void start(Tokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+        this.rowFunction = rowFunctionFactory.apply(new CSVReader(tokenizer, true));
+    }
+
+    /**
+     * Parses rows until the input is exhausted, rewinding an incomplete row
+     * <br>
+     * If the tokenizer was interrupted within a quoted unit, input fed afterwards is tracked from within that unit; See {@link #quoteState}
+     */
+    private void parse() throws IOException, CSVParseException {
+        Tokenizer tokenizer = this.tokenizer;
+        ThrowingFunction<Tokenizer, @Nullable T> rowFunction = this.rowFunction;
+        assert tokenizer != null && rowFunction != null;
+        try {
+            while (true) {
+                try {
+                    if (!tokenizer.hasInput()) return;
+                } catch (NeedInput e) {
+                    quoteState = UNQUOTED;
+                    return;
+                }
+                try {
+                    if (!tokenizer.readRow()) return;
+                } catch (NeedInput e) {
+                    // All input was read by the tokenizer; Input fed next continues the row from the quote state it was interrupted in
+                    quoteState = tokenizer.fillingQuotedUnit ? QUOTED : UNQUOTED;
+                    tokenizer.fillingQuotedUnit = false;
+                    tokenizer.rewindRow();
+                    return;
+                }
+                T row = rowFunction.apply(tokenizer);
+                if (row != null) consumer.accept(row);
+            }
+        } catch (Exception e) {
+            failed = true;
+            Util.sneakyThrow(e);
+        }
+    }
+
+    /**
+     * Advances the quote state over a fed character
+     *
+     * @param character         Fed character
+     * @param isRecordSeparator True if the character may be the record separator
+     * @return True if the character may complete the row
+     */
+    private boolean completesRow(int character, boolean isRecordSeparator) {
+        if (quoteState == QUOTED) {
+            if (character == '"') quoteState = CLOSING_QUOTE;
+            return false;
+        } else if (quoteState == CLOSING_QUOTE && character == '"') {   // Escaped ("") quote
+            quoteState = QUOTED;
+            return false;
+        } else {
+            quoteState = UNQUOTED;
+            return isRecordSeparator;
+        }
+    }
+
+    /**
+     * Thrown by the input when it is exhausted, but not finished; Interrupts the tokenizer, which is rewound to the start of its row
+     */
+    private static final class NeedInput extends IOException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private NeedInput() {
+            super("input exhausted");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;    // Used for control flow, a stack trace is not needed
+        }
+    }
+
+    /**
+     * Buffers fed bytes until the tokenizer reads them
+     */
+    private final class ByteInput extends InputStream {
+        private byte[] pending = new byte[0];
+        private int start;
+        private int end;
+
+        /**
+         * @param chunk Chunk to append, read in its entirety
+         * @return True if the chunk contains the record separator outside of quoted units, such that a row may be completed
+         */
+        boolean append(ByteBuffer chunk) {
+            int length = chunk.remaining();
+            if (start == end) start = end = 0;
+            if (end + length > pending.length) {
+                if (end - start + length <= pending.length) {
+                    System.arraycopy(pending, start, pending, 0, end - start);
+                } else {
+                    pending = Arrays.copyOfRange(pending, start, start + Math.max(end - start + length, pending.length * 2));
+                }
+                end -= start;
+                start = 0;
+            }
+            int from = end;
+            chunk.get(pending, end, length);
+            end += length;
+
+            assert tokenizer != null;
+            byte recordSeparator = (byte) tokenizer.recordSeparator;
+            for (int i = from; i < end; i++) {
+                if (completesRow(pending[i], pending[i] == recordSeparator)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int read(byte @NotNull [] destination, int offset, int length) throws IOException {
+            if (start == end) {
+                if (finished) return -1;
+                throw NEED_INPUT;
+            }
+            int read = Math.min(length, end - start);
+            System.arraycopy(pending, start, destination, offset, read);
+            start += read;
+            return read;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+    }
+
+    /**
+     * Buffers fed chars until the tokenizer reads them
+     */
+    private final class CharInput extends Reader {
+        private char[] pending = new char[0];
+        private int start;
+        private int end;
+
+        /**
+         * @param chunk Chunk to append, read in its entirety
+         * @return True if the chunk may contain the record separator outside of quoted units, such that a row may be completed
+         */
+        boolean append(CharBuffer chunk) {
+            int length = chunk.remaining();
+            if (start == end) start = end = 0;
+            if (end + length > pending.length) {
+                if (end - start + length <= pending.length) {
+                    System.arraycopy(pending, start, pending, 0, end - start);
+                } else {
+                    pending = Arrays.copyOfRange(pending, start, start + Math.max(end - start + length, pending.length * 2));
+                }
+                end -= start;
+                start = 0;
+            }
+            int from = end;
+            chunk.get(pending, end, length);
+            end += length;
+
+            assert tokenizer != null;
+            int recordSeparator = tokenizer.recordSeparator;
+            boolean supplementary = Character.isSupplementaryCodePoint(recordSeparator);
+            for (int i = from; i < end; i++) {
+                if (completesRow(pending[i], supplementary || pending[i] == recordSeparator)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int read(char @NotNull [] destination, int offset, int length) throws IOException {
+            if (start == end) {
+                if (finished) return -1;
+                throw NEED_INPUT;
+            }
+            int read = Math.min(length, end - start);
+            System.arraycopy(pending, start, destination, offset, read);
+            start += read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
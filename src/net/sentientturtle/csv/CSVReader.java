@@ -6,7 +6,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -19,6 +26,8 @@ import java.util.stream.StreamSupport;
  * Implements {@link Iterable} and can be used in for-each loops.
  * <br>
  * CAUTION: CSVReader can only be iterated once. Creating a new iterator ({@link CSVMapper#iterator()}) does not reset iterator state, iteration will continue where the previous iterator left. To iterate multiple times, collect each row to a list.
+ * <br>
+ * CAUTION: CSVReader is not thread-safe, and must be confined to a single consumer thread. Use {@link CSVReader#concurrent(int)} to share rows between threads, or {@link CSVReader#stream(boolean)} for parallel processing.
  * <br><br>
  * Example usage:
  * <pre>
@@ -36,83 +45,33 @@ import java.util.stream.StreamSupport;
  */
 public class CSVReader implements Iterable<String[]>, AutoCloseable {
     // Input
-    private final BufferedReader reader;
-    // Configuration
-    private final int unitSeparator;
-    private final int recordSeparator;
-    private final boolean trimWhitespace;
-    private final QuoteParsingMode quoteMode;
-    private final Function<Integer, Boolean> isWhitespace;
-    // Buffers
-    private final StringBuilder unitBuilder;
-    private final ArrayList<String> lineBuffer;
+    private final Tokenizer tokenizer;
     // State
-    private volatile boolean hasNext;
-    /**
-     * Amount of successfully read rows, incremented at the start of {@link #readLine()} such that it refers to the line currently being read when reading is in progress.
-     */
-    private int rowCount;
+    private boolean hasNext;
+    private boolean @Nullable [] projection;   // Projected columns by index, or null if all columns are projected
 
     /**
      * Private constructor, this type is initialized through {@link CSVReader.Builder}
      * <br>
      * Caution: Performs an initial read of the input to initialize iterator state, may block or throw an exception
      *
-     * @param reader          CSV document input
-     * @param unitSeparator   Separator character for units/values (Specified as codepoint integer)
-     * @param recordSeparator Separator character for records/lines (Specified as codepoint integer)
-     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
-     * @param isWhitespace    Function used to determine whitespace, takes codepoint integers. Usually {@link Character#isWhitespace(int) Character::isWhitespace}
-     * @param quoteMode       Quote parsing mode, see {@link QuoteParsingMode} for details
+     * @param tokenizer Tokenizer for the CSV document input
      * @throws IOException If an error occurs during initial read
      */
-    private CSVReader(
-            BufferedReader reader,
-            int unitSeparator,
-            int recordSeparator,
-            boolean trimWhitespace,
-            Function<Integer, Boolean> isWhitespace,
-            QuoteParsingMode quoteMode
-    ) throws IOException {
-        this.reader = reader;
-        this.unitSeparator = unitSeparator;
-        this.recordSeparator = recordSeparator;
-        this.trimWhitespace = trimWhitespace;
-        this.quoteMode = quoteMode;
-        this.isWhitespace = isWhitespace;
-
-        unitBuilder = new StringBuilder();  // TODO: Size hinting
-        lineBuffer = new ArrayList<>();
-
+    private CSVReader(Tokenizer tokenizer) throws IOException {
         // Peek reader, set hasNext to false if we are already at end of stream.
-        this.reader.mark(1);
-        this.hasNext = this.reader.read() != -1;
-        this.reader.reset();
-        rowCount = 0;
+        this(tokenizer, tokenizer.hasInput());
     }
 
     /**
-     * @return Single codepoint
-     * @throws IOException       If an IO error occurs while reading from input
-     * @throws CSVParseException If malformed unicode (invalid surrogate pair) is encountered
+     * Package-private constructor, for readers whose tokenizer is driven externally; Does not read input
+     *
+     * @param tokenizer Tokenizer for the CSV document input
+     * @param hasNext   Initial iterator state
      */
-    private int readCodepoint() throws IOException, CSVParseException {
-        int character = reader.read();
-        if (character == -1) {
-            return character;
-        } else if (Character.isHighSurrogate((char) character)) {
-            int lowSurrogate = reader.read();
-            if (lowSurrogate == -1) throw new CSVParseException("end-of-stream after high surrogate character");
-            if (Character.isLowSurrogate((char) lowSurrogate)) {
-                return Character.toCodePoint((char) character, (char) lowSurrogate);
-            } else {
-                throw new CSVParseException("missing low surrogate character");
-            }
-        } else if (Character.isLowSurrogate((char) character)) {
-            throw new CSVParseException("unexpected low surrogate character");
-        } else {
-            return character;
-        }
+    CSVReader(Tokenizer tokenizer, boolean hasNext) {
+        this.tokenizer = tokenizer;
+        this.hasNext = hasNext;
     }
 
     /**
@@ -126,94 +85,192 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
      * @throws NoSuchElementException If end-of-stream has been reached
      * @throws CSVParseException      If a CSV parsing exception occurs
      */
-    public synchronized String[] readLine() throws IOException, NoSuchElementException, CSVParseException {
-        assert lineBuffer.size() == 0;
-        this.rowCount += 1;
+    public String[] readLine() throws IOException, NoSuchElementException, CSVParseException {
+        return nextRow().units(projection);
+    }
 
-        int codepoint = readCodepoint();
+    /**
+     * Reads a single line as {@link CSVReader#readLine()}, without materializing its units
+     *
+     * @return Tokenizer positioned on the read row
+     * @throws IOException            If an error occurs while reading input
+     * @throws NoSuchElementException If end-of-stream has been reached
+     * @throws CSVParseException      If a CSV parsing exception occurs
+     */
+    Tokenizer nextRow() throws IOException, NoSuchElementException, CSVParseException {
+        if (!tokenizer.readRow()) throw new NoSuchElementException("end of stream reached trying to read row " + tokenizer.rowCount());
+        if (tokenizer.reachedEnd()) hasNext = false;
+        return tokenizer;
+    }
 
-        if (codepoint == -1) throw new NoSuchElementException("end of stream reached trying to read row " + this.rowCount);
+    /**
+     * Reads a single row, without materializing its units
+     *
+     * @return True if a row was read, false if end-of-stream has been reached
+     * @throws IOException       If an error occurs while reading input
+     * @throws CSVParseException If a CSV parsing exception occurs
+     */
+    boolean advance() throws IOException, CSVParseException {
+        if (!hasNext || !tokenizer.readRow()) {
+            hasNext = false;
+            return false;
+        }
+        if (tokenizer.reachedEnd()) hasNext = false;
+        return true;
+    }
 
-        while (codepoint != -1 && codepoint != recordSeparator) {
-            assert unitBuilder.length() == 0;
+    /**
+     * Reads rows into a reusable batch, replacing its previous contents
+     * <br>
+     * Fields are copied into the batch's shared character array, without creating a String per field or an array per row; Units of columns that are not projected are skipped. See {@link RowBatch}
+     * <br>
+     * Shares iteration state with this CSVReader's iterators, continuing where previous iteration left.
+     *
+     * @param batch   Batch to fill
+     * @param maxRows Maximum amount of rows to read
+     * @return Amount of rows read, 0 if end-of-stream has been reached
+     * @throws IOException              If an error occurs while reading input
+     * @throws CSVParseException        If a CSV parsing exception occurs; Rows read before the failing row remain in the batch
+     * @throws IllegalArgumentException If the maximum amount of rows is not positive
+     */
+    public int readBatch(@NotNull RowBatch batch, int maxRows) throws IOException, CSVParseException, IllegalArgumentException {
+        if (maxRows < 1) throw new IllegalArgumentException("maximum amount of rows must be positive: " + maxRows);
+        batch.clear();
+        while (batch.rowCount() < maxRows && advance()) batch.add(tokenizer, projection);
+        return batch.rowCount();
+    }
 
-            if (trimWhitespace) while (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator && isWhitespace.apply(codepoint)) {
-                codepoint = readCodepoint();    // Skip codepoint
-            }
+    /**
+     * Moves to a row, such that it is the next row read; Rows before it are not parsed, except for those after the nearest indexed row
+     * <br>
+     * Seeking backwards is permitted. After seeking, {@link CSVReader#rowCount()} is equal to the specified row number.
+     * <br>
+     * Only readers for memory-mapped files support seeking, see {@link Builder#build(Path)}
+     *
+     * @param row   Row number, counting from 0 at the start of the document; May be equal to the amount of rows, to move to the end
+     * @param index Index of this reader's file, built with the same configuration as this reader
+     * @throws IOException                   If an error occurs while reading input
+     * @throws CSVParseException             If a CSV parsing exception occurs before the row is reached
+     * @throws IndexOutOfBoundsException     If the row number is negative, or greater than the amount of rows in the index
+     * @throws IllegalArgumentException      If the index does not match the size of this reader's file
+     * @throws UnsupportedOperationException If this reader does not read a memory-mapped file
+     */
+    public void seekToRow(long row, @NotNull RowIndex index) throws IOException, CSVParseException, IndexOutOfBoundsException, IllegalArgumentException, UnsupportedOperationException {
+        if (!(tokenizer instanceof MappedFileTokenizer mappedTokenizer)) throw new UnsupportedOperationException("seeking requires a reader built from a regular file, with ASCII separators");
+        if (index.inputSize() != mappedTokenizer.end()) throw new IllegalArgumentException("index of a " + index.inputSize() + " byte file does not match input of " + mappedTokenizer.end() + " bytes");
+        Objects.checkIndex(row, index.rowCount() + 1);
+
+        long indexedRow = row - row % index.interval();
+        if (row == index.rowCount() && row == indexedRow) indexedRow -= index.interval(); // The end of the document is not indexed
+        if (indexedRow < 0) {
+            mappedTokenizer.seek(0, 0);
+            hasNext = mappedTokenizer.hasInput();
+            return;
+        }
+        mappedTokenizer.seek(index.offsetBefore(indexedRow), indexedRow);
+        hasNext = true; // The preceding row ended with a record separator
+        while (mappedTokenizer.rowCount() < row && advance()) {
+            // Skip rows after the indexed row
+        }
+    }
 
-            if (codepoint == '"' && quoteMode != QuoteParsingMode.TREAT_QUOTES_AS_NORMAL_CHARACTERS) { // Unit in quotes
-                read_to_unit_end:
-                while (true) {
-                    codepoint = readCodepoint();
-                    // Read to next quote (Or end of stream)
-                    while (codepoint != '"' && codepoint != -1) {
-                        unitBuilder.appendCodePoint(codepoint);
-                        codepoint = readCodepoint();
-                    }
-
-                    if (codepoint == -1) throw new IOException("unclosed quotes in row " + rowCount);
-
-                    codepoint = readCodepoint();
-                    if (codepoint == '"') {
-                        unitBuilder.append('"');
-                        continue read_to_unit_end;
-                    } else {
-                        break read_to_unit_end;
-                    }
-                }
+    /**
+     * Captures the position of this reader, from which a new reader may resume; See {@link Checkpoint}
+     * <br>
+     * Must be called between rows; Checkpoints taken after an exception was thrown while reading a row are not valid.
+     * <br>
+     * Only readers for memory-mapped files, see {@link Builder#build(Path)}, and readers following a file with ASCII separators, see {@link Builder#buildFollowing(Path, Duration)}, support checkpoints
+     *
+     * @return Checkpoint at the next row of this reader
+     * @throws UnsupportedOperationException If this reader neither reads a memory-mapped file nor follows a file with ASCII separators
+     */
+    public Checkpoint checkpoint() throws UnsupportedOperationException {
+        long offset;
+        if (tokenizer instanceof MappedFileTokenizer mappedTokenizer) {
+            offset = mappedTokenizer.offset();
+        } else if (tokenizer instanceof Utf8StreamTokenizer streamTokenizer && streamTokenizer.input() instanceof FollowingInputStream followed) {
+            offset = followed.position() - streamTokenizer.buffered();
+        } else {
+            throw new UnsupportedOperationException("checkpoints require a reader built from or following a regular file, with ASCII separators");
+        }
+        return new Checkpoint(offset, tokenizer.rowCount(), hasNext, tokenizer);
+    }
 
-                // Trim whitespace now, as it is an error to have further (non whitespace) characters after the closing of the quoted string
-                if (trimWhitespace) while (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator && isWhitespace.apply(codepoint)) {
-                    codepoint = readCodepoint();    // Skip codepoint
-                }
-                if (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator) {
-                    throw new CSVParseException("continuation character (" + Character.toString(codepoint) + ") after end of quoted block, in row " + rowCount);
-                }
-            } else {
-                while (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator) {
-                    if (quoteMode == QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS && codepoint == '"') throw new CSVParseException("double-quote mark in non-quoted block, in row " + rowCount);
-                    unitBuilder.appendCodePoint(codepoint);
-                    codepoint = readCodepoint();
-                }
-                if (trimWhitespace) {
-                    trim_trailing_whitespace:
-                    while (unitBuilder.length() > 0) {
-                        char character = unitBuilder.charAt(unitBuilder.length() - 1);
-                        if (Character.isLowSurrogate(character) && unitBuilder.length() >= 2) {
-                            int lastCodepoint = unitBuilder.codePointAt(unitBuilder.length() - 2);
-                            if (isWhitespace.apply(lastCodepoint)) {
-                                unitBuilder.setLength(unitBuilder.length() - 2);
-                            } else {
-                                break trim_trailing_whitespace;
-                            }
-                        } else {
-                            if (isWhitespace.apply((int) character)) {
-                                unitBuilder.setLength(unitBuilder.length() - 1);
-                            } else {
-                                break trim_trailing_whitespace;
-                            }
-                        }
-                    }
-                }
+    /**
+     * Sets the columns to read; Units of other columns are skipped over without being copied, and are null in rows returned by this CSVReader
+     * <br>
+     * Rows always contain all of their units, such that column indices are not changed by projection
+     * <br>
+     * Applies to rows read after this call, including by iterators and streams created after this call. Does not apply to {@link CSVReader#cursor()}, which does not copy units.
+     *
+     * @param columns Indices of columns to read, or null to read all columns
+     * @return this CSVReader, for chaining
+     * @throws IllegalArgumentException If a column index is negative
+     */
+    public CSVReader setProjection(int @Nullable ... columns) throws IllegalArgumentException {
+        if (columns == null) {
+            this.projection = null;
+        } else {
+            boolean[] projection = new boolean[Arrays.stream(columns).max().orElse(-1) + 1];
+            for (int column : columns) {
+                if (column < 0) throw new IllegalArgumentException("column index must be non-negative, found " + column);
+                projection[column] = true;
             }
+            this.projection = projection;
+        }
+        return this;
+    }
 
-            if (codepoint == unitSeparator) codepoint = readCodepoint();
+    /**
+     * Sets the columns to read by name; Units of other columns are skipped over without being copied, and are null in rows returned by this CSVReader
+     * <br>
+     * See {@link CSVReader#setProjection(int...)}
+     *
+     * @param header  Header row of the document, usually the first row read from this CSVReader
+     * @param columns Names of columns to read
+     * @return this CSVReader, for chaining
+     * @throws IllegalArgumentException If a column is not present in the header
+     */
+    public CSVReader setProjection(@NotNull String @NotNull [] header, @NotNull String @NotNull ... columns) throws IllegalArgumentException {
+        List<String> headerList = Arrays.asList(Util.requireNonNullValues(header));
+        int[] indices = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indices[i] = headerList.indexOf(Objects.requireNonNull(columns[i]));
+            if (indices[i] == -1) throw new IllegalArgumentException("could not find column (" + columns[i] + ") in header (" + String.join(", ", header) + ")");
+        }
+        return setProjection(indices);
+    }
 
-            if (codepoint == -1) {
-                hasNext = false;
-            }
+    /**
+     * @return Projected columns by index, or null if all columns are projected
+     */
+    boolean @Nullable [] projection() {
+        return projection;
+    }
 
-            if (codepoint == '\n' && unitBuilder.charAt(unitBuilder.length() - 1) == '\r') {    // Remove \r\n newlines outside trim-whitespace mode.
-                unitBuilder.setLength(unitBuilder.length() - 1);
-            }
-            String unit = unitBuilder.toString();
-            unitBuilder.setLength(0);
-            lineBuffer.add(unit);
-        }
+    /**
+     * Creates a cursor over the rows of this CSVReader, exposing fields as views into the parse buffer
+     * <br>
+     * CAUTION: The cursor shares iteration state with this CSVReader, it continues where previous iteration left, and rows it reads are not yielded by this reader's iterators.
+     *
+     * @return New cursor, positioned before the next row
+     */
+    public RowCursor cursor() {
+        return new RowCursor(this);
+    }
 
-        String[] array = lineBuffer.toArray(String[]::new);
-        lineBuffer.clear();
-        return array;
+    /**
+     * Creates a thread-safe facade over this CSVReader, for consumption by multiple threads
+     * <br>
+     * The facade takes over iteration of this reader, continuing where previous iteration left; This reader must no longer be used directly. Rows use the projection set at the time of this call.
+     *
+     * @param batchSize Maximum amount of rows handed out per batch
+     * @return Facade handing out batches of rows
+     * @throws IllegalArgumentException If the batch size is not positive
+     */
+    public ConcurrentCSVReader<String[]> concurrent(int batchSize) throws IllegalArgumentException {
+        boolean[] projection = this.projection;
+        return new ConcurrentCSVReader<>(this, batchSize, tokenizer -> tokenizer.units(projection));
     }
 
     /**
@@ -258,17 +315,40 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
      * CAUTION: CSVReader can only be iterated once. Creating a new spliterator does not reset iteration state, spliterator will continue where the previous iteration left. To iterate multiple times, collect each record to a list.
      * <br><br>
      * WARNING: This is a "throwing" spliterator, which may throw {@link IOException} or {@link CSVParseException} if an IO or parsing error occurs
+     * <br><br>
+     * For files read through {@link Builder#build(Path)}, the returned spliterator splits the remaining input at record boundaries, such that parallel streams tokenize each split independently.
+     * This requires a quote parsing mode other than {@link QuoteParsingMode#PERMIT_INNER_QUOTES_IN_UNQUOTED_FIELDS}. The remaining input is consumed by the spliterator, this reader will not yield further rows.
+     * Row counts in exception messages are relative to the start of each split.
      *
      * @return Spliterator equivalent of this CSVReader.
      */
     @Override
     public Spliterator<String[]> spliterator() {
+        boolean[] projection = this.projection;
+        Spliterator<String[]> fileSpliterator = fileSpliterator(tokenizer -> tokenizer.units(projection));
+        if (fileSpliterator != null) return fileSpliterator;
         return Spliterators.spliteratorUnknownSize(
                 this.iterator(),
                 Spliterator.ORDERED | Spliterator.NONNULL
         );
     }
 
+    /**
+     * Creates a spliterator over the remaining input of a memory-mapped file, splitting at record boundaries
+     * <br>
+     * The remaining input is consumed by the spliterator, this reader will not yield further rows.
+     *
+     * @param rowFunction Function creating an element from the current row of a tokenizer; Called concurrently for different splits
+     * @param <T>         Type of element
+     * @return Splitting spliterator, or null if the input of this reader cannot be split
+     */
+    <T> @Nullable Spliterator<T> fileSpliterator(ThrowingFunction<Tokenizer, T> rowFunction) {
+        if (!(tokenizer instanceof MappedFileTokenizer mappedTokenizer) || !MappedFileSpliterator.isSplittable(tokenizer)) return null;
+        long start = hasNext ? mappedTokenizer.offset() : mappedTokenizer.end();
+        hasNext = false;
+        return new MappedFileSpliterator<>(mappedTokenizer, start, mappedTokenizer.end(), MappedFileSpliterator.DEFAULT_MINIMUM_SPLIT_SIZE, rowFunction);
+    }
+
     /**
      * Use this CSVReader as a Stream
      * <br><br>
@@ -292,30 +372,37 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
      */
     @Override
     @SuppressWarnings("RedundantThrows")    // We do not throw CSVParseException here, but it may be silently thrown by iteration. Inclusion here ensures a catch clause is present to handle exceptions during iteration
-    public synchronized void close() throws IOException, CSVParseException {
+    public void close() throws IOException, CSVParseException {
         this.hasNext = false;
-        this.reader.close();
+        this.tokenizer.close();
     }
 
     /**
      * @return unit/value separator codepoint used for parsing CSV documents
      */
     public int getUnitSeparator() {
-        return unitSeparator;
+        return tokenizer.unitSeparator;
     }
 
     /**
      * @return record/line separator codepoint used for parsing CSV documents
      */
     public int getRecordSeparator() {
-        return recordSeparator;
+        return tokenizer.recordSeparator;
     }
 
     /**
      * @return Amount of successfully read rows
      */
-    public int rowCount() {
-        return rowCount;
+    public long rowCount() {
+        return tokenizer.rowCount();
+    }
+
+    /**
+     * @return Tokenizer backing this reader
+     */
+    Tokenizer tokenizer() {
+        return tokenizer;
     }
 
 
@@ -336,12 +423,14 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
         private @Nullable Boolean trimWhitespace;
         private @Nullable QuoteParsingMode quoteMode;
         private @NotNull Function<Integer, Boolean> isWhitespace;
+        private boolean deduplicateUnits;
+        private @Nullable Checkpoint resumeFrom;
 
         /**
          * Create a builder with empty configuration; All configuration options must manually be set before {@link Builder#build(String)}
          */
         public Builder() {
-            this.isWhitespace = Character::isWhitespace;
+            this.isWhitespace = Whitespace.CHARACTER_IS_WHITESPACE;
         }
 
         /**
@@ -387,6 +476,9 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
 
         /**
          * Sets definition of whitespace for built CSVReader
+         * <br>
+         * The definition is evaluated for every ASCII codepoint when building a CSVReader, and must consistently return the same result for the same codepoint; ASCII codepoints are then classified from a precomputed table.
+         * The default definition, {@link Character#isWhitespace(int)}, is classified without boxing.
          *
          * @param isCodepointWhitespace function mapping codepoint integer to true if codepoint is whitespace, to false otherwise
          * @return this builder, for chaining
@@ -396,6 +488,38 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
             return this;
         }
 
+        /**
+         * If true, deduplicate the Strings created for units; Repeated values of a column are then returned as the same String instance
+         * <br>
+         * Each column caches a bounded amount of recently read values, and compares units against them before creating a String, reducing both allocation and retained heap for low-cardinality columns such as countries or status codes.
+         * Columns with high cardinality are detected while reading, and are no longer cached. Units longer than 64 characters are never cached.
+         * <br>
+         * Default: false
+         *
+         * @param deduplicateUnits if true, deduplicate unit Strings
+         * @return this builder, for chaining
+         */
+        public Builder deduplicateUnits(boolean deduplicateUnits) {
+            this.deduplicateUnits = deduplicateUnits;
+            return this;
+        }
+
+        /**
+         * Sets a checkpoint to resume reading from, see {@link Checkpoint}
+         * <br>
+         * Readers built from a file with {@link Builder#build(Path)} or {@link Builder#buildFollowing(Path, Duration)} start at the checkpoint's row, without reading input before it; Their row count continues from the checkpoint.
+         * Other inputs are not seekable, and cannot be resumed. The checkpoint must have been taken with the same configuration as this builder.
+         * <br>
+         * Default: null, reading from the start of input
+         *
+         * @param checkpoint Checkpoint to resume from, or null to read from the start of input
+         * @return this builder, for chaining
+         */
+        public Builder resumeFrom(@Nullable Checkpoint checkpoint) {
+            this.resumeFrom = checkpoint;
+            return this;
+        }
+
         /**
          * Sets quote parsing mode; Determining how CSVReader handles double-quote characters
          * <br>
@@ -422,6 +546,7 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
             if (this.recordSeparator == null) throw new IllegalStateException("record separator not set");
             if (this.trimWhitespace == null) throw new IllegalStateException("trim-whitespace option not set");
             if (this.quoteMode == null) throw new IllegalStateException("quote parsing mode not set");
+            if (this.resumeFrom != null && !this.resumeFrom.matches(unitSeparator, recordSeparator, trimWhitespace, quoteMode)) throw new IllegalStateException("checkpoint was taken with a different configuration");
             return this;
         }
 
@@ -436,13 +561,12 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
          *
          * @param input Input CSV document
          * @return CSVReader that yields rows from the input document
-         * @throws IOException           if an IOException occurs initialising the CSVReader
-         * @throws IllegalStateException if configuration is invalid
+         * @throws IOException                   if an IOException occurs initialising the CSVReader
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
          */
         public CSVReader build(BufferedReader input) throws IOException {
-            validate();
-            //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
-            return new CSVReader(Objects.requireNonNull(input), unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode);
+            return build((Reader) input);
         }
 
         /**
@@ -456,15 +580,220 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
          *
          * @param input Input CSV document
          * @return CSVReader that yields rows from the input document
-         * @throws IOException           if an IOException occurs initialising the CSVReader
-         * @throws IllegalStateException if configuration is invalid
+         * @throws IOException                   if an IOException occurs initialising the CSVReader
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
          */
         public CSVReader build(Reader input) throws IOException {
+            validate();
+            Objects.requireNonNull(input);
+            requireNotResuming();
+            return new CSVReader(charTokenizer(input));
+        }
+
+        /**
+         * Builds a new CSVReader for the given UTF-8 encoded input
+         * <br>
+         * Separators and quotes are located directly in the input bytes, only the values that are read are decoded. Malformed UTF-8 is replaced with U+FFFD, as when reading through {@link InputStreamReader}
+         * <br>
+         * If either separator is not an ASCII character, the input is instead decoded as a whole through an {@link InputStreamReader}
+         * <br>
+         * May be called multiple times to create new CSVReaders with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Performs an initial (blocking) read of the input
+         *
+         * @param input Input CSV document, encoded as UTF-8
+         * @return CSVReader that yields rows from the input document
+         * @throws IOException                   if an IOException occurs initialising the CSVReader
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
+         */
+        public CSVReader build(InputStream input) throws IOException {
+            validate();
             Objects.requireNonNull(input);
-            if (input instanceof BufferedReader bufferedReader) {
-                return build(bufferedReader);
+            requireNotResuming();
+            //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
+            if (Utf8Tokenizer.isAscii(unitSeparator) && Utf8Tokenizer.isAscii(recordSeparator)) {
+                return new CSVReader(byteTokenizer(input));
             } else {
-                return build(new BufferedReader(input));
+                return build(new InputStreamReader(input, StandardCharsets.UTF_8));
+            }
+        }
+
+        /**
+         * Builds a new CSVReader for the given UTF-8 encoded file
+         * <br>
+         * Regular files are memory-mapped, and parsed directly out of the mapped memory. Files larger than 2GB are mapped in multiple windows.
+         * Other files, as well as configurations with non-ASCII separators, are read as with {@link Builder#build(InputStream)}
+         * <br>
+         * May be called multiple times to create new CSVReaders with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Performs an initial (blocking) read of the input
+         *
+         * @param path Path of input CSV document, encoded as UTF-8
+         * @return CSVReader that yields rows from the input document
+         * @throws IOException                   if an IOException occurs opening the file or initialising the CSVReader
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, and the file is not a regular file or either separator is not an ASCII character
+         */
+        public CSVReader build(Path path) throws IOException {
+            validate();
+            //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
+            if (Utf8Tokenizer.isAscii(unitSeparator) && Utf8Tokenizer.isAscii(recordSeparator) && Files.isRegularFile(path)) {
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                try {
+                    MappedFileTokenizer tokenizer = configure(new MappedFileTokenizer(channel, 0, channel.size(), MappedFileTokenizer.DEFAULT_WINDOW_SIZE, unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode));
+                    if (resumeFrom == null) return new CSVReader(tokenizer);
+                    if (resumeFrom.offset() > channel.size()) throw new IOException("checkpoint at offset " + resumeFrom.offset() + " is beyond the end of " + path);
+                    tokenizer.seek(resumeFrom.offset(), resumeFrom.rowCount());
+                    return new CSVReader(tokenizer, resumeFrom.hasNext());
+                } catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+            }
+
+            requireNotResuming();
+            InputStream input = Files.newInputStream(path);
+            try {
+                return build(input);
+            } catch (IOException | RuntimeException e) {
+                input.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Builds a new CSVReader for the given gzip-compressed UTF-8 encoded input, such as a {@code .csv.gz} file
+         * <br>
+         * Decompression runs on background threads, concurrently with parsing. Input in the BGZF layout (as written by {@code bgzip}) is inflated in parallel on the specified amount of worker threads;
+         * Other gzip input, which can only be split into members by inflating it, is inflated on a single background thread. Read-ahead of decompressed data is bounded.
+         * <br>
+         * The background threads are stopped when the CSVReader is closed.
+         * <br>
+         * May be called multiple times to create new CSVReaders with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Performs an initial (blocking) read of the input
+         *
+         * @param input   Input gzip-compressed CSV document, encoded as UTF-8
+         * @param threads Amount of worker threads inflating BGZF blocks
+         * @return CSVReader that yields rows from the input document
+         * @throws IOException                   if an IOException occurs initialising the CSVReader, including if the input is not valid gzip
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws IllegalArgumentException      if the amount of threads is not positive
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
+         */
+        public CSVReader buildGzip(InputStream input, int threads) throws IOException, IllegalStateException, IllegalArgumentException, UnsupportedOperationException {
+            validate();
+            Objects.requireNonNull(input);
+            requireNotResuming();
+            if (threads < 1) throw new IllegalArgumentException("thread count must be positive: " + threads);
+            InputStream decompressed = new ParallelGzipInputStream(input, threads);
+            try {
+                return build(decompressed);
+            } catch (IOException | RuntimeException e) {
+                decompressed.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Builds a new CSVReader for the given gzip-compressed UTF-8 encoded file; See {@link Builder#buildGzip(InputStream, int)}
+         *
+         * @param path    Path of input gzip-compressed CSV document, encoded as UTF-8
+         * @param threads Amount of worker threads inflating BGZF blocks
+         * @return CSVReader that yields rows from the input document
+         * @throws IOException                   if an IOException occurs opening the file or initialising the CSVReader, including if the file is not valid gzip
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws IllegalArgumentException      if the amount of threads is not positive
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
+         */
+        public CSVReader buildGzip(Path path, int threads) throws IOException, IllegalStateException, IllegalArgumentException, UnsupportedOperationException {
+            validate();
+            requireNotResuming();
+            if (threads < 1) throw new IllegalArgumentException("thread count must be positive: " + threads);
+            InputStream input = Files.newInputStream(path);
+            try {
+                return buildGzip(input, threads);
+            } catch (IOException | RuntimeException e) {
+                input.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Builds a new CSVReader that follows the given UTF-8 encoded file as it is appended to, such as a log written by another process
+         * <br>
+         * At end-of-file, the reader waits for more data instead of ending; {@link CSVReader#hasNext()} remains true until the reader is closed. The file size is polled at the specified interval while waiting.
+         * A row is only read once its record separator has been written, such that a partially written last row is completed by later appends. Rows must therefore be terminated by a record separator.
+         * <br>
+         * Reading ends when the reader is closed, which may be done from another thread; A read that is waiting at that time throws {@link java.nio.channels.AsynchronousCloseException}. Interrupting a waiting thread throws {@link InterruptedIOException}.
+         * <br>
+         * If a checkpoint is set with {@link Builder#resumeFrom(Checkpoint)}, reading starts at the checkpoint. If both separators are ASCII characters, the reader supports {@link CSVReader#checkpoint()}, such that following can be resumed after a restart.
+         * <br>
+         * May be called multiple times to create new CSVReaders with the same configuration
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         * <br>
+         * NOTE: Unlike other build methods, does not read input
+         *
+         * @param path         Path of input CSV document, encoded as UTF-8
+         * @param pollInterval Time to wait before checking for new data, when no data is available
+         * @return CSVReader that yields rows from the input document as they are appended
+         * @throws IOException              if an IOException occurs opening the file
+         * @throws IllegalStateException    if configuration is invalid
+         * @throws IllegalArgumentException if the poll interval is not positive
+         */
+        public CSVReader buildFollowing(Path path, Duration pollInterval) throws IOException, IllegalStateException, IllegalArgumentException {
+            validate();
+            Objects.requireNonNull(path);
+            if (pollInterval.isNegative() || pollInterval.isZero()) throw new IllegalArgumentException("poll interval must be positive: " + pollInterval);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                long offset = resumeFrom == null ? 0 : resumeFrom.offset();
+                if (offset > channel.size()) throw new IOException("checkpoint at offset " + offset + " is beyond the end of " + path);
+                InputStream input = new FollowingInputStream(channel, offset, pollInterval);
+                //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
+                Tokenizer tokenizer = Utf8Tokenizer.isAscii(unitSeparator) && Utf8Tokenizer.isAscii(recordSeparator) ? byteTokenizer(input) : charTokenizer(new InputStreamReader(input, StandardCharsets.UTF_8));
+                if (resumeFrom != null) tokenizer.rowCount = resumeFrom.rowCount();
+                return new CSVReader(tokenizer, true);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Builds an index of the rows of the given UTF-8 encoded file, used to seek readers for the file to a row; See {@link RowIndex}
+         * <br>
+         * Parses the entire file once, recording the offset of every {@code interval}-th row. Readers seeking with the index must be built with the same configuration.
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         *
+         * @param path     Path of a regular file, encoded as UTF-8
+         * @param interval Amount of rows between indexed rows; Seeking parses up to {@code interval - 1} rows, the index holds one offset per interval
+         * @return Index of the file's rows
+         * @throws IOException                   if an IOException occurs reading the file
+         * @throws CSVParseException             if a CSV parsing exception occurs
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws IllegalArgumentException      if the interval is not positive
+         * @throws UnsupportedOperationException if the file is not a regular file, or either separator is not an ASCII character
+         */
+        public RowIndex buildIndex(Path path, int interval) throws IOException, CSVParseException, IllegalStateException, IllegalArgumentException, UnsupportedOperationException {
+            validate();
+            if (interval < 1) throw new IllegalArgumentException("interval must be positive: " + interval);
+            //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
+            if (!Utf8Tokenizer.isAscii(unitSeparator) || !Utf8Tokenizer.isAscii(recordSeparator) || !Files.isRegularFile(path)) {
+                throw new UnsupportedOperationException("indexing requires a regular file, with ASCII separators");
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return RowIndex.build(new MappedFileTokenizer(channel, 0, channel.size(), MappedFileTokenizer.DEFAULT_WINDOW_SIZE, unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode), interval);
             }
         }
 
@@ -479,11 +808,71 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
          *
          * @param input Input CSV document
          * @return CSVReader that yields rows from the input document
-         * @throws IOException           if an IOException occurs initialising the CSVReader
-         * @throws IllegalStateException if configuration is invalid
+         * @throws IOException                   if an IOException occurs initialising the CSVReader
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as this input is not seekable
          */
         public CSVReader build(String input) throws IOException {
-            return this.build(new BufferedReader(new StringReader(Objects.requireNonNull(input))));
+            return this.build(new StringReader(Objects.requireNonNull(input)));
+        }
+
+        /**
+         * Builds a push parser, parsing input that is passed to it in chunks
+         * <br>
+         * See {@link CSVPushParser} for details
+         * <br>
+         * Validates configuration, for fail-fast behaviour when reusing builders, call {@link Builder#validate()}
+         *
+         * @param rowConsumer Consumer receiving each row, in document order
+         * @return Push parser that passes rows to the consumer
+         * @throws IllegalStateException         if configuration is invalid
+         * @throws UnsupportedOperationException if resuming from a checkpoint, as pushed input is not seekable
+         */
+        public CSVPushParser<String[]> buildPushParser(@NotNull Consumer<String[]> rowConsumer) throws IllegalStateException, UnsupportedOperationException {
+            validate();
+            requireNotResuming();
+            return new CSVPushParser<>(copySettings(), reader -> Tokenizer::units, Objects.requireNonNull(rowConsumer));
+        }
+
+        /**
+         * @throws UnsupportedOperationException if a checkpoint to resume from is set, as the input being built is not seekable
+         */
+        void requireNotResuming() throws UnsupportedOperationException {
+            if (resumeFrom != null) throw new UnsupportedOperationException("resuming from a checkpoint requires a reader built from a regular file, with ASCII separators");
+        }
+
+        /**
+         * @param input Character input
+         * @return Tokenizer for the input, as configured by this builder
+         * @throws IllegalStateException if configuration is invalid
+         */
+        Tokenizer charTokenizer(Reader input) throws IllegalStateException {
+            validate();
+            //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
+            return configure(new CharTokenizer(input, Tokenizer.DEFAULT_BUFFER_SIZE, unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode));
+        }
+
+        /**
+         * @param input UTF-8 encoded input
+         * @return Tokenizer for the input, as configured by this builder
+         * @throws IllegalStateException    if configuration is invalid
+         * @throws IllegalArgumentException if either separator is not an ASCII character
+         */
+        Tokenizer byteTokenizer(InputStream input) throws IllegalStateException, IllegalArgumentException {
+            validate();
+            //noinspection DataFlowIssue    Linter cannot see that #validate() null-checks
+            return configure(new Utf8StreamTokenizer(input, Tokenizer.DEFAULT_BUFFER_SIZE, unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode));
+        }
+
+        /**
+         * Applies options that are not passed to tokenizer constructors
+         *
+         * @param tokenizer Tokenizer configured by this builder
+         * @return The tokenizer
+         */
+        private <T extends Tokenizer> T configure(T tokenizer) {
+            if (deduplicateUnits) tokenizer.deduplicateUnits();
+            return tokenizer;
         }
 
         /**
@@ -529,6 +918,8 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
             copy.trimWhitespace = this.trimWhitespace;
             copy.quoteMode = this.quoteMode;
             copy.isWhitespace = this.isWhitespace;
+            copy.deduplicateUnits = this.deduplicateUnits;
+            copy.resumeFrom = this.resumeFrom;
             return copy;
         }
 
@@ -541,7 +932,7 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
                            .setUnitSeparator(',')
                            .setRecordSeparator('\n')
                            .trimWhitespace(false)
-                           .setWhitespaceDefinition(Character::isWhitespace)
+                           .setWhitespaceDefinition(Whitespace.CHARACTER_IS_WHITESPACE)
                            .setQuoteMode(QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS);
         }
 
@@ -564,7 +955,7 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
                            .setUnitSeparator(',')
                            .setRecordSeparator('\n')
                            .trimWhitespace(true)
-                           .setWhitespaceDefinition(Character::isWhitespace)
+                           .setWhitespaceDefinition(Whitespace.CHARACTER_IS_WHITESPACE)
                            .setQuoteMode(QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS);
         }
 
@@ -577,7 +968,7 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
                            .setUnitSeparator('\t')
                            .setRecordSeparator('\n')
                            .trimWhitespace(true)
-                           .setWhitespaceDefinition(Character::isWhitespace)
+                           .setWhitespaceDefinition(Whitespace.CHARACTER_IS_WHITESPACE)
                            .setQuoteMode(QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS);
         }
 
@@ -592,7 +983,7 @@ public class CSVReader implements Iterable<String[]>, AutoCloseable {
                            .setUnitSeparator('\u001F')
                            .setRecordSeparator('\u001E')
                            .trimWhitespace(false)
-                           .setWhitespaceDefinition(Character::isWhitespace)
+                           .setWhitespaceDefinition(Whitespace.CHARACTER_IS_WHITESPACE)
                            .setQuoteMode(QuoteParsingMode.TREAT_QUOTES_AS_NORMAL_CHARACTERS);
         }
     }
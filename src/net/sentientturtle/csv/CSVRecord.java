@@ -0,0 +1,28 @@
+package net.sentientturtle.csv;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record for which a {@link CompiledRecordMapper} is generated at compile time, by the annotation processor in the `processor` source root
+ * <br>
+ * {@link CSVMapper.Builder} uses the generated mapper instead of reflection to read the record components and call the canonical constructor.
+ * Records without a generated mapper, such as when the processor is not enabled, are mapped through reflection.
+ * <br>
+ * Records must be accessible from their package, and may only have components of (boxed) primitive types and {@link String}.
+ * Type mappers for these types may still be overridden through {@link CSVMapper.Builder#addTypeMapper(net.sentientturtle.csv.reflection.TypeToken, ThrowingFunction)}.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * &#64;CSVRecord
+ * public record ARecord(int aValue, String otherValue) {}
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CSVRecord {
+}
@@ -0,0 +1,332 @@
+package net.sentientturtle.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Block-buffered tokenizer for character input
+ * <br>
+ * Input is read in large blocks into a {@code char[]} buffer, which is scanned by index for separators and quotes.
+ * Units are recorded as ranges into that buffer, and are only copied when materialized through {@link CharTokenizer#unit(int)}
+ * <br>
+ * The current row is retained in the buffer until the next row is read. When more input is required, the buffer is compacted, and grown if a single row does not fit.
+ */
+class CharTokenizer extends Tokenizer {
+    // Input
+    private final Reader input;
+    // Buffer
+    private char[] buffer;
+    private int position;       // Index of the next character to be read
+    private int limit;          // Index after the last valid character in the buffer
+    private int rowStart;       // Index of the first character of the current row; Buffer contents from this index onward are retained when refilling
+    private boolean endOfInput;
+    private char[] unescapeBuffer;
+    // Scanners
+    private final DelimiterScanner unquotedScanner;
+    private final DelimiterScanner quotedScanner;
+
+    /**
+     * @param input           CSV document input
+     * @param bufferSize      Initial size of the read buffer, in characters
+     * @param unitSeparator   Separator character for units/values (Specified as codepoint integer)
+     * @param recordSeparator Separator character for records/lines (Specified as codepoint integer)
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Function used to determine whitespace, takes codepoint integers
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     */
+    CharTokenizer(
+            Reader input,
+            int bufferSize,
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Function<Integer, Boolean> isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) {
+        super(unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode);
+        this.input = input;
+        this.buffer = new char[bufferSize];
+        this.unescapeBuffer = new char[0];
+        if (quoteMode == CSVReader.QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS) {
+            this.unquotedScanner = DelimiterScanner.create(unitSeparator, recordSeparator, '"');
+        } else {
+            this.unquotedScanner = DelimiterScanner.create(unitSeparator, recordSeparator);
+        }
+        this.quotedScanner = DelimiterScanner.create('"');
+    }
+
+    /**
+     * Reads more input into the buffer, discarding contents before {@link #rowStart}
+     *
+     * @return False if end-of-stream has been reached, true if at least one character was read
+     * @throws IOException If an IO error occurs while reading from input
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) return false;
+        if (rowStart > 0) {
+            System.arraycopy(buffer, rowStart, buffer, 0, limit - rowStart);
+            position -= rowStart;
+            limit -= rowStart;
+            rowStart = 0;
+        }
+        if (limit == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+
+        int read = input.read(buffer, limit, buffer.length - limit);
+        if (read == -1) {
+            endOfInput = true;
+            return false;
+        } else {
+            limit += read;
+            return true;
+        }
+    }
+
+    @Override
+    boolean hasInput() throws IOException {
+        return position < limit || fill();
+    }
+
+    /**
+     * Decodes the codepoint at the current position, without advancing
+     *
+     * @return Single codepoint, or -1 if end-of-stream has been reached
+     * @throws IOException       If an IO error occurs while reading from input
+     * @throws CSVParseException If malformed unicode (invalid surrogate pair) is encountered
+     */
+    private int current() throws IOException, CSVParseException {
+        if (position == limit && !fill()) return -1;
+        char character = buffer[position];
+        if (!Character.isSurrogate(character)) {
+            return character;
+        } else if (Character.isHighSurrogate(character)) {
+            if (position + 1 == limit && !fill()) throw new CSVParseException("end-of-stream after high surrogate character");
+            char lowSurrogate = buffer[position + 1];
+            if (Character.isLowSurrogate(lowSurrogate)) {
+                return Character.toCodePoint(character, lowSurrogate);
+            } else {
+                throw new CSVParseException("missing low surrogate character");
+            }
+        } else {
+            throw new CSVParseException("unexpected low surrogate character");
+        }
+    }
+
+    @Override
+    boolean readRow() throws IOException, CSVParseException {
+        rowCount += 1;
+        rowStart = position;
+        unitCount = 0;
+
+        int codepoint = current();
+        if (codepoint == -1) return false;
+
+        while (codepoint != -1 && codepoint != recordSeparator) {
+            if (trimWhitespace) codepoint = skipWhitespace(codepoint);
+
+            int start;  // Relative to rowStart
+            int end;
+            boolean escaped = false;
+            if (codepoint == '"' && quoteMode != CSVReader.QuoteParsingMode.TREAT_QUOTES_AS_NORMAL_CHARACTERS) { // Unit in quotes
+                position += 1;
+                start = position - rowStart;
+                escaped = scanQuoted();
+                end = position - rowStart;
+                position += 1;  // Skip closing quote
+                codepoint = current();
+
+                // Trim whitespace now, as it is an error to have further (non whitespace) characters after the closing of the quoted string
+                if (trimWhitespace) codepoint = skipWhitespace(codepoint);
+                if (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator) {
+                    throw new CSVParseException("continuation character (" + Character.toString(codepoint) + ") after end of quoted block, in row " + rowCount);
+                }
+            } else {
+                start = position - rowStart;
+                codepoint = scanUnquoted();
+                end = position - rowStart;
+                if (trimWhitespace) end = trimTrailingWhitespace(start, end);
+            }
+
+            if (codepoint == unitSeparator) {
+                position += Character.charCount(codepoint);
+                codepoint = current();
+            }
+
+            if (codepoint == -1) {
+                reachedEnd = true;
+            }
+
+            if (codepoint == '\n' && end > start && buffer[rowStart + end - 1] == '\r') {  // Remove \r\n newlines outside trim-whitespace mode.
+                end -= 1;
+            }
+            addUnit(start, end, escaped);
+        }
+        if (codepoint != -1) position += Character.charCount(codepoint);    // Skip record separator
+
+        return true;
+    }
+
+    /**
+     * Advances past whitespace, stopping at separators
+     *
+     * @param codepoint Codepoint at the current position
+     * @return First non-whitespace codepoint
+     */
+    private int skipWhitespace(int codepoint) throws IOException, CSVParseException {
+        while (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator && isWhitespace.test(codepoint)) {
+            position += Character.charCount(codepoint);
+            codepoint = current();
+        }
+        return codepoint;
+    }
+
+    /**
+     * Advances to the closing quote of a quoted unit
+     *
+     * @return True if the unit contains escaped ("") quotes
+     * @throws IOException If end-of-stream is reached before the closing quote
+     */
+    private boolean scanQuoted() throws IOException, CSVParseException {
+        boolean escaped = false;
+        while (true) {
+            char[] buffer = this.buffer;
+            int limit = this.limit;
+            int position = quotedScanner.indexOf(buffer, this.position, limit);
+            this.position = position;
+
+            if (position == limit) {
+                fillingQuotedUnit = true;
+                if (!fill()) throw new IOException("unclosed quotes in row " + rowCount);
+                fillingQuotedUnit = false;
+            } else if (buffer[position] == '"') {
+                if (position + 1 == limit && !fill()) return escaped;
+                if (this.buffer[this.position + 1] == '"') {
+                    escaped = true;
+                    this.position += 2;
+                } else {
+                    return escaped;
+                }
+            } else {
+                this.position += Character.charCount(current());
+            }
+        }
+    }
+
+    /**
+     * Advances to the end of an unquoted unit
+     *
+     * @return Codepoint terminating the unit; A separator, or -1 at end-of-stream
+     * @throws CSVParseException If a double-quote is encountered while using {@link CSVReader.QuoteParsingMode#REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS}
+     */
+    private int scanUnquoted() throws IOException, CSVParseException {
+        while (true) {
+            char[] buffer = this.buffer;
+            int limit = this.limit;
+            int position = unquotedScanner.indexOf(buffer, this.position, limit);
+            this.position = position;
+
+            if (position == limit) {
+                if (!fill()) return -1;
+                continue;
+            }
+            char character = buffer[position];
+            if (character == unitSeparator || character == recordSeparator) {
+                return character;
+            } else if (character == '"') {    // Only a delimiter when rejecting quotes
+                throw new CSVParseException("double-quote mark in non-quoted block, in row " + rowCount);
+            } else {
+                int codepoint = current();
+                if (codepoint == unitSeparator || codepoint == recordSeparator) return codepoint;
+                this.position += 2;
+            }
+        }
+    }
+
+    /**
+     * @param start Start of unit, relative to rowStart
+     * @param end   End of unit, relative to rowStart
+     * @return End of unit with trailing whitespace removed
+     */
+    private int trimTrailingWhitespace(int start, int end) {
+        while (end > start) {
+            char character = buffer[rowStart + end - 1];
+            if (Character.isLowSurrogate(character) && end - start >= 2) {
+                int lastCodepoint = Character.codePointAt(buffer, rowStart + end - 2, rowStart + end);
+                if (isWhitespace.test(lastCodepoint)) {
+                    end -= 2;
+                } else {
+                    break;
+                }
+            } else {
+                if (isWhitespace.test((int) character)) {
+                    end -= 1;
+                } else {
+                    break;
+                }
+            }
+        }
+        return end;
+    }
+
+    @Override
+    void rewindRow() {
+        position = rowStart;
+        unitCount = 0;
+        rowCount -= 1;
+    }
+
+    @Override
+    String unit(int index) {
+        int start = rowStart + unitStarts[index];
+        int end = rowStart + unitEnds[index];
+        if (start == end) return "";
+        UnitCache cache = unitCache(index);
+        if (!unitEscaped[index]) return cache != null ? cache.get(buffer, start, end - start) : new String(buffer, start, end - start);
+
+        if (unescapeBuffer.length < end - start) unescapeBuffer = new char[end - start];
+        int length = unescape(start, end, unescapeBuffer);
+        return cache != null ? cache.get(unescapeBuffer, 0, length) : new String(unescapeBuffer, 0, length);
+    }
+
+    @Override
+    void view(int index, FieldView view) {
+        int start = rowStart + unitStarts[index];
+        int end = rowStart + unitEnds[index];
+        if (!unitEscaped[index]) {
+            view.set(buffer, start, end - start);
+        } else {
+            char[] scratch = view.scratch(end - start);
+            view.set(scratch, 0, unescape(start, end, scratch));
+        }
+    }
+
+    /**
+     * Copies a unit, collapsing escaped quotes; Within quoted units, quotes always occur in pairs
+     *
+     * @param start       Start of the unit in the buffer
+     * @param end         End of the unit in the buffer
+     * @param destination Array to copy to, at least as large as the unit
+     * @return Length of the unescaped unit
+     */
+    private int unescape(int start, int end, char[] destination) {
+        int length = 0;
+        int segmentStart = start;
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == '"') {
+                i += 1;
+                System.arraycopy(buffer, segmentStart, destination, length, i - segmentStart);
+                length += i - segmentStart;
+                segmentStart = i + 1;
+            }
+        }
+        System.arraycopy(buffer, segmentStart, destination, length, end - segmentStart);
+        length += end - segmentStart;
+        return length;
+    }
+
+    @Override
+    void close() throws IOException {
+        input.close();
+    }
+}
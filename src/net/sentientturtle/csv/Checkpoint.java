@@ -0,0 +1,127 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Serializable position of a {@link CSVReader} or {@link CSVMapper} in a file, from which reading can be resumed
+ * <br>
+ * Created through {@link CSVReader#checkpoint()} or {@link CSVMapper#checkpoint()}, and resumed from through {@link CSVReader.Builder#resumeFrom(Checkpoint)} or {@link CSVMapper.Builder#resumeFrom(Checkpoint)}.
+ * A checkpoint holds the byte offset of the next row, the amount of rows read, the CSV configuration of the reader, and for mappers the binding of header columns to record components.
+ * <br>
+ * Resuming does not read any input before the checkpoint. A checkpoint remains valid while the file is unmodified before its offset, such as when rows are appended.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * CSVMapper.Builder&lt;ARecord&gt; builder = CSVReader.Builder.DEFAULT_RFC4180().mapped(ARecord.class, true);
+ * if (savedCheckpoint != null) builder.resumeFrom(savedCheckpoint);
+ * try (CSVMapper&lt;ARecord&gt; csv = builder.build(path)) {
+ *     for (long imported = 1; csv.hasNext(); imported++) {
+ *         // Import csv.readRecord()
+ *         if (imported % 100_000 == 0) save(csv.checkpoint());
+ *     }
+ * }
+ * </pre>
+ */
+public final class Checkpoint implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    // Position
+    private final long offset;
+    private final long rowCount;
+    private final boolean hasNext;
+    // Configuration
+    private final int unitSeparator;
+    private final int recordSeparator;
+    private final boolean trimWhitespace;
+    private final CSVReader.QuoteParsingMode quoteMode;
+    // Header
+    private final boolean headerRead;
+    private final int @Nullable [] headerBinding;
+
+    /**
+     * Package-private constructor, this type is initialized through {@link CSVReader#checkpoint()} or {@link CSVMapper#checkpoint()}
+     *
+     * @param offset    Byte offset of the next row
+     * @param rowCount  Amount of rows read
+     * @param hasNext   Iterator state of the reader
+     * @param tokenizer Tokenizer providing the CSV configuration
+     */
+    Checkpoint(long offset, long rowCount, boolean hasNext, Tokenizer tokenizer) {
+        this(offset, rowCount, hasNext, tokenizer.unitSeparator, tokenizer.recordSeparator, tokenizer.trimWhitespace, tokenizer.quoteMode, false, null);
+    }
+
+    private Checkpoint(long offset, long rowCount, boolean hasNext, int unitSeparator, int recordSeparator, boolean trimWhitespace, CSVReader.QuoteParsingMode quoteMode, boolean headerRead, int @Nullable [] headerBinding) {
+        this.offset = offset;
+        this.rowCount = rowCount;
+        this.hasNext = hasNext;
+        this.unitSeparator = unitSeparator;
+        this.recordSeparator = recordSeparator;
+        this.trimWhitespace = trimWhitespace;
+        this.quoteMode = quoteMode;
+        this.headerRead = headerRead;
+        this.headerBinding = headerBinding == null ? null : headerBinding.clone();
+    }
+
+    /**
+     * @param headerRead    True if the mapper has read its header
+     * @param headerBinding Column index of each record component, as bound by the mapper's header; Null if not bound
+     * @return Copy of this checkpoint, with the header state of a mapper
+     */
+    Checkpoint withHeader(boolean headerRead, int @Nullable [] headerBinding) {
+        return new Checkpoint(offset, rowCount, hasNext, unitSeparator, recordSeparator, trimWhitespace, quoteMode, headerRead, headerBinding);
+    }
+
+    /**
+     * @param unitSeparator   Unit separator of a configuration
+     * @param recordSeparator Record separator of a configuration
+     * @param trimWhitespace  Whitespace trimming of a configuration
+     * @param quoteMode       Quote parsing mode of a configuration
+     * @return True if this checkpoint was taken with the specified configuration
+     */
+    boolean matches(int unitSeparator, int recordSeparator, boolean trimWhitespace, CSVReader.QuoteParsingMode quoteMode) {
+        return this.unitSeparator == unitSeparator && this.recordSeparator == recordSeparator && this.trimWhitespace == trimWhitespace && this.quoteMode == quoteMode;
+    }
+
+    /**
+     * @return Byte offset of the next row to be read
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * @return Amount of rows read before this checkpoint, including a header
+     */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Iterator state of the reader
+     */
+    boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * @return True if a mapper has read its header
+     */
+    boolean headerRead() {
+        return headerRead;
+    }
+
+    /**
+     * @return Column index of each record component, as bound by a mapper's header; Null if not bound
+     */
+    int @Nullable [] headerBinding() {
+        return headerBinding == null ? null : headerBinding.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint{offset=" + offset + ", rowCount=" + rowCount + "}";
+    }
+}
@@ -0,0 +1,482 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.reflection.TypeToken;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reusable batch of records in columnar layout, filled by {@link CSVMapper#readColumns(ColumnBatch, int)}
+ * <br>
+ * Each record component is decoded into a column vector of its {@link ColumnType}, without creating record objects or boxing values:
+ * <ul>
+ * <li> {@link ColumnType#INT} for int, short, and byte components (and their wrappers), as int[] </li>
+ * <li> {@link ColumnType#LONG} for long components, as long[] </li>
+ * <li> {@link ColumnType#DOUBLE} for double and float components, as double[] </li>
+ * <li> {@link ColumnType#BOOLEAN} for boolean components, bit-packed into long[] </li>
+ * <li> {@link ColumnType#STRING} for String components, dictionary-encoded as int[] indices into the column's dictionary </li>
+ * <li> {@link ColumnType#OBJECT} for all other components, as Object[] </li>
+ * </ul>
+ * Values are mapped by the type mappers of the CSVMapper; Fields of int, long, double, boolean, and String components using the {@link CSVMapper.Builder#DEFAULT_TYPE_MAPPERS default type mappers} are decoded without copying them to a String.
+ * A value is null if its type mapper returns null, which is recorded in the column's null bitmap; The column vector then holds 0, false, or dictionary index -1.
+ * <br>
+ * Vectors are reused when the batch is refilled, and may be longer than the amount of rows in the batch. Bit-packed vectors store row N in bit {@code N % 64} of element {@code N / 64}.
+ * Dictionaries are built per fill, and hold each distinct value of the column once. Contents are only valid until the batch is refilled.
+ * <br>
+ * CAUTION: ColumnBatch is not thread-safe; A filled batch may be read by multiple threads, if it is safely published to them.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * record Sale(String country, int amount) {}
+ * ColumnBatch batch = new ColumnBatch();
+ * while (csv.readColumns(batch, 4096) &gt; 0) {
+ *     int[] amounts = batch.ints(1);
+ *     for (int row = 0; row &lt; batch.rowCount(); row++) {
+ *         // Use amounts[row]
+ *     }
+ * }
+ * </pre>
+ */
+public final class ColumnBatch {
+    /**
+     * Layout of a column vector
+     */
+    public enum ColumnType {
+        /**
+         * int[], see {@link ColumnBatch#ints(int)}
+         */
+        INT,
+        /**
+         * long[], see {@link ColumnBatch#longs(int)}
+         */
+        LONG,
+        /**
+         * double[], see {@link ColumnBatch#doubles(int)}
+         */
+        DOUBLE,
+        /**
+         * Bit-packed long[], see {@link ColumnBatch#booleans(int)}
+         */
+        BOOLEAN,
+        /**
+         * Dictionary-encoded int[], see {@link ColumnBatch#dictionaryIndices(int)} and {@link ColumnBatch#dictionary(int)}
+         */
+        STRING,
+        /**
+         * Object[], see {@link ColumnBatch#objects(int)}
+         */
+        OBJECT;
+
+        /**
+         * @param type Type of record component
+         * @return Layout of the column vector for the type
+         */
+        static ColumnType of(TypeToken<?> type) {
+            Class<?> rawType = type.isConcreteType() ? type.getRawType() : null;
+            if (rawType == int.class || rawType == Integer.class || rawType == short.class || rawType == Short.class || rawType == byte.class || rawType == Byte.class) {
+                return INT;
+            } else if (rawType == long.class || rawType == Long.class) {
+                return LONG;
+            } else if (rawType == double.class || rawType == Double.class || rawType == float.class || rawType == Float.class) {
+                return DOUBLE;
+            } else if (rawType == boolean.class || rawType == Boolean.class) {
+                return BOOLEAN;
+            } else if (rawType == String.class) {
+                return STRING;
+            } else {
+                return OBJECT;
+            }
+        }
+    }
+
+    // Layout, set by the first fill from a mapper
+    private @Nullable Object layoutOwner;
+    private String[] names;
+    private ColumnType[] types;
+    private ThrowingFunction<?, ?> @Nullable [] mappers;   // Type mapper of each column, or null if the column is decoded directly
+    // Vectors
+    private int rowCount;
+    private int capacity;
+    private Object[] vectors;
+    private long[][] nulls;
+    private Dictionary[] dictionaries;
+    private int[] dictionarySizes;  // Size of each dictionary before the row being added, to remove its values if it fails
+    private final FieldView view;
+
+    /**
+     * Creates an empty batch; Its columns are laid out when first filled
+     */
+    public ColumnBatch() {
+        this.names = new String[0];
+        this.types = new ColumnType[0];
+        this.vectors = new Object[0];
+        this.nulls = new long[0][];
+        this.dictionaries = new Dictionary[0];
+        this.dictionarySizes = new int[0];
+        this.view = new FieldView();
+    }
+
+    /**
+     * Lays out columns for a mapper, unless this batch was already laid out for it, and empties this batch
+     *
+     * @param owner   Mapper filling this batch
+     * @param names   Name of each column
+     * @param types   Type of each column
+     * @param mappers Type mapper of each column
+     */
+    void reset(Object owner, String[] names, TypeToken<?>[] types, ThrowingFunction<String, Object>[] mappers) {
+        rowCount = 0;
+        for (Dictionary dictionary : dictionaries) {
+            if (dictionary != null) dictionary.clear();
+        }
+        if (layoutOwner == owner) return;
+
+        this.layoutOwner = owner;
+        this.names = names.clone();
+        this.types = new ColumnType[types.length];
+        this.mappers = new ThrowingFunction<?, ?>[types.length];
+        this.dictionaries = new Dictionary[types.length];
+        this.dictionarySizes = new int[types.length];
+        for (int i = 0; i < types.length; i++) {
+            this.types[i] = ColumnType.of(types[i]);
+            Class<?> rawType = types[i].isConcreteType() ? types[i].getRawType() : null;
+            boolean direct = mappers[i] == CSVMapper.Builder.DEFAULT_TYPE_MAPPERS.get(types[i])
+                                     && (rawType == int.class || rawType == Integer.class || rawType == long.class || rawType == Long.class
+                                                 || rawType == double.class || rawType == Double.class || rawType == boolean.class || rawType == Boolean.class || rawType == String.class);
+            this.mappers[i] = direct ? null : mappers[i];
+            if (this.types[i] == ColumnType.STRING) this.dictionaries[i] = new Dictionary();
+        }
+        this.capacity = 0;
+        this.vectors = new Object[types.length];
+        this.nulls = new long[types.length][];
+        ensureCapacity(64);
+    }
+
+    /**
+     * Decodes the current row of a tokenizer as the next row of this batch
+     * <br>
+     * If an exception is thrown, the row is not added, and values it added to dictionaries are removed
+     *
+     * @param tokenizer Tokenizer positioned on a row
+     * @param columns   Unit index of each column, or -1 if the unit is missing and inferred to be empty
+     * @throws Exception If an error occurs while mapping a field. Exception type depends on used type mappers
+     */
+    void add(Tokenizer tokenizer, int[] columns) throws Exception {
+        if (rowCount == capacity) ensureCapacity(capacity * 2);
+        int row = rowCount;
+        int word = row >>> 6;
+        long bit = 1L << row;
+        int column = 0;
+        try {
+            for (; column < types.length; column++) {
+                if (dictionaries[column] != null) dictionarySizes[column] = dictionaries[column].size;
+                nulls[column][word] &= ~bit;
+                @SuppressWarnings("unchecked")  // Only type mappers passed to reset are stored
+                ThrowingFunction<String, Object> mapper = (ThrowingFunction<String, Object>) mappers[column];
+                if (mapper == null) {
+                    CharSequence field;
+                    if (columns[column] == -1) {
+                        field = "";
+                    } else {
+                        tokenizer.view(columns[column], view);
+                        field = view;
+                    }
+                    switch (types[column]) {
+                        case INT -> ((int[]) vectors[column])[row] = FieldParsers.parseInt(field);
+                        case LONG -> ((long[]) vectors[column])[row] = FieldParsers.parseLong(field);
+                        case DOUBLE -> ((double[]) vectors[column])[row] = FieldParsers.parseDouble(field);
+                        case BOOLEAN -> setBit((long[]) vectors[column], word, bit, FieldParsers.parseBoolean(field));
+                        case STRING -> ((int[]) vectors[column])[row] = dictionaries[column].index(field);
+                        default -> throw new AssertionError("column type " + types[column] + " is not decoded directly");
+                    }
+                } else {
+                    Object value = mapper.apply(columns[column] == -1 ? "" : tokenizer.unit(columns[column]));
+                    if (value == null) nulls[column][word] |= bit;
+                    switch (types[column]) {
+                        case INT -> ((int[]) vectors[column])[row] = value == null ? 0 : ((Number) value).intValue();
+                        case LONG -> ((long[]) vectors[column])[row] = value == null ? 0 : ((Number) value).longValue();
+                        case DOUBLE -> ((double[]) vectors[column])[row] = value == null ? 0 : ((Number) value).doubleValue();
+                        case BOOLEAN -> setBit((long[]) vectors[column], word, bit, value != null && (Boolean) value);
+                        case STRING -> ((int[]) vectors[column])[row] = value == null ? -1 : dictionaries[column].index((String) value);
+                        case OBJECT -> ((Object[]) vectors[column])[row] = value;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Dictionaries hold only values of added rows
+            for (int added = 0; added <= column; added++) {
+                if (dictionaries[added] != null) dictionaries[added].truncate(dictionarySizes[added]);
+            }
+            throw e;
+        }
+        rowCount++;
+    }
+
+    private static void setBit(long[] bits, int word, long bit, boolean value) {
+        if (value) {
+            bits[word] |= bit;
+        } else {
+            bits[word] &= ~bit;
+        }
+    }
+
+    /**
+     * @param minimumCapacity Minimum amount of rows the vectors must hold
+     */
+    private void ensureCapacity(int minimumCapacity) {
+        int capacity = Math.max(minimumCapacity, 64);
+        int words = (capacity + 63) >>> 6;
+        for (int column = 0; column < types.length; column++) {
+            Object vector = vectors[column];
+            vectors[column] = switch (types[column]) {
+                case INT, STRING -> vector == null ? new int[capacity] : Arrays.copyOf((int[]) vector, capacity);
+                case LONG -> vector == null ? new long[capacity] : Arrays.copyOf((long[]) vector, capacity);
+                case DOUBLE -> vector == null ? new double[capacity] : Arrays.copyOf((double[]) vector, capacity);
+                case BOOLEAN -> vector == null ? new long[words] : Arrays.copyOf((long[]) vector, words);
+                case OBJECT -> vector == null ? new Object[capacity] : Arrays.copyOf((Object[]) vector, capacity);
+            };
+            nulls[column] = nulls[column] == null ? new long[words] : Arrays.copyOf(nulls[column], words);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return Amount of rows in this batch
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Amount of columns in this batch, one per record component; 0 before the batch is first filled
+     */
+    public int columnCount() {
+        return types.length;
+    }
+
+    /**
+     * @param column Index of the column
+     * @return Name of the record component decoded into the column
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     */
+    public String columnName(int column) throws IndexOutOfBoundsException {
+        return names[Objects.checkIndex(column, names.length)];
+    }
+
+    /**
+     * @param name Name of a record component
+     * @return Index of the column the component is decoded into, or -1 if this batch has no such column
+     */
+    public int columnIndex(String name) {
+        return Arrays.asList(names).indexOf(name);
+    }
+
+    /**
+     * @param column Index of the column
+     * @return Layout of the column's vector
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     */
+    public ColumnType columnType(int column) throws IndexOutOfBoundsException {
+        return types[Objects.checkIndex(column, types.length)];
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#INT}
+     * @return Values of the column, indexed by row
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public int[] ints(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return (int[]) vector(column, ColumnType.INT);
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#LONG}
+     * @return Values of the column, indexed by row
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public long[] longs(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return (long[]) vector(column, ColumnType.LONG);
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#DOUBLE}
+     * @return Values of the column, indexed by row
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public double[] doubles(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return (double[]) vector(column, ColumnType.DOUBLE);
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#BOOLEAN}
+     * @return Values of the column, bit-packed; Row N is stored in bit {@code N % 64} of element {@code N / 64}
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public long[] booleans(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return (long[]) vector(column, ColumnType.BOOLEAN);
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#BOOLEAN}
+     * @param row    Index of the row in this batch
+     * @return Value of the column in the row
+     * @throws IndexOutOfBoundsException If this batch has no column or row at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public boolean getBoolean(int column, int row) throws IndexOutOfBoundsException, IllegalArgumentException {
+        long[] bits = booleans(column);
+        Objects.checkIndex(row, rowCount);
+        return (bits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#STRING}
+     * @return Index of each row's value in {@link ColumnBatch#dictionary(int)}, or -1 for null values
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public int[] dictionaryIndices(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return (int[]) vector(column, ColumnType.STRING);
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#STRING}
+     * @return Distinct values of the column in this batch, in order of first occurrence
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public String[] dictionary(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        vector(column, ColumnType.STRING);
+        Dictionary dictionary = dictionaries[column];
+        return Arrays.copyOf(dictionary.values, dictionary.size);
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#STRING}
+     * @param row    Index of the row in this batch
+     * @return Value of the column in the row, or null
+     * @throws IndexOutOfBoundsException If this batch has no column or row at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public @Nullable String getString(int column, int row) throws IndexOutOfBoundsException, IllegalArgumentException {
+        int index = dictionaryIndices(column)[Objects.checkIndex(row, rowCount)];
+        return index == -1 ? null : dictionaries[column].values[index];
+    }
+
+    /**
+     * @param column Index of a column of type {@link ColumnType#OBJECT}
+     * @return Values of the column, indexed by row
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     * @throws IllegalArgumentException  If the column has a different type
+     */
+    public @Nullable Object[] objects(int column) throws IndexOutOfBoundsException, IllegalArgumentException {
+        return (Object[]) vector(column, ColumnType.OBJECT);
+    }
+
+    /**
+     * @param column Index of the column
+     * @return Null bitmap of the column, bit-packed as {@link ColumnBatch#booleans(int)}; A set bit marks a null value
+     * @throws IndexOutOfBoundsException If this batch has no column at the specified index
+     */
+    public long[] nulls(int column) throws IndexOutOfBoundsException {
+        return nulls[Objects.checkIndex(column, nulls.length)];
+    }
+
+    /**
+     * @param column Index of the column
+     * @param row    Index of the row in this batch
+     * @return True if the value of the column in the row is null
+     * @throws IndexOutOfBoundsException If this batch has no column or row at the specified index
+     */
+    public boolean isNull(int column, int row) throws IndexOutOfBoundsException {
+        long[] bits = nulls(column);
+        Objects.checkIndex(row, rowCount);
+        return (bits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * @return Vector of the specified column
+     * @throws IllegalArgumentException If the column is not of the specified type
+     */
+    private Object vector(int column, ColumnType type) throws IndexOutOfBoundsException, IllegalArgumentException {
+        if (columnType(column) != type) throw new IllegalArgumentException("column " + column + " (" + names[column] + ") is of type " + types[column] + ", not " + type);
+        return vectors[column];
+    }
+
+    /**
+     * Dictionary of distinct values, looked up by characters such that a String is only created for new values
+     */
+    private static final class Dictionary {
+        private String[] values;
+        private int size;
+        private int[] table;    // Open-addressing hash table of value index + 1, 0 for empty slots; At most half full
+
+        Dictionary() {
+            this.values = new String[16];
+            this.table = new int[32];
+        }
+
+        void clear() {
+            Arrays.fill(values, 0, size, null);
+            Arrays.fill(table, 0);
+            size = 0;
+        }
+
+        /**
+         * Removes the values added after the dictionary had the specified size
+         * <br>
+         * Values are added in probe order, such that the probe sequence of a retained value never passes a removed value
+         *
+         * @param size Size to truncate to
+         */
+        void truncate(int size) {
+            int mask = table.length - 1;
+            for (int index = this.size - 1; index >= size; index--) {
+                int hash = values[index].hashCode();
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (table[slot] != index + 1) slot = (slot + 1) & mask;
+                table[slot] = 0;
+                values[index] = null;
+            }
+            this.size = Math.min(this.size, size);
+        }
+
+        /**
+         * @param value Value to look up
+         * @return Index of the value, added if not yet present
+         */
+        int index(CharSequence value) {
+            int hash = 0;   // Equal to String#hashCode
+            for (int i = 0; i < value.length(); i++) hash = 31 * hash + value.charAt(i);
+            int mask = table.length - 1;
+            for (int slot = (hash ^ (hash >>> 16)) & mask; ; slot = (slot + 1) & mask) {
+                int entry = table[slot];
+                if (entry == 0) {
+                    if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                    values[size] = value.toString();
+                    table[slot] = ++size;
+                    if (size * 2 > table.length) rehash();
+                    return size - 1;
+                } else if (CharSequence.compare(values[entry - 1], value) == 0) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int index = 0; index < size; index++) {
+                int hash = values[index].hashCode();
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (table[slot] != 0) slot = (slot + 1) & mask;
+                table[slot] = index + 1;
+            }
+        }
+    }
+}
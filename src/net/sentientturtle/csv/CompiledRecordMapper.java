@@ -0,0 +1,183 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.exception.BooleanParseException;
+import net.sentientturtle.csv.exception.CharParseException;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Base class of record mappers generated at compile time for records annotated with {@link CSVRecord}
+ * <br>
+ * Generated mappers are named after the binary name of their record, with suffix {@value #CLASS_NAME_SUFFIX}, and are found by {@link CSVMapper.Builder} through that name.
+ * Through a generated mapper, record components are known and the canonical constructor is called without reflection; Only the generated mapper itself is instantiated reflectively, once per record type.
+ * <br>
+ * Generated mappers behave identically to {@link CSVMapper}'s mapping through type mappers and {@link net.sentientturtle.csv.reflection.TypeToken#getRecordConstructor()}, including exceptions.
+ * <br>
+ * NOTE: This class is public for generated subclasses only, and is not intended to be implemented by hand.
+ *
+ * @param <R> Type of record this mapper creates
+ */
+public abstract class CompiledRecordMapper<R extends Record> {
+    /**
+     * Suffix appended to the binary name of a record to name its generated mapper
+     */
+    public static final String CLASS_NAME_SUFFIX = "_CSVRecordMapper";
+
+    private static final ClassValue<Optional<CompiledRecordMapper<?>>> COMPILED_MAPPERS = new ClassValue<>() {
+        @Override
+        protected Optional<CompiledRecordMapper<?>> computeValue(Class<?> type) {
+            if (!type.isRecord()) return Optional.empty();
+            try {
+                Class<?> mapperClass = Class.forName(type.getName() + CLASS_NAME_SUFFIX, true, type.getClassLoader());
+                if (!CompiledRecordMapper.class.isAssignableFrom(mapperClass)) return Optional.empty();
+                CompiledRecordMapper<?> mapper = (CompiledRecordMapper<?>) mapperClass.getConstructor().newInstance();
+                return mapper.recordType == type ? Optional.of(mapper) : Optional.empty();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // No generated mapper, or one that cannot be used; The record is mapped through reflection instead
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final Class<R> recordType;
+    private final String[] componentNames;
+    private final Class<?>[] componentTypes;
+
+    /**
+     * @param recordType     Record type this mapper creates
+     * @param componentNames Names of the record components, in declaration order
+     * @param componentTypes Types of the record components, in declaration order
+     */
+    protected CompiledRecordMapper(Class<R> recordType, String[] componentNames, Class<?>[] componentTypes) {
+        this.recordType = recordType;
+        this.componentNames = componentNames;
+        this.componentTypes = componentTypes;
+    }
+
+    /**
+     * Maps the units of a row to a record, using the {@link CSVMapper.Builder#DEFAULT_TYPE_MAPPERS default type mappers} for every component
+     *
+     * @param units   Units of the row; Must contain every bound column
+     * @param columns Column index of each record component
+     * @return Record representing the row
+     * @throws Exception If a unit cannot be parsed, as by the default type mappers, or {@link java.lang.reflect.InvocationTargetException} wrapping an exception thrown by the canonical constructor
+     */
+    public abstract R map(String[] units, int[] columns) throws Exception;
+
+    /**
+     * Calls the canonical constructor with the results of type mappers, checking arguments as by {@link java.lang.reflect.Constructor#newInstance(Object...)}
+     *
+     * @param fields Value of each record component
+     * @return New record
+     * @throws Exception {@link IllegalArgumentException} if the values cannot be passed to the constructor, or {@link java.lang.reflect.InvocationTargetException} wrapping an exception thrown by the canonical constructor
+     */
+    public abstract R construct(Object[] fields) throws Exception;
+
+    /**
+     * @return Names of the record components, in declaration order
+     */
+    String[] componentNames() {
+        return componentNames.clone();
+    }
+
+    /**
+     * @return Types of the record components, in declaration order
+     */
+    Class<?>[] componentTypes() {
+        return componentTypes.clone();
+    }
+
+    /**
+     * Finds the generated mapper for a record type; The result is cached per record type
+     *
+     * @param recordType Record type
+     * @param <R>        Record type
+     * @return The generated mapper, or null if the record has none
+     */
+    @SuppressWarnings("unchecked")  // Mappers are checked to create `recordType`
+    static <R extends Record> @Nullable CompiledRecordMapper<R> find(Class<R> recordType) {
+        return (CompiledRecordMapper<R>) COMPILED_MAPPERS.get(recordType).orElse(null);
+    }
+
+    /**
+     * @param fields   Value of each record component
+     * @param expected Amount of record components
+     * @throws IllegalArgumentException If the amount of values does not match the amount of record components
+     */
+    protected static void checkArgumentCount(Object[] fields, int expected) throws IllegalArgumentException {
+        if (fields.length != expected) throw new IllegalArgumentException("wrong number of arguments");
+    }
+
+    // Arguments of construct(Object[]); Primitive values are unboxed and widened as by Constructor#newInstance
+
+    protected static <T> T toReference(Class<T> type, Object value) throws IllegalArgumentException {
+        return type.cast(RecordMapperGenerator.checkArgument(type, value));
+    }
+
+    protected static boolean toBoolean(Object value) throws IllegalArgumentException {
+        return (Boolean) RecordMapperGenerator.checkArgument(boolean.class, value);
+    }
+
+    protected static char toChar(Object value) throws IllegalArgumentException {
+        return (Character) RecordMapperGenerator.checkArgument(char.class, value);
+    }
+
+    protected static byte toByte(Object value) throws IllegalArgumentException {
+        return ((Number) RecordMapperGenerator.checkArgument(byte.class, value)).byteValue();
+    }
+
+    protected static short toShort(Object value) throws IllegalArgumentException {
+        return ((Number) RecordMapperGenerator.checkArgument(short.class, value)).shortValue();
+    }
+
+    protected static int toInt(Object value) throws IllegalArgumentException {
+        return RecordMapperGenerator.checkArgument(int.class, value) instanceof Character character ? character : ((Number) value).intValue();
+    }
+
+    protected static long toLong(Object value) throws IllegalArgumentException {
+        return RecordMapperGenerator.checkArgument(long.class, value) instanceof Character character ? character : ((Number) value).longValue();
+    }
+
+    protected static float toFloat(Object value) throws IllegalArgumentException {
+        return RecordMapperGenerator.checkArgument(float.class, value) instanceof Character character ? character : ((Number) value).floatValue();
+    }
+
+    protected static double toDouble(Object value) throws IllegalArgumentException {
+        return RecordMapperGenerator.checkArgument(double.class, value) instanceof Character character ? character : ((Number) value).doubleValue();
+    }
+
+    // Default type mappers, for map(String[], int[])
+
+    protected static boolean parseBoolean(String value) throws BooleanParseException {
+        return FieldParsers.parseBoolean(value);
+    }
+
+    protected static char parseChar(String value) throws CharParseException {
+        return FieldParsers.parseChar(value);
+    }
+
+    protected static byte parseByte(String value) throws NumberFormatException {
+        return Byte.parseByte(value);
+    }
+
+    protected static short parseShort(String value) throws NumberFormatException {
+        return Short.parseShort(value);
+    }
+
+    protected static int parseInt(String value) throws NumberFormatException {
+        return FieldParsers.parseInt(value);
+    }
+
+    protected static long parseLong(String value) throws NumberFormatException {
+        return FieldParsers.parseLong(value);
+    }
+
+    protected static float parseFloat(String value) throws NumberFormatException {
+        return FieldParsers.parseFloat(value);
+    }
+
+    protected static double parseDouble(String value) throws NumberFormatException {
+        return FieldParsers.parseDouble(value);
+    }
+}
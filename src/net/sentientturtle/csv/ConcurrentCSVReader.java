@@ -0,0 +1,80 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.util.Util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-safe facade over a {@link CSVReader} or {@link CSVMapper}, handing out rows in batches
+ * <br>
+ * Created through {@link CSVReader#concurrent(int)} or {@link CSVMapper#concurrent(int)}. Consumers take a lock once per batch rather than once per row; Rows are read and mapped while holding the lock.
+ * The facade takes over iteration of the wrapped reader, which must no longer be used directly.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * ConcurrentCSVReader&lt;String[]&gt; shared = csv.concurrent(256);
+ * // On each consumer thread:
+ * for (List&lt;String[]&gt; batch = shared.nextBatch(); !batch.isEmpty(); batch = shared.nextBatch()) {
+ *     // Use rows
+ * }
+ * </pre>
+ *
+ * @param <T> Type of row provided by this facade
+ */
+public final class ConcurrentCSVReader<T> implements AutoCloseable {
+    private final CSVReader reader;
+    private final Tokenizer tokenizer;
+    private final int batchSize;
+    private final ThrowingFunction<Tokenizer, T> rowFunction;
+
+    /**
+     * Package-private constructor, this type is initialized through {@link CSVReader#concurrent(int)} or {@link CSVMapper#concurrent(int)}
+     *
+     * @param reader      Reader to read rows from
+     * @param batchSize   Maximum amount of rows per batch
+     * @param rowFunction Function creating a row from the current row of the reader's tokenizer
+     * @throws IllegalArgumentException If the batch size is not positive
+     */
+    ConcurrentCSVReader(CSVReader reader, int batchSize, ThrowingFunction<Tokenizer, T> rowFunction) throws IllegalArgumentException {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        this.reader = reader;
+        this.tokenizer = reader.tokenizer();
+        this.batchSize = batchSize;
+        this.rowFunction = rowFunction;
+    }
+
+    /**
+     * Reads the next batch of rows
+     * <br>
+     * WARNING: For facades over a {@link CSVMapper}, exceptions of any type may be thrown depending on the Field Type Mappers used, as with {@link CSVMapper#iterator()}.
+     * If an exception is thrown, the rows read as part of the failed batch are discarded.
+     *
+     * @return Up to batch-size rows, in document order; Empty if end-of-stream has been reached
+     * @throws IOException       If an error occurs while reading input
+     * @throws CSVParseException If a CSV parsing exception occurs
+     */
+    public synchronized List<T> nextBatch() throws IOException, CSVParseException {
+        List<T> batch = new ArrayList<>(Math.min(batchSize, 1024));
+        while (batch.size() < batchSize && reader.advance()) {
+            try {
+                batch.add(rowFunction.apply(tokenizer));
+            } catch (Exception e) {
+                return Util.sneakyThrow(e);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Closes the wrapped reader; Batches read after closing are empty
+     *
+     * @throws IOException If an error occurs closing the backing reader
+     */
+    @Override
+    @SuppressWarnings("RedundantThrows")    // We do not throw CSVParseException here, see CSVReader#close()
+    public synchronized void close() throws IOException, CSVParseException {
+        reader.close();
+    }
+}
@@ -0,0 +1,107 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+
+/**
+ * Locates delimiters (separators and quotes) in tokenizer buffers, such that tokenizers can skip over unit contents without inspecting every character
+ * <br>
+ * Scanners for character buffers additionally stop at all surrogate characters, as these must be validated by the tokenizer, and may form (supplementary) separators.
+ * Scanners for byte buffers only match ASCII delimiters.
+ * <br>
+ * Instances are created through {@link #create(int...)}, which uses the vectorized scanner if the {@code jdk.incubator.vector} module is available, and the SWAR scanner otherwise.
+ * All implementations give identical results.
+ */
+abstract class DelimiterScanner {
+    /**
+     * Constructor of the vectorized scanner, or null if unavailable
+     */
+    private static final @Nullable MethodHandle VECTOR_SCANNER = findVectorScanner();
+
+    // Delimiters, padded by repetition; Byte delimiters are ASCII only, char delimiters are padded with a surrogate, which is always a stop character.
+    protected final byte byte0;
+    protected final byte byte1;
+    protected final byte byte2;
+    protected final char char0;
+    protected final char char1;
+    protected final char char2;
+
+    /**
+     * @param delimiters Up to 3 delimiter codepoints
+     * @throws IllegalArgumentException If more than 3 delimiters are specified
+     */
+    protected DelimiterScanner(int... delimiters) throws IllegalArgumentException {
+        if (delimiters.length > 3) throw new IllegalArgumentException("at most 3 delimiters are supported");
+        byte[] bytes = new byte[3];
+        char[] chars = new char[3];
+        int byteCount = 0;
+        int charCount = 0;
+        for (int delimiter : delimiters) {
+            if (Utf8Tokenizer.isAscii(delimiter)) bytes[byteCount++] = (byte) delimiter;
+            if (Character.isBmpCodePoint(delimiter)) chars[charCount++] = (char) delimiter;
+        }
+        for (int i = Math.max(byteCount, 1); i < 3; i++) bytes[i] = bytes[0];  // Byte scanners are only used with ASCII delimiters
+        for (int i = charCount; i < 3; i++) chars[i] = Character.MIN_SURROGATE;
+        this.byte0 = bytes[0];
+        this.byte1 = bytes[1];
+        this.byte2 = bytes[2];
+        this.char0 = chars[0];
+        this.char1 = chars[1];
+        this.char2 = chars[2];
+    }
+
+    /**
+     * Creates a scanner using the fastest available implementation
+     *
+     * @param delimiters Up to 3 delimiter codepoints
+     * @return New scanner
+     * @throws IllegalArgumentException If more than 3 delimiters are specified
+     */
+    static DelimiterScanner create(int... delimiters) throws IllegalArgumentException {
+        if (VECTOR_SCANNER != null) {
+            try {
+                return (DelimiterScanner) VECTOR_SCANNER.invoke(delimiters);
+            } catch (IllegalArgumentException e) {
+                throw e;
+            } catch (Throwable ignored) {
+                // Fall back to SWAR scanner
+            }
+        }
+        return new SwarDelimiterScanner(delimiters);
+    }
+
+    /**
+     * The vectorized scanner is located reflectively, as it may only be loaded if the incubator module is present
+     *
+     * @return Constructor of the vectorized scanner, or null if the scanner or incubator module is unavailable
+     */
+    private static @Nullable MethodHandle findVectorScanner() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            Class<?> scannerClass = Class.forName("net.sentientturtle.csv.VectorDelimiterScanner");
+            return MethodHandles.lookup().findConstructor(scannerClass, MethodType.methodType(void.class, int[].class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param buffer Buffer to scan, using absolute indices
+     * @param from   Index to start scanning at, inclusive
+     * @param to     Index to stop scanning at, exclusive
+     * @return Index of the first delimiter byte, or {@code to} if there is none
+     */
+    abstract int indexOf(ByteBuffer buffer, int from, int to);
+
+    /**
+     * @param buffer Buffer to scan
+     * @param from   Index to start scanning at, inclusive
+     * @param to     Index to stop scanning at, exclusive
+     * @return Index of the first delimiter or surrogate character, or {@code to} if there is none
+     */
+    abstract int indexOf(char[] buffer, int from, int to);
+}
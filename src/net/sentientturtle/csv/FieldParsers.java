@@ -0,0 +1,349 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.exception.BooleanParseException;
+import net.sentientturtle.csv.exception.CharParseException;
+
+import java.math.BigInteger;
+
+/**
+ * Parsers for field values, parsing directly from character sequences
+ * <br>
+ * Parsers accept exactly the same inputs as, and throw the same exceptions as, the respective {@link CSVMapper.Builder#DEFAULT_TYPE_MAPPERS default type mappers}; Only failing inputs are copied to a String, to create identical exception messages.
+ */
+final class FieldParsers {
+    /**
+     * Powers of ten that are exactly representable as double
+     */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * Powers of ten that are exactly representable as float
+     */
+    private static final float[] EXACT_FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    /**
+     * Range of decimal exponents covered by {@link FieldParsers#POWERS_OF_FIVE}; Beyond this range, every value with at most 19 significant digits is zero or infinite
+     */
+    private static final int SMALLEST_POWER_OF_TEN = -342, LARGEST_POWER_OF_TEN = 308;
+    /**
+     * 128-bit approximations of 5^q for q in [{@link FieldParsers#SMALLEST_POWER_OF_TEN}, {@link FieldParsers#LARGEST_POWER_OF_TEN}], normalized such that the highest bit is set;
+     * Stored as pairs of high and low 64 bits. Positive powers are truncated, negative powers are reciprocals rounded up, as required by the Eisel-Lemire algorithm
+     */
+    private static final long[] POWERS_OF_FIVE = new long[(LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1) * 2];
+    /**
+     * Returned by {@link FieldParsers#parseDecimal(CharSequence, boolean)} for values that must be parsed by the default type mapper
+     */
+    private static final long FALLBACK = -1L;
+
+    static {
+        BigInteger bits128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger powerOfFive = BigInteger.valueOf(5).pow(-q);
+                int bits = powerOfFive.subtract(BigInteger.ONE).bitLength();  // Smallest z such that 2^z >= 5^-q
+                power = BigInteger.ONE.shiftLeft(q >= -27 ? bits + 127 : 2 * bits + 128).divide(powerOfFive).add(BigInteger.ONE);
+                if (power.compareTo(bits128) >= 0) power = power.shiftRight(power.bitLength() - 128);
+            } else {
+                power = BigInteger.valueOf(5).pow(q);
+                power = power.bitLength() > 128 ? power.shiftRight(power.bitLength() - 128) : power.shiftLeft(128 - power.bitLength());
+            }
+            int index = (q - SMALLEST_POWER_OF_TEN) * 2;
+            POWERS_OF_FIVE[index] = power.shiftRight(64).longValue();
+            POWERS_OF_FIVE[index + 1] = power.longValue();
+        }
+    }
+
+    private FieldParsers() {}
+
+    /**
+     * Parse an int, equivalent to {@link Integer#parseInt(String)}
+     * <br>
+     * ASCII digits are parsed directly, with overflow detection. Other values, such as non-ASCII digits, are parsed by {@link Integer#parseInt(String)}.
+     *
+     * @param value Value to parse
+     * @return Parsed value
+     * @throws NumberFormatException If the value is not a valid int
+     */
+    static int parseInt(CharSequence value) throws NumberFormatException {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+        if (index == length) return Integer.parseInt(value.toString());    // Throws exception identical to that of the default type mapper
+
+        // Accumulated negatively, as the negative range is larger
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        for (; index < length; index++) {
+            int digit = value.charAt(index) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit || (result *= 10) < limit + digit) {
+                return Integer.parseInt(value.toString());  // Parses non-ASCII digits, or throws exception identical to that of the default type mapper
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a long, equivalent to {@link Long#parseLong(String)}
+     * <br>
+     * ASCII digits are parsed directly, with overflow detection. Other values, such as non-ASCII digits, are parsed by {@link Long#parseLong(String)}.
+     *
+     * @param value Value to parse
+     * @return Parsed value
+     * @throws NumberFormatException If the value is not a valid long
+     */
+    static long parseLong(CharSequence value) throws NumberFormatException {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+        if (index == length) return Long.parseLong(value.toString());  // Throws exception identical to that of the default type mapper
+
+        // Accumulated negatively, as the negative range is larger
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; index < length; index++) {
+            int digit = value.charAt(index) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit || (result *= 10) < limit + digit) {
+                return Long.parseLong(value.toString());    // Parses non-ASCII digits, or throws exception identical to that of the default type mapper
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a double, equivalent to {@link Double#parseDouble(String)}
+     * <br>
+     * Plain decimals ({@code [+-]digits.digits[eE[+-]digits]}) with at most 19 significant digits are parsed directly, see {@link FieldParsers#parseDecimal(CharSequence, boolean)}.
+     * Other values, such as whitespace, type suffixes, hexadecimal, and special values, are parsed by {@link Double#parseDouble(String)}.
+     *
+     * @param value Value to parse
+     * @return Parsed value
+     * @throws NumberFormatException If the value is not a valid double
+     */
+    static double parseDouble(CharSequence value) throws NumberFormatException {
+        long bits = parseDecimal(value, false);
+        return bits == FALLBACK ? Double.parseDouble(value.toString()) : Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Parse a float, equivalent to {@link Float#parseFloat(String)}
+     * <br>
+     * Plain decimals ({@code [+-]digits.digits[eE[+-]digits]}) with at most 19 significant digits are parsed directly, see {@link FieldParsers#parseDecimal(CharSequence, boolean)}.
+     * Other values, such as whitespace, type suffixes, hexadecimal, and special values, are parsed by {@link Float#parseFloat(String)}.
+     *
+     * @param value Value to parse
+     * @return Parsed value
+     * @throws NumberFormatException If the value is not a valid float
+     */
+    static float parseFloat(CharSequence value) throws NumberFormatException {
+        long bits = parseDecimal(value, true);
+        return bits == FALLBACK ? Float.parseFloat(value.toString()) : Float.intBitsToFloat((int) bits);
+    }
+
+    /**
+     * Parses a plain decimal to the correctly rounded double or float
+     * <br>
+     * The value's digits {@code w} and decimal exponent {@code q} are parsed, such that the value is {@code w * 10^q}.
+     * If both {@code w} and {@code 10^q} are exact, a single (correctly rounded) multiplication or division gives the correctly rounded result.
+     * Otherwise, the Eisel-Lemire algorithm computes the result from a 128-bit approximation of {@code 10^q}; In the rare case where the approximation cannot determine the rounding, the value is left to the fallback.
+     *
+     * @param value   Value to parse
+     * @param isFloat True to parse a float, false to parse a double
+     * @return Bits of the parsed value, or {@link FieldParsers#FALLBACK} if the value must be parsed by the default type mapper
+     */
+    private static long parseDecimal(CharSequence value, boolean isFloat) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+
+        long digits = 0;            // Unsigned, as 19 digits may exceed Long.MAX_VALUE
+        int digitCount = 0;         // Significant digits, excluding leading zeroes
+        int fractionDigits = -1;    // Digits after the decimal point, -1 if there is no decimal point
+        boolean anyDigit = false;
+        for (; index < length; index++) {
+            char character = value.charAt(index);
+            if (character >= '0' && character <= '9') {
+                anyDigit = true;
+                if (digits != 0 || character != '0') digitCount++;
+                if (digitCount > 19) return FALLBACK;
+                digits = digits * 10 + (character - '0');
+                if (fractionDigits != -1) fractionDigits++;
+            } else if (character == '.' && fractionDigits == -1) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigit) return FALLBACK;
+
+        int exponent = 0;
+        if (index < length && (value.charAt(index) == 'e' || value.charAt(index) == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+                negativeExponent = value.charAt(index) == '-';
+                index++;
+            }
+            int exponentStart = index;
+            for (; index < length; index++) {
+                char character = value.charAt(index);
+                if (character < '0' || character > '9') return FALLBACK;
+                if (exponent < 100_000) exponent = exponent * 10 + (character - '0');   // Larger exponents are out of range either way
+            }
+            if (index == exponentStart) return FALLBACK;
+            if (negativeExponent) exponent = -exponent;
+        }
+        if (index != length) return FALLBACK;
+
+        long sign = negative ? 1 : 0;
+        if (digits == 0) return isFloat ? sign << 31 : sign << 63;
+        int q = exponent - Math.max(fractionDigits, 0);
+
+        if (isFloat) {
+            if (Long.compareUnsigned(digits, 1 << 24) <= 0 && q >= -10 && q <= 10) {
+                float result = q < 0 ? digits / EXACT_FLOAT_POWERS_OF_TEN[-q] : digits * EXACT_FLOAT_POWERS_OF_TEN[q];
+                return Float.floatToRawIntBits(negative ? -result : result) & 0xFFFFFFFFL;
+            }
+            long bits = eiselLemire(digits, q, 23, -127, 0xFF, -17, 10);
+            return bits == FALLBACK ? FALLBACK : bits | sign << 31;
+        } else {
+            if (Long.compareUnsigned(digits, 1L << 53) <= 0 && q >= -22 && q <= 22) {
+                double result = q < 0 ? digits / EXACT_POWERS_OF_TEN[-q] : digits * EXACT_POWERS_OF_TEN[q];
+                return Double.doubleToRawLongBits(negative ? -result : result);
+            }
+            long bits = eiselLemire(digits, q, 52, -1023, 0x7FF, -4, 23);
+            return bits == FALLBACK ? FALLBACK : bits | sign << 63;
+        }
+    }
+
+    /**
+     * Computes the correctly rounded binary floating point value nearest to {@code w * 10^q}, as described in "Number Parsing at a Gigabyte per Second" (Lemire, 2021)
+     *
+     * @param w                Decimal significand, non-zero and interpreted as unsigned
+     * @param q                Decimal exponent
+     * @param mantissaBits     Explicit mantissa bits of the floating point format
+     * @param minimumExponent  Minimum (biased) binary exponent of the floating point format, minus one
+     * @param infinitePower    Binary exponent of infinity in the floating point format
+     * @param roundToEvenStart Smallest decimal exponent at which the value may be exactly halfway between floating point values
+     * @param roundToEvenEnd   Largest decimal exponent at which the value may be exactly halfway between floating point values
+     * @return Bits of the positive floating point value, or {@link FieldParsers#FALLBACK} if the result cannot be determined
+     */
+    private static long eiselLemire(long w, int q, int mantissaBits, int minimumExponent, int infinitePower, int roundToEvenStart, int roundToEvenEnd) {
+        if (q < SMALLEST_POWER_OF_TEN || q > LARGEST_POWER_OF_TEN) return FALLBACK;
+        int leadingZeroes = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeroes;
+
+        // High 128 bits of w * 5^q, computing the low half of 5^q only if the rounding is not yet determined
+        int index = (q - SMALLEST_POWER_OF_TEN) * 2;
+        long productHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long productLow = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (mantissaBits + 3);
+        if ((productHigh & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            productLow += secondHigh;
+            if (Long.compareUnsigned(secondHigh, productLow) > 0) productHigh++;
+        }
+        if (productLow == -1L && (q < -27 || q > 55)) return FALLBACK;
+
+        int upperBit = (int) (productHigh >>> 63);
+        int shift = upperBit + 64 - mantissaBits - 3;
+        long mantissa = productHigh >>> shift;
+        int power2 = ((217706 * q) >> 16) + 63 + upperBit - leadingZeroes - minimumExponent;   // floor(q * log2(10)) + 63, and normalization
+
+        if (power2 <= 0) {  // Subnormal
+            if (-power2 + 1 >= 64) return 0;
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < 1L << mantissaBits ? 0 : 1;
+            return mantissa | (long) power2 << mantissaBits;
+        }
+
+        // Exactly halfway between two values, which must round to even rather than up
+        if (Long.compareUnsigned(productLow, 1) <= 0 && q >= roundToEvenStart && q <= roundToEvenEnd && (mantissa & 3) == 1 && mantissa << shift == productHigh) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= 2L << mantissaBits) {
+            mantissa = 1L << mantissaBits;
+            power2++;
+        }
+        mantissa &= ~(1L << mantissaBits);
+        if (power2 >= infinitePower) return (long) infinitePower << mantissaBits;
+        return mantissa | (long) power2 << mantissaBits;
+    }
+
+    /**
+     * @return High 64 bits of the unsigned 128-bit product of the specified values
+     */
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    /**
+     * Parse a boolean, accepting only {@code true} and {@code false} in any capitalization
+     *
+     * @param value Value to parse
+     * @return Parsed value
+     * @throws BooleanParseException If the value is neither {@code true} nor {@code false}
+     */
+    static boolean parseBoolean(CharSequence value) throws BooleanParseException {
+        if (equalsIgnoreCase(value, "true")) {
+            return true;
+        } else if (equalsIgnoreCase(value, "false")) {
+            return false;
+        } else {
+            throw new BooleanParseException("cannot read string `" + value + "` as boolean; Only 'true' and 'false' (in any capitalization) are accepted, if you need Boolean#parseBoolean behaviour, please override the field type mapper");
+        }
+    }
+
+    /**
+     * Parse a char, accepting only strings with a single unicode codepoint <= {@link Character#MAX_VALUE}
+     *
+     * @param value Value to parse
+     * @return Parsed value
+     * @throws CharParseException If the value is not a single codepoint, or is a codepoint that does not fit a single char
+     */
+    static char parseChar(String value) throws CharParseException {
+        if (value.codePointCount(0, Math.min(value.length(), 2)) > 1)
+            throw new CharParseException("cannot read string `" + value + "` with length " + value.codePointCount(0, value.length()) + "(codepoints) as single char"); // Including the string in the error is not ideal in a post-log4shell world, but parse[Type] functions do it as well, included for parity. TODO: Consider replacing all parseType functions
+        int codepoint = value.codePointAt(0);
+        if (codepoint > (int) Character.MAX_VALUE) throw new CharParseException(String.format("codepoint U+%X cannot fit into a single char; Please use a wrapper type if you are trying to read single codepoints", codepoint));
+        return (char) codepoint;
+    }
+
+    /**
+     * @return True if the value equals the expected string, ignoring case as {@link String#equalsIgnoreCase(String)}
+     */
+    private static boolean equalsIgnoreCase(CharSequence value, String expected) {
+        if (value.length() != expected.length()) return false;
+        for (int i = 0; i < expected.length(); i++) {
+            char character = value.charAt(i);
+            char expectedCharacter = expected.charAt(i);
+            if (character != expectedCharacter
+                        && Character.toUpperCase(character) != Character.toUpperCase(expectedCharacter)
+                        && Character.toLowerCase(Character.toUpperCase(character)) != Character.toLowerCase(Character.toUpperCase(expectedCharacter))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
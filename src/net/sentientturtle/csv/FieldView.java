@@ -0,0 +1,101 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * Reusable {@link CharSequence} view of a range of characters, used to expose units without materializing them as Strings
+ * <br>
+ * Views point either directly into a tokenizer's buffer, or into their own scratch space if a unit must be unescaped or decoded.
+ * Contents are only valid until the tokenizer reads its next row.
+ */
+final class FieldView implements CharSequence {
+    private static final char[] EMPTY = new char[0];
+    private char[] array;
+    private int offset;
+    private int length;
+    private char[] scratch;
+    private CharBuffer scratchBuffer;
+    /**
+     * Row this view was last updated for, maintained by {@link RowCursor}
+     */
+    long row;
+
+    FieldView() {
+        this.array = EMPTY;
+        this.scratch = EMPTY;
+        this.scratchBuffer = CharBuffer.wrap(scratch);
+        this.row = -1;
+    }
+
+    /**
+     * Points this view at a range of characters
+     *
+     * @param array  Array containing the characters
+     * @param offset Index of the first character
+     * @param length Amount of characters
+     */
+    void set(char[] array, int offset, int length) {
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Copies this view's contents
+     *
+     * @param destination Array to copy to
+     * @param offset      Index in the destination to copy to
+     */
+    void copyTo(char[] destination, int offset) {
+        System.arraycopy(array, this.offset, destination, offset, length);
+    }
+
+    /**
+     * @param minimumLength Required size of the scratch space
+     * @return Scratch space owned by this view, of at least the specified size
+     */
+    char[] scratch(int minimumLength) {
+        if (scratch.length < minimumLength) {
+            scratch = new char[Math.max(minimumLength, scratch.length * 2)];
+            scratchBuffer = CharBuffer.wrap(scratch);
+        }
+        return scratch;
+    }
+
+    /**
+     * @return Buffer wrapping the current scratch space
+     */
+    CharBuffer scratchBuffer() {
+        return scratchBuffer;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return array[offset + Objects.checkIndex(index, length)];
+    }
+
+    /**
+     * @return Copy of the specified range, as String
+     */
+    @Override
+    public @NotNull CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new String(array, offset + start, end - start);
+    }
+
+    /**
+     * @return Copy of this view's contents
+     */
+    @Override
+    public @NotNull String toString() {
+        return new String(array, offset, length);
+    }
+}
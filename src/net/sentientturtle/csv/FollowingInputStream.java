@@ -0,0 +1,87 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+
+/**
+ * Input stream over a file that is being appended to, which waits for more data at end-of-file instead of ending
+ * <br>
+ * The file size is polled at a fixed interval while no data is available. The stream only ends when it is closed; A read that is waiting when the stream is closed by another thread throws {@link AsynchronousCloseException}.
+ */
+final class FollowingInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long pollIntervalNanos;
+    private long position;
+
+    /**
+     * @param channel      Channel of the followed file
+     * @param position     File offset to start reading at
+     * @param pollInterval Time to wait before checking for new data, when no data is available
+     */
+    FollowingInputStream(FileChannel channel, long position, Duration pollInterval) {
+        this.channel = channel;
+        this.position = position;
+        this.pollIntervalNanos = pollInterval.toNanos();
+    }
+
+    /**
+     * @return File offset of the next byte to be read
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Reads available bytes, waiting until at least one byte is available
+     *
+     * @throws AsynchronousCloseException If this stream is closed while waiting
+     * @throws InterruptedIOException     If the thread is interrupted while waiting
+     * @throws IOException                If the file is truncated to before the read position, or an error occurs while reading the file
+     */
+    @Override
+    public int read(byte @NotNull [] destination, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        try {
+            while (true) {
+                int read = channel.read(ByteBuffer.wrap(destination, offset, length), position);
+                if (read > 0) {
+                    position += read;
+                    return read;
+                }
+                if (channel.size() < position) throw new IOException("followed file was truncated from " + position + " to " + channel.size() + " bytes");
+                try {
+                    Thread.sleep(pollIntervalNanos / 1_000_000, (int) (pollIntervalNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for data");
+                }
+                if (!channel.isOpen()) throw new AsynchronousCloseException();
+            }
+        } catch (AsynchronousCloseException e) {
+            throw e;
+        } catch (ClosedChannelException e) {
+            // Closed between checking the channel and accessing it
+            throw new AsynchronousCloseException();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        read(single, 0, 1);
+        return single[0] & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,176 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a byte range of a memory-mapped file, splitting at record boundaries such that each split is tokenized independently
+ * <br>
+ * Record boundaries are located through speculative quote-parity resolution: Scanning forward from the middle of the range, the quote state (inside or outside a quoted unit) at the start of the scan is unknown, but is determined by the first quote that can only occur in one state:
+ * <ul>
+ * <li> A quote preceded by an 'other' character (not a quote, separator, or trimmed whitespace) can only occur inside a quoted unit, as quotes outside of quoted units are rejected </li>
+ * <li> A quote followed by an 'other' character can only be an opening quote (or an escaped quote), as closing quotes must be followed by a separator </li>
+ * </ul>
+ * Every quote toggles the quote state, such that the state at each record separator follows from the amount of quotes seen. If no such quote is found, the range end (always a record boundary) must be outside of quotes, which determines the state exactly.
+ * <br>
+ * As this relies on inner quotes being rejected, only documents parsed with {@link CSVReader.QuoteParsingMode#REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS} or {@link CSVReader.QuoteParsingMode#TREAT_QUOTES_AS_NORMAL_CHARACTERS} are split.
+ * Splits are exact for well-formed documents; Malformed documents still result in an exception, but it may differ from that of sequential parsing.
+ * <br>
+ * NOTE: Row counts, such as those included in exception messages, are relative to the start of each split
+ *
+ * @param <T> Type of element created from each row
+ */
+class MappedFileSpliterator<T> implements Spliterator<T> {
+    static final long DEFAULT_MINIMUM_SPLIT_SIZE = 1024 * 1024;
+    // Configuration
+    private final MappedFileTokenizer template;
+    private final long minimumSplitSize;
+    private final ThrowingFunction<Tokenizer, T> rowFunction;
+    // State
+    private long start;
+    private final long end;
+    private @Nullable MappedFileTokenizer tokenizer;    // Created on first advance, after which this spliterator is no longer split
+
+    /**
+     * @param template         Tokenizer providing the file and parsing configuration
+     * @param start            File offset of the first row
+     * @param end              File offset after the last row
+     * @param minimumSplitSize Minimum size in bytes of a split
+     * @param rowFunction      Function creating an element from the current row of a tokenizer
+     */
+    MappedFileSpliterator(MappedFileTokenizer template, long start, long end, long minimumSplitSize, ThrowingFunction<Tokenizer, T> rowFunction) {
+        this.template = template;
+        this.start = start;
+        this.end = end;
+        this.minimumSplitSize = minimumSplitSize;
+        this.rowFunction = rowFunction;
+    }
+
+    /**
+     * @param tokenizer Tokenizer to split the input of
+     * @return True if the tokenizer's configuration permits splitting at record boundaries
+     */
+    static boolean isSplittable(Tokenizer tokenizer) {
+        return tokenizer.quoteMode != CSVReader.QuoteParsingMode.PERMIT_INNER_QUOTES_IN_UNQUOTED_FIELDS
+                       && tokenizer.unitSeparator != '"'
+                       && tokenizer.recordSeparator != '"';
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+            if (tokenizer == null) tokenizer = template.range(start, end);
+            if (!tokenizer.readRow()) return false;
+            action.accept(rowFunction.apply(tokenizer));
+            return true;
+        } catch (Exception e) {
+            return Util.sneakyThrow(e);
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        //noinspection StatementWithEmptyBody
+        while (tryAdvance(action)) {
+        }
+    }
+
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+        if (tokenizer != null || end - start < minimumSplitSize * 2) return null;
+        try {
+            long boundary = findRecordBoundary(start + (end - start) / 2);
+            if (boundary == -1 || boundary - start < minimumSplitSize || end - boundary < minimumSplitSize) return null;
+            Spliterator<T> prefix = new MappedFileSpliterator<>(template, start, boundary, minimumSplitSize, rowFunction);
+            start = boundary;
+            return prefix;
+        } catch (IOException e) {
+            return Util.sneakyThrow(e);
+        }
+    }
+
+    /**
+     * @return Remaining bytes in this spliterator, as rows are at least a byte in size
+     */
+    @Override
+    public long estimateSize() {
+        return tokenizer == null ? end - start : end - tokenizer.offset();
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+
+    /**
+     * Finds the first record boundary after the specified offset
+     *
+     * @param from File offset to start searching from; Must be after {@link #start}
+     * @return File offset of the first row starting after the specified offset, or -1 if there is none before {@link #end}
+     * @throws IOException If an IO error occurs while reading the file
+     */
+    long findRecordBoundary(long from) throws IOException {
+        boolean quotesAreSpecial = template.quoteMode != CSVReader.QuoteParsingMode.TREAT_QUOTES_AS_NORMAL_CHARACTERS;
+        byte recordSeparator = (byte) template.recordSeparator;
+        DelimiterScanner scanner = quotesAreSpecial ? DelimiterScanner.create(template.recordSeparator, '"') : DelimiterScanner.create(template.recordSeparator);
+
+        int initialState = quotesAreSpecial ? -1 : 0;   // Quote state at `from`; 0 outside quotes, 1 inside quotes, -1 unknown
+        int parity = 0;                                 // Amount of quotes from `from` up to the current position, modulo 2
+        long[] firstSeparator = {-1, -1};               // Offset of the first record separator, by quote parity
+        FileChannel channel = template.channel();
+        for (long offset = from; offset < end; ) {
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(template.windowSize(), end - offset));
+            int length = window.capacity();
+            for (int i = scanner.indexOf(window, 0, length); i < length; i = scanner.indexOf(window, i + 1, length)) {
+                if (window.get(i) == recordSeparator) {
+                    if (firstSeparator[parity] == -1) firstSeparator[parity] = offset + i;
+                } else {
+                    if (initialState == -1) {
+                        if (isOther(byteAt(window, offset, i - 1))) {
+                            initialState = parity ^ 1;  // Inside quotes before this quote
+                        } else if (isOther(byteAt(window, offset, i + 1))) {
+                            initialState = parity;      // Outside quotes before this quote
+                        }
+                    }
+                    parity ^= 1;
+                }
+                if (initialState != -1 && firstSeparator[initialState] != -1) return firstSeparator[initialState] + 1;
+            }
+            offset += length;
+        }
+        // End of range is outside quotes
+        if (initialState == -1) initialState = parity;
+        return firstSeparator[initialState] == -1 ? -1 : firstSeparator[initialState] + 1;
+    }
+
+    /**
+     * @param window Mapped window
+     * @param offset File offset of the window
+     * @param index  Index in the window, may be outside the window
+     * @return Byte at the specified index, or a record separator if the index is at or after the end of this spliterator
+     * @throws IOException If an IO error occurs while reading the file
+     */
+    private byte byteAt(ByteBuffer window, long offset, int index) throws IOException {
+        if (index >= 0 && index < window.capacity()) return window.get(index);
+        if (offset + index >= end) return (byte) template.recordSeparator;
+        ByteBuffer single = ByteBuffer.allocate(1);
+        template.channel().read(single, offset + index);
+        return single.get(0);
+    }
+
+    /**
+     * @param character Byte to check
+     * @return True if the byte is part of a unit's contents, and cannot occur next to an opening or closing quote
+     */
+    private boolean isOther(byte character) {
+        if (character == '"' || character == template.unitSeparator || character == template.recordSeparator) return false;
+        if (!template.trimWhitespace) return true;
+        return character >= 0 && !template.isWhitespace.test((int) character);  // Non-ASCII bytes may be part of whitespace
+    }
+}
@@ -0,0 +1,158 @@
+package net.sentientturtle.csv;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.function.Function;
+
+/**
+ * Tokenizer for UTF-8 encoded files, parsing directly out of memory-mapped windows of the file
+ * <br>
+ * Files larger than a single window (and files larger than 2GB, the maximum size of a single mapping) are mapped in sequence, each window starting at the first row that did not fit in the previous window.
+ * Rows larger than a window cause the window to be grown.
+ * <br>
+ * NOTE: Mappings are released when garbage collected, not when this tokenizer is closed
+ */
+class MappedFileTokenizer extends Utf8Tokenizer {
+    static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+    private static final int MAXIMUM_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+    // Input
+    private final FileChannel channel;
+    private final int windowSize;
+    private final long end;         // File offset after the last byte to be read
+    private long windowOffset;      // File offset of the current window
+
+    /**
+     * @param channel         Channel of CSV document file
+     * @param start           File offset to start parsing at
+     * @param end             File offset to stop parsing at, usually the file size
+     * @param windowSize      Size of mapped windows, in bytes
+     * @param unitSeparator   Separator character for units/values, must be ASCII
+     * @param recordSeparator Separator character for records/lines, must be ASCII
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Function used to determine whitespace, takes codepoint integers
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     * @throws IOException              If the initial window cannot be mapped
+     * @throws IllegalArgumentException If either separator is not an ASCII character
+     */
+    MappedFileTokenizer(
+            FileChannel channel,
+            long start,
+            long end,
+            int windowSize,
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Function<Integer, Boolean> isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) throws IOException, IllegalArgumentException {
+        this(channel, start, end, windowSize, unitSeparator, recordSeparator, trimWhitespace, Whitespace.of(isWhitespace), quoteMode);
+    }
+
+    /**
+     * Creates a tokenizer with an existing whitespace classifier, see {@link #range(long, long)}
+     */
+    private MappedFileTokenizer(
+            FileChannel channel,
+            long start,
+            long end,
+            int windowSize,
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Whitespace isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) throws IOException, IllegalArgumentException {
+        super(unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode);
+        this.channel = channel;
+        this.windowSize = windowSize;
+        this.end = end;
+        this.windowOffset = start;
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(end - start, windowSize));
+        this.limit = buffer.capacity();
+    }
+
+    /**
+     * Creates a tokenizer for a range of the same file, with identical configuration
+     * <br>
+     * Ranges share the file channel of this tokenizer, and must not be closed independently
+     *
+     * @param start File offset to start parsing at; Must be the start of a row
+     * @param end   File offset to stop parsing at; Must be the end of a row
+     * @return New tokenizer
+     * @throws IOException If the initial window cannot be mapped
+     */
+    MappedFileTokenizer range(long start, long end) throws IOException {
+        MappedFileTokenizer range = new MappedFileTokenizer(channel, start, end, windowSize, unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode);
+        if (deduplicatesUnits()) range.deduplicateUnits();
+        return range;
+    }
+
+    /**
+     * @return File channel of CSV document
+     */
+    FileChannel channel() {
+        return channel;
+    }
+
+    /**
+     * @return Size of mapped windows, in bytes
+     */
+    int windowSize() {
+        return windowSize;
+    }
+
+    /**
+     * @return File offset of the next byte to be read
+     */
+    long offset() {
+        return windowOffset + position;
+    }
+
+    /**
+     * @return File offset after the last byte to be read
+     */
+    long end() {
+        return end;
+    }
+
+    /**
+     * Moves to the start of a row, mapping a new window at that row
+     *
+     * @param offset   File offset of the start of a row
+     * @param rowCount Amount of rows before the row
+     * @throws IOException If the window cannot be mapped
+     */
+    void seek(long offset, long rowCount) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(end - offset, windowSize));
+        windowOffset = offset;
+        position = 0;
+        limit = buffer.capacity();
+        rowStart = 0;
+        unitCount = 0;
+        reachedEnd = false;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    protected boolean fill() throws IOException {
+        if (windowOffset + limit == end) return false;
+
+        long offset = windowOffset + rowStart;
+        int retained = limit - rowStart;
+        if (retained == MAXIMUM_WINDOW_SIZE) throw new IOException("row " + rowCount + " exceeds maximum size of " + MAXIMUM_WINDOW_SIZE + " bytes");
+        // Grow window if the retained row takes up a large part of it
+        int size = (int) Math.min(Math.min(Math.max(windowSize, (long) retained * 2), MAXIMUM_WINDOW_SIZE), end - offset);
+
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        windowOffset = offset;
+        position -= rowStart;
+        limit = size;
+        rowStart = 0;
+        return true;
+    }
+
+    @Override
+    void close() throws IOException {
+        channel.close();
+    }
+}
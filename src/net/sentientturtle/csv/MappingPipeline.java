@@ -0,0 +1,282 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pipelined execution of a {@link CSVMapper}; Rows are tokenized by a single producer, mapped to records by multiple workers, and yielded in document order
+ * <br>
+ * The producer reads rows in batches, which are numbered and queued for the workers. Mapped batches are placed in a reorder buffer, from which they are taken in sequence.
+ * At most {@code capacity} batches are in flight, from the start of reading until the batch is taken by the consumer; The producer waits for a free slot before reading a batch.
+ * <br>
+ * An exception from tokenizing or mapping ends its batch; Records before the failing row are yielded, after which the exception is thrown by the iterator.
+ *
+ * @param <R> Type of record
+ */
+final class MappingPipeline<R> implements Iterator<R> {
+    /**
+     * Maps the units of a row to a record
+     */
+    @FunctionalInterface
+    interface RowMapper<R> {
+        R map(String[] units, long row) throws Exception;
+    }
+
+    private static final Batch END = new Batch(-1, 0);  // Signals workers to stop
+
+    private final CSVReader reader;
+    private final boolean @Nullable [] projection;
+    private final RowMapper<R> rowMapper;
+    private final int batchSize;
+    private final int workers;
+    // Shared state, guarded by lock
+    private final ReentrantLock lock;
+    private final Condition slotFree;           // Signalled to the producer
+    private final Condition workAvailable;      // Signalled to workers
+    private final Condition resultAvailable;    // Signalled to the consumer
+    private final ArrayDeque<Batch> work;
+    private final Batch[] results;              // Reorder buffer, indexed by sequence modulo capacity
+    private int inFlight;
+    private long producedBatches = -1;          // Total amount of batches, once known
+    private boolean cancelled;
+    // Consumer state
+    private long nextSequence;
+    private @Nullable Batch current;
+    private int currentIndex;
+
+    /**
+     * @param reader     Reader to tokenize rows from; Must not be used by other threads while the pipeline runs
+     * @param projection Projected columns of the reader
+     * @param rowMapper  Maps units of a row to a record; Called concurrently
+     * @param workers    Amount of mapping workers
+     * @param batchSize  Maximum amount of rows per batch
+     * @param capacity   Maximum amount of batches in flight
+     */
+    MappingPipeline(CSVReader reader, boolean @Nullable [] projection, RowMapper<R> rowMapper, int workers, int batchSize, int capacity) {
+        this.reader = reader;
+        this.projection = projection;
+        this.rowMapper = rowMapper;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.lock = new ReentrantLock();
+        this.slotFree = lock.newCondition();
+        this.workAvailable = lock.newCondition();
+        this.resultAvailable = lock.newCondition();
+        this.work = new ArrayDeque<>();
+        this.results = new Batch[capacity];
+    }
+
+    /**
+     * Starts the producer and workers
+     *
+     * @param executor Executor to run on, which must be able to run all stages concurrently; If null, stages run on virtual threads where available, and on daemon platform threads otherwise
+     */
+    void start(@Nullable Executor executor) {
+        ExecutorService owned = null;
+        if (executor == null) executor = owned = newThreadPerTaskExecutor(workers + 1);
+        executor.execute(this::produce);
+        for (int i = 0; i < workers; i++) executor.execute(this::work);
+        if (owned != null) owned.shutdown();    // Submitted stages still run to completion
+    }
+
+    /**
+     * @param threads Amount of threads used if virtual threads are not available
+     * @return Executor running each task on a new virtual thread, or a pool of daemon platform threads if virtual threads are not available (Java 20 and lower)
+     */
+    private static ExecutorService newThreadPerTaskExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "csv-pipeline");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Stops the pipeline; Stages stop after their current batch
+     */
+    void cancel() {
+        lock.lock();
+        try {
+            cancelled = true;
+            slotFree.signalAll();
+            workAvailable.signalAll();
+            resultAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Producer stage, reading batches of rows
+     */
+    private void produce() {
+        Tokenizer tokenizer = reader.tokenizer();
+        long sequence = 0;
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    while (inFlight == results.length && !cancelled) slotFree.awaitUninterruptibly();
+                    if (cancelled) return;
+                    inFlight++;
+                } finally {
+                    lock.unlock();
+                }
+
+                Batch batch = new Batch(sequence, batchSize);
+                boolean end = false;
+                try {
+                    while (batch.size < batchSize && !(end = !reader.advance())) {
+                        batch.rows[batch.size] = tokenizer.units(projection);
+                        batch.rowNumbers[batch.size] = tokenizer.rowCount();
+                        batch.size++;
+                    }
+                } catch (Throwable e) {
+                    batch.failure = e;
+                    end = true;
+                }
+
+                lock.lock();
+                try {
+                    if (batch.size > 0 || batch.failure != null) {
+                        work.add(batch);
+                        workAvailable.signal();
+                        sequence++;
+                    } else {
+                        inFlight--;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (end) return;
+            }
+        } finally {
+            lock.lock();
+            try {
+                producedBatches = sequence;
+                for (int i = 0; i < workers; i++) work.add(END);
+                workAvailable.signalAll();
+                resultAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Worker stage, mapping batches of rows to records
+     */
+    private void work() {
+        while (true) {
+            Batch batch;
+            lock.lock();
+            try {
+                while (work.isEmpty() && !cancelled) workAvailable.awaitUninterruptibly();
+                if (cancelled) return;
+                batch = work.poll();
+            } finally {
+                lock.unlock();
+            }
+            if (batch == END) return;
+
+            for (int i = 0; i < batch.size; i++) {
+                try {
+                    batch.records[i] = rowMapper.map(batch.rows[i], batch.rowNumbers[i]);
+                    batch.rows[i] = null;
+                } catch (Throwable e) {
+                    batch.failure = e;  // Precedes any failure of the producer, which occurred after the last row
+                    batch.size = i;
+                }
+            }
+
+            lock.lock();
+            try {
+                results[(int) (batch.sequence % results.length)] = batch;
+                resultAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Takes the next batch from the reorder buffer, waiting until it has been mapped
+     *
+     * @return Next batch, or null if all batches have been taken
+     */
+    private @Nullable Batch take() {
+        lock.lock();
+        try {
+            int slot = (int) (nextSequence % results.length);
+            while (!cancelled && (results[slot] == null || results[slot].sequence != nextSequence) && nextSequence != producedBatches) {
+                resultAvailable.awaitUninterruptibly();
+            }
+            if (cancelled || nextSequence == producedBatches) return null;
+            Batch batch = results[slot];
+            results[slot] = null;
+            nextSequence++;
+            inFlight--;
+            slotFree.signal();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current == null || (currentIndex == current.size && current.failure == null)) {
+            current = take();
+            currentIndex = 0;
+            if (current == null) return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R next() {
+        if (!hasNext()) throw new NoSuchElementException("end of pipeline reached");
+        assert current != null;
+        if (currentIndex == current.size) {
+            Throwable failure = current.failure;
+            cancel();
+            return Util.sneakyThrow(failure);
+        }
+        R record = (R) current.records[currentIndex];
+        current.records[currentIndex++] = null;
+        return record;
+    }
+
+    /**
+     * Batch of rows, and the records mapped from them
+     */
+    private static final class Batch {
+        final long sequence;
+        final String[][] rows;
+        final long[] rowNumbers;
+        final Object[] records;
+        int size;
+        @Nullable Throwable failure;    // Thrown after the records of this batch
+
+        Batch(long sequence, int capacity) {
+            this.sequence = sequence;
+            this.rows = new String[capacity][];
+            this.rowNumbers = new long[capacity];
+            this.records = new Object[capacity];
+        }
+    }
+}
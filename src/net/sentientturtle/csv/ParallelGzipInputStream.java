@@ -0,0 +1,352 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Input stream decompressing gzip input ahead of the reading thread
+ * <br>
+ * A reader thread splits the compressed input into gzip members. Members in the BGZF layout, which records the compressed size of each member in its header, are inflated in parallel on a pool of worker threads.
+ * Other members, such as the single member of a plain gzip file, can only be delimited by inflating them; These are inflated on the reader thread, which still runs concurrently with the thread parsing the decompressed data.
+ * <br>
+ * Decompressed data is delivered in input order. Read-ahead is bounded to a fixed amount of pending chunks, each of at most 64KB of decompressed data.
+ * <br>
+ * As with {@link java.util.zip.GZIPInputStream}, the input may contain multiple concatenated members, and data after the last member that is not a gzip header is ignored.
+ */
+final class ParallelGzipInputStream extends InputStream {
+    private static final int CHUNK_SIZE = 65536;
+    private static final int FTEXT = 1, FHCRC = 2, FEXTRA = 4, FNAME = 8, FCOMMENT = 16;
+    private static final byte[] EMPTY = new byte[0];
+    private static final Future<byte[]> END = CompletableFuture.completedFuture(EMPTY);
+    private final InputStream source;
+    private final ExecutorService workers;
+    private final BlockingQueue<Future<byte[]>> chunks;
+    private final Thread readerThread;
+    // Compressed input buffer of the reader thread
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int position;
+    private int limit;
+    // Amount of input bytes compacted out of the buffer; `discarded + position` is the offset of the next byte in the input
+    private long discarded;
+    // Decompressed chunk being read
+    private byte[] chunk = EMPTY;
+    private int chunkPosition;
+    private boolean ended;
+    private volatile boolean closed;
+
+    /**
+     * Starts decompressing the specified input
+     *
+     * @param source  Compressed input
+     * @param threads Amount of worker threads inflating BGZF members
+     */
+    ParallelGzipInputStream(InputStream source, int threads) {
+        this.source = source;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "csv-gzip-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.chunks = new ArrayBlockingQueue<>(threads * 4);
+        this.readerThread = new Thread(this::readMembers, "csv-gzip-reader");
+        this.readerThread.setDaemon(true);
+        this.readerThread.start();
+    }
+
+    /**
+     * Reader thread, splitting the input into members and queueing their decompressed chunks in input order
+     */
+    private void readMembers() {
+        try {
+            boolean first = true;
+            while (true) {
+                if (!fill(1)) {
+                    if (first) throw new EOFException("empty gzip input");
+                    break;
+                }
+                if (!first && (!fill(2) || !isMagic())) break;  // Trailing data
+                long headerStart = discarded + position;
+                int blockSize = readHeader();
+                if (blockSize >= 0) {
+                    // The buffer may be compacted while reading the header, so its length is measured as input offsets
+                    long remaining = blockSize - (discarded + position - headerStart);
+                    if (remaining < 8) throw new ZipException("invalid BGZF block size");
+                    byte[] block = new byte[(int) remaining];
+                    readFully(block);
+                    chunks.put(workers.submit(() -> inflateBlock(block)));
+                } else {
+                    inflateMember();
+                }
+                first = false;
+            }
+            chunks.put(END);
+        } catch (InterruptedException | RejectedExecutionException e) {
+            // Closed
+        } catch (Throwable e) {
+            try {
+                chunks.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException ignored) {
+                // Closed
+            }
+        } finally {
+            // No further blocks are submitted; Queued blocks are still inflated, after which the worker threads end
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * @return True if the buffer starts with the gzip magic number; Requires at least 2 buffered bytes
+     */
+    private boolean isMagic() {
+        return buffer[position] == (byte) 0x1f && buffer[position + 1] == (byte) 0x8b;
+    }
+
+    /**
+     * Reads a member header
+     *
+     * @return Total size of the member if it is a BGZF block, -1 otherwise
+     * @throws IOException If the header is invalid, or an error occurs while reading input
+     */
+    private int readHeader() throws IOException {
+        if (readUnsignedShort() != 0x8b1f) throw new ZipException("not in gzip format");
+        if (readUnsignedByte() != 8) throw new ZipException("unsupported gzip compression method");
+        int flags = readUnsignedByte();
+        if ((flags & ~(FTEXT | FHCRC | FEXTRA | FNAME | FCOMMENT)) != 0) throw new ZipException("unsupported gzip flags");
+        skip(6);    // MTIME, XFL, OS
+        int blockSize = -1;
+        if ((flags & FEXTRA) != 0) {
+            int extraLength = readUnsignedShort();
+            while (extraLength >= 4) {
+                int id1 = readUnsignedByte();
+                int id2 = readUnsignedByte();
+                int fieldLength = readUnsignedShort();
+                extraLength -= 4;
+                if (fieldLength > extraLength) throw new ZipException("invalid gzip extra field");
+                if (id1 == 'B' && id2 == 'C' && fieldLength == 2) {
+                    blockSize = readUnsignedShort() + 1;
+                } else {
+                    skip(fieldLength);
+                }
+                extraLength -= fieldLength;
+            }
+            skip(extraLength);
+        }
+        if ((flags & FNAME) != 0) while (readUnsignedByte() != 0) ;
+        if ((flags & FCOMMENT) != 0) while (readUnsignedByte() != 0) ;
+        if ((flags & FHCRC) != 0) skip(2);
+        return blockSize;
+    }
+
+    /**
+     * Inflates a BGZF block; Runs on a worker thread
+     *
+     * @param block Deflated data and trailer of the block
+     * @return Decompressed data
+     * @throws ZipException If the block is corrupt
+     */
+    private static byte[] inflateBlock(byte[] block) throws ZipException {
+        int dataLength = block.length - 8;
+        int size = readInt(block, dataLength + 4);
+        if (size < 0 || size > CHUNK_SIZE) throw new ZipException("invalid BGZF block size");
+        byte[] output = new byte[size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(block, 0, dataLength);
+            int inflated = 0;
+            while (!inflater.finished()) {
+                // Once the recorded size is reached, the final inflate call must only reach the end of the deflate stream
+                int read = inflated < size ? inflater.inflate(output, inflated, size - inflated) : inflater.inflate(new byte[1]);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                inflated += read;
+            }
+            if (inflated != size || !inflater.finished()) throw new ZipException("corrupt BGZF block");
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(output);
+        if ((int) crc.getValue() != readInt(block, dataLength)) throw new ZipException("corrupt gzip trailer");
+        return output;
+    }
+
+    /**
+     * Inflates a member of unknown size on the reader thread, queueing its decompressed data in chunks
+     *
+     * @throws IOException          If the member is corrupt, or an error occurs while reading input
+     * @throws InterruptedException If the stream is closed while waiting for the reading thread
+     */
+    private void inflateMember() throws IOException, InterruptedException {
+        Inflater inflater = new Inflater(true);
+        CRC32 crc = new CRC32();
+        long size = 0;
+        try {
+            byte[] output = new byte[CHUNK_SIZE];
+            int inflated = 0;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    if (!fill(1)) throw new EOFException("unexpected end of gzip input");
+                    inflater.setInput(buffer, position, limit - position);
+                    position = limit;
+                } else if (inflater.needsDictionary()) {
+                    throw new ZipException("corrupt gzip member");
+                }
+                inflated += inflater.inflate(output, inflated, CHUNK_SIZE - inflated);
+                if (inflated == CHUNK_SIZE) {
+                    crc.update(output, 0, inflated);
+                    size += inflated;
+                    chunks.put(CompletableFuture.completedFuture(output));
+                    output = new byte[CHUNK_SIZE];
+                    inflated = 0;
+                }
+            }
+            position -= inflater.getRemaining();
+            if (inflated > 0) {
+                crc.update(output, 0, inflated);
+                size += inflated;
+                chunks.put(CompletableFuture.completedFuture(Arrays.copyOf(output, inflated)));
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        if (readInt() != (int) crc.getValue() || readInt() != (int) size) throw new ZipException("corrupt gzip trailer");
+    }
+
+    /**
+     * Ensures the buffer holds at least the specified amount of bytes, compacting it if needed
+     *
+     * @param count Amount of bytes, at most the buffer size
+     * @return False if end-of-stream was reached first
+     * @throws IOException If an error occurs while reading input
+     */
+    private boolean fill(int count) throws IOException {
+        if (limit - position >= count) return true;
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        discarded += position;
+        limit -= position;
+        position = 0;
+        while (limit < count) {
+            int read = source.read(buffer, limit, buffer.length - limit);
+            if (read == -1) return false;
+            limit += read;
+        }
+        return true;
+    }
+
+    private void readFully(byte[] destination) throws IOException {
+        int copied = 0;
+        while (copied < destination.length) {
+            if (!fill(1)) throw new EOFException("unexpected end of gzip input");
+            int count = Math.min(destination.length - copied, limit - position);
+            System.arraycopy(buffer, position, destination, copied, count);
+            position += count;
+            copied += count;
+        }
+    }
+
+    private void skip(int count) throws IOException {
+        while (count > 0) {
+            if (!fill(1)) throw new EOFException("unexpected end of gzip input");
+            int skipped = Math.min(count, limit - position);
+            position += skipped;
+            count -= skipped;
+        }
+    }
+
+    private int readUnsignedByte() throws IOException {
+        if (!fill(1)) throw new EOFException("unexpected end of gzip input");
+        return buffer[position++] & 0xFF;
+    }
+
+    private int readUnsignedShort() throws IOException {
+        return readUnsignedByte() | (readUnsignedByte() << 8);
+    }
+
+    private int readInt() throws IOException {
+        return readUnsignedShort() | (readUnsignedShort() << 16);
+    }
+
+    private static int readInt(byte[] bytes, int index) {
+        return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8 | (bytes[index + 2] & 0xFF) << 16 | (bytes[index + 3] & 0xFF) << 24;
+    }
+
+    /**
+     * Moves to the next non-empty decompressed chunk
+     *
+     * @return False if end-of-stream was reached
+     * @throws IOException If decompression failed, or the thread is interrupted while waiting
+     */
+    private boolean nextChunk() throws IOException {
+        while (chunkPosition == chunk.length) {
+            if (ended) return false;
+            if (closed) throw new IOException("stream closed");
+            Future<byte[]> next;
+            try {
+                next = chunks.take();
+                if (next == END) {
+                    ended = true;
+                    return false;
+                }
+                chunk = next.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for decompression");
+            } catch (ExecutionException e) {
+                ended = true;
+                if (e.getCause() instanceof IOException ioException) throw ioException;
+                throw new IOException(e.getCause());
+            }
+            chunkPosition = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public int read(byte @NotNull [] destination, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (!nextChunk()) return -1;
+        int count = Math.min(length, chunk.length - chunkPosition);
+        System.arraycopy(chunk, chunkPosition, destination, offset, count);
+        chunkPosition += count;
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) return -1;
+        return chunk[chunkPosition++] & 0xFF;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - chunkPosition;
+    }
+
+    /**
+     * Stops decompression and closes the compressed input
+     *
+     * @throws IOException If an error occurs closing the compressed input
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        readerThread.interrupt();
+        workers.shutdownNow();
+        chunks.clear();     // Unblocks the reader thread if it is waiting on a full queue
+        source.close();
+    }
+}
@@ -0,0 +1,251 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.reflection.TypeToken;
+import net.sentientturtle.csv.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates mappers for a record type, see {@link CSVMapper.Builder#useGeneratedMappers(boolean)}
+ * <br>
+ * A mapper is generated per column binding, and defined as a hidden class holding a method handle that maps units to a record:
+ * Each unit is passed through the parser of its field type mapper, and the results are passed directly to the canonical constructor.
+ * Fields using the {@link CSVMapper.Builder#DEFAULT_TYPE_MAPPERS default type mappers} of primitive types are parsed to primitives without boxing, and no array of field values is created.
+ * <br>
+ * Generated mappers behave identically to {@link CSVMapper}'s mapping through type mappers and {@link TypeToken#getRecordConstructor()}, including exceptions.
+ *
+ * @param <R> Type of record generated mappers create
+ */
+final class RecordMapperGenerator<R extends Record> {
+    /**
+     * Bytecode of {@link RecordMapperTemplate}, loaded on first use
+     */
+    private static volatile byte[] templateBytes;
+    private static final List<Class<?>> NUMERIC_PRIMITIVES = List.of(byte.class, short.class, int.class, long.class, float.class, double.class);
+    private static final MethodHandle CHECK_ARGUMENT;
+    private static final MethodHandle APPLY;
+    private static final MethodHandle UNIT;
+    private static final MethodHandle TOKENIZER_UNIT;
+    private static final MethodHandle TOKENIZER_VIEW;
+    private static final Map<Class<?>, MethodHandle> DEFAULT_PARSERS;
+    private static final Map<Class<?>, MethodHandle> VIEW_PARSERS;     // Default type mappers that parse a CharSequence
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CHECK_ARGUMENT = lookup.findStatic(RecordMapperGenerator.class, "checkArgument", MethodType.methodType(Object.class, Class.class, Object.class));
+            APPLY = lookup.findVirtual(ThrowingFunction.class, "apply", MethodType.methodType(Object.class, Object.class));
+            UNIT = MethodHandles.arrayElementGetter(String[].class);
+            TOKENIZER_UNIT = lookup.findVirtual(Tokenizer.class, "unit", MethodType.methodType(String.class, int.class));
+            TOKENIZER_VIEW = lookup.findStatic(RecordMapperGenerator.class, "view", MethodType.methodType(CharSequence.class, Tokenizer.class, int.class));
+            MethodType parseCharSequence = MethodType.methodType(void.class, CharSequence.class);
+            DEFAULT_PARSERS = Map.of(
+                    byte.class, lookup.findStatic(Byte.class, "parseByte", MethodType.methodType(byte.class, String.class)),
+                    short.class, lookup.findStatic(Short.class, "parseShort", MethodType.methodType(short.class, String.class)),
+                    String.class, MethodHandles.identity(String.class)
+            );
+            VIEW_PARSERS = Map.of(
+                    int.class, lookup.findStatic(FieldParsers.class, "parseInt", parseCharSequence.changeReturnType(int.class)),
+                    long.class, lookup.findStatic(FieldParsers.class, "parseLong", parseCharSequence.changeReturnType(long.class)),
+                    float.class, lookup.findStatic(FieldParsers.class, "parseFloat", parseCharSequence.changeReturnType(float.class)),
+                    double.class, lookup.findStatic(FieldParsers.class, "parseDouble", parseCharSequence.changeReturnType(double.class)),
+                    boolean.class, lookup.findStatic(FieldParsers.class, "parseBoolean", parseCharSequence.changeReturnType(boolean.class))
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Maps the units of a row to a record
+     *
+     * @param <R> Type of record
+     */
+    interface GeneratedMapper<R> {
+        /**
+         * @param units Units of the row; Must contain every bound column
+         * @return Record representing the row
+         * @throws Exception If an error occurs while parsing a CSV row into a record. Exception type depends on used field type mappers
+         */
+        R map(String[] units) throws Exception;
+
+        /**
+         * Maps the current row of a tokenizer; By default, the projected units of the row are materialized and mapped by {@link #map(String[])}
+         *
+         * @param tokenizer  Tokenizer positioned on a row; The row must contain every bound column
+         * @param projection Projected columns of the row, see {@link Tokenizer#units(boolean[])}
+         * @return Record representing the row
+         * @throws Exception If an error occurs while parsing a CSV row into a record. Exception type depends on used field type mappers
+         */
+        default R map(Tokenizer tokenizer, boolean @Nullable [] projection) throws Exception {
+            return map(tokenizer.units(projection));
+        }
+    }
+
+    private final MethodHandle constructor;
+    private final MethodHandle[] parsers;
+    private final @Nullable MethodHandle[] viewParsers;    // Parser of each component taking a CharSequence, or null if the component is parsed from a String
+    private final Map<List<Integer>, GeneratedMapper<R>> mappers;
+
+    /**
+     * @param recordType   Record type to map to
+     * @param fieldTypes   Types of the record components
+     * @param fieldMappers Type mappers of the record components
+     * @throws IllegalStateException If the canonical constructor of the record cannot be accessed
+     */
+    RecordMapperGenerator(TypeToken<R> recordType, TypeToken<?>[] fieldTypes, ThrowingFunction<String, Object>[] fieldMappers) throws IllegalStateException {
+        Class<R> rawType = Objects.requireNonNull(recordType.getRawType());
+        RecordComponent[] components = rawType.getRecordComponents();
+        Class<?>[] parameters = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) parameters[i] = components[i].getType();
+
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(rawType.getConstructor(parameters));
+            // As with Constructor#newInstance, exceptions thrown by the constructor are wrapped; Exceptions of parsers are not
+            this.constructor = Util.wrapConstructorExceptions(handle);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("cannot access canonical constructor for record: " + e.getMessage());
+        }
+
+        this.parsers = new MethodHandle[parameters.length];
+        this.viewParsers = new MethodHandle[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i];
+            MethodHandle parser = null;
+            if (fieldMappers[i] == CSVMapper.Builder.DEFAULT_TYPE_MAPPERS.get(fieldTypes[i])) {
+                Class<?> primitive = MethodType.methodType(type).unwrap().returnType();
+                MethodHandle viewParser = VIEW_PARSERS.get(primitive);
+                if (viewParser != null) this.viewParsers[i] = viewParser.asType(MethodType.methodType(type, CharSequence.class));
+                parser = viewParser != null ? viewParser : DEFAULT_PARSERS.get(primitive);
+            }
+            if (parser == null) {
+                // Other type mappers are called through ThrowingFunction#apply, with the result checked as by Constructor#newInstance
+                parser = MethodHandles.filterReturnValue(APPLY.bindTo(fieldMappers[i]), CHECK_ARGUMENT.bindTo(type));
+            }
+            this.parsers[i] = parser.asType(MethodType.methodType(type, String.class));
+        }
+        this.mappers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the mapper for a column binding, generating it if this generator has not yet done so
+     *
+     * @param columns Column index of each record component
+     * @return Mapper for the column binding
+     */
+    GeneratedMapper<R> mapper(int[] columns) {
+        return mappers.computeIfAbsent(Arrays.stream(columns).boxed().toList(), binding -> generate(columns));
+    }
+
+    /**
+     * @param columns Column index of each record component
+     * @return New mapper for the column binding, defined as a hidden class
+     */
+    private GeneratedMapper<R> generate(int[] columns) {
+        MethodHandle[] unitFilters = new MethodHandle[parsers.length];
+        MethodHandle[] rowFilters = new MethodHandle[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            unitFilters[i] = MethodHandles.filterReturnValue(MethodHandles.insertArguments(UNIT, 1, columns[i]), parsers[i]);
+            // Fields parsed from a CharSequence are viewed in place; Only other fields are materialized as Strings
+            if (viewParsers[i] != null) {
+                rowFilters[i] = MethodHandles.filterReturnValue(MethodHandles.insertArguments(TOKENIZER_VIEW, 1, columns[i]), viewParsers[i]);
+            } else {
+                rowFilters[i] = MethodHandles.filterReturnValue(MethodHandles.insertArguments(TOKENIZER_UNIT, 1, columns[i]), parsers[i]);
+            }
+        }
+        List<MethodHandle> handles = List.of(construct(String[].class, unitFilters), construct(Tokenizer.class, rowFilters));
+
+        try {
+            MethodHandles.Lookup hiddenClass = MethodHandles.lookup().defineHiddenClassWithClassData(templateBytes(), handles, true);
+            @SuppressWarnings("unchecked")
+            GeneratedMapper<R> mapper = (GeneratedMapper<R>) hiddenClass.findConstructor(hiddenClass.lookupClass(), MethodType.methodType(void.class)).invoke();
+            return mapper;
+        } catch (Throwable e) {
+            throw new IllegalStateException("cannot define generated mapper: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param row     Type of the row to map from
+     * @param filters Parser of each record component, taking the row
+     * @return Method handle of type {@code (row)Object}, calling the constructor with the result of each parser
+     */
+    private MethodHandle construct(Class<?> row, MethodHandle[] filters) {
+        MethodHandle handle;
+        if (filters.length == 0) {
+            handle = MethodHandles.dropArguments(constructor, 0, row);
+        } else {
+            // Each filter reads its unit from the same row; Filters run in component order, as do type mappers in CSVMapper
+            handle = MethodHandles.permuteArguments(
+                    MethodHandles.filterArguments(constructor, 0, filters),
+                    MethodType.methodType(constructor.type().returnType(), row),
+                    new int[filters.length]
+            );
+        }
+        return handle.asType(MethodType.methodType(Object.class, row));
+    }
+
+    /**
+     * Views a unit of the current row through the tokenizer's own view; The view is parsed before the next unit is viewed
+     *
+     * @param tokenizer Tokenizer positioned on a row
+     * @param index     Index of unit in the row
+     * @return The tokenizer's view
+     */
+    private static CharSequence view(Tokenizer tokenizer, int index) {
+        FieldView view = tokenizer.fieldView();
+        tokenizer.view(index, view);
+        return view;
+    }
+
+    /**
+     * @return Bytecode of {@link RecordMapperTemplate}
+     * @throws UncheckedIOException If the bytecode cannot be read
+     */
+    private static byte[] templateBytes() throws UncheckedIOException {
+        byte[] bytes = templateBytes;
+        if (bytes == null) {
+            try (InputStream input = RecordMapperTemplate.class.getResourceAsStream(RecordMapperTemplate.class.getSimpleName() + ".class")) {
+                if (input == null) throw new IOException("class file of " + RecordMapperTemplate.class.getName() + " not found");
+                templateBytes = bytes = input.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks a type mapper result as {@link java.lang.reflect.Constructor#newInstance(Object...)} checks arguments; Also used by {@link CompiledRecordMapper}
+     *
+     * @param type  Type of record component
+     * @param value Result of type mapper
+     * @return The value
+     * @throws IllegalArgumentException If the value cannot be passed as the record component
+     */
+    static Object checkArgument(Class<?> type, Object value) throws IllegalArgumentException {
+        if (!type.isPrimitive()) {
+            if (value != null && !type.isInstance(value)) throw new IllegalArgumentException("argument type mismatch");
+        } else {
+            if (value == null) throw new IllegalArgumentException();
+            Class<?> primitive = MethodType.methodType(value.getClass()).unwrap().returnType();
+            boolean widens = primitive == type
+                                     || (primitive == char.class ? NUMERIC_PRIMITIVES.indexOf(type) >= NUMERIC_PRIMITIVES.indexOf(int.class)
+                                                 : NUMERIC_PRIMITIVES.contains(primitive) && NUMERIC_PRIMITIVES.indexOf(type) >= NUMERIC_PRIMITIVES.indexOf(primitive));
+            if (!widens) throw new IllegalArgumentException("argument type mismatch");
+        }
+        return value;
+    }
+}
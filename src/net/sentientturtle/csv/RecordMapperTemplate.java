@@ -0,0 +1,52 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.util.Util;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template of the hidden classes defined by {@link RecordMapperGenerator}; Never loaded as a regular class
+ * <br>
+ * Each hidden class is defined from the bytecode of this class, with a list of mapping method handles as its class data. As static final fields of a hidden class, the handles are constants to the JIT compiler, such that they are inlined into the map methods.
+ */
+final class RecordMapperTemplate implements RecordMapperGenerator.GeneratedMapper<Object> {
+    /**
+     * Maps units to a record, with type {@code (String[])Object}
+     */
+    private static final MethodHandle UNITS_MAPPER;
+    /**
+     * Maps the current row of a tokenizer to a record, with type {@code (Tokenizer)Object}
+     */
+    private static final MethodHandle ROW_MAPPER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            UNITS_MAPPER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            ROW_MAPPER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object map(String[] units) throws Exception {
+        try {
+            return UNITS_MAPPER.invokeExact(units);
+        } catch (Throwable e) {
+            return Util.sneakyThrow(e);
+        }
+    }
+
+    @Override
+    public Object map(Tokenizer tokenizer, boolean @Nullable [] projection) throws Exception {
+        try {
+            return ROW_MAPPER.invokeExact(tokenizer);
+        } catch (Throwable e) {
+            return Util.sneakyThrow(e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reusable batch of rows, filled by {@link CSVReader#readBatch(RowBatch, int)}
+ * <br>
+ * The characters of all fields in the batch are stored consecutively in a single shared array, with the position of each field recorded in int arrays.
+ * Filling a batch does not create a String or array per row or field; Once its arrays are sufficiently large, refilling a batch does not allocate.
+ * <br>
+ * Fields are addressed by row index within the batch, and column index within the row. The raw arrays may be accessed through {@link RowBatch#chars()}, {@link RowBatch#fieldOffset(int, int)}, and {@link RowBatch#fieldLength(int, int)} for bulk processing.
+ * Contents are only valid until the batch is refilled, use {@link RowBatch#copyField(int, int)} or {@link RowBatch#copyRow(int)} to retain values.
+ * <br>
+ * CAUTION: RowBatch is not thread-safe; A filled batch may be read by multiple threads, if it is safely published to them.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * RowBatch batch = new RowBatch();
+ * while (csv.readBatch(batch, 1024) &gt; 0) {
+ *     for (int row = 0; row &lt; batch.rowCount(); row++) {
+ *         // Use batch.field(row, column)
+ *     }
+ * }
+ * </pre>
+ */
+public final class RowBatch {
+    private static final int NOT_PROJECTED = -1;   // Field length of units skipped by projection
+    private char[] chars;
+    private int charCount;
+    private int[] fieldOffsets;
+    private int[] fieldLengths;
+    private int fieldCount;
+    private int[] rowStarts;        // Index of each row's first field, followed by the total amount of fields
+    private int rowCount;
+    private final FieldView scratch;
+
+    /**
+     * Creates an empty batch
+     */
+    public RowBatch() {
+        this.chars = new char[1024];
+        this.fieldOffsets = new int[64];
+        this.fieldLengths = new int[64];
+        this.rowStarts = new int[17];
+        this.scratch = new FieldView();
+    }
+
+    /**
+     * Empties this batch, keeping its arrays for reuse
+     */
+    void clear() {
+        charCount = 0;
+        fieldCount = 0;
+        rowCount = 0;
+    }
+
+    /**
+     * Appends the current row of a tokenizer
+     *
+     * @param tokenizer  Tokenizer positioned on a row
+     * @param projection Projected columns, by index; Columns outside the array are not projected. If null, all columns are projected
+     */
+    void add(Tokenizer tokenizer, boolean @Nullable [] projection) {
+        int units = tokenizer.unitCount();
+        if (fieldCount + units > fieldOffsets.length) {
+            int length = Math.max(fieldCount + units, fieldOffsets.length * 2);
+            fieldOffsets = Arrays.copyOf(fieldOffsets, length);
+            fieldLengths = Arrays.copyOf(fieldLengths, length);
+        }
+        if (rowCount + 2 > rowStarts.length) rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+
+        rowStarts[rowCount] = fieldCount;
+        for (int i = 0; i < units; i++) {
+            if (projection == null || (i < projection.length && projection[i])) {
+                tokenizer.view(i, scratch);
+                int length = scratch.length();
+                if (charCount + length > chars.length) chars = Arrays.copyOf(chars, Math.max(charCount + length, chars.length * 2));
+                scratch.copyTo(chars, charCount);
+                fieldOffsets[fieldCount] = charCount;
+                fieldLengths[fieldCount] = length;
+                charCount += length;
+            } else {
+                fieldOffsets[fieldCount] = charCount;
+                fieldLengths[fieldCount] = NOT_PROJECTED;
+            }
+            fieldCount++;
+        }
+        rowCount++;
+        rowStarts[rowCount] = fieldCount;
+    }
+
+    /**
+     * @return Amount of rows in this batch
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param row Index of the row in this batch
+     * @return Amount of fields in the row
+     * @throws IndexOutOfBoundsException If this batch has no row at the specified index
+     */
+    public int fieldCount(int row) throws IndexOutOfBoundsException {
+        Objects.checkIndex(row, rowCount);
+        return rowStarts[row + 1] - rowStarts[row];
+    }
+
+    /**
+     * Shared array containing the characters of all fields in this batch, see {@link RowBatch#fieldOffset(int, int)}
+     * <br>
+     * The array is reused when this batch is refilled, and must not be modified
+     *
+     * @return Character array backing this batch
+     */
+    public char[] chars() {
+        return chars;
+    }
+
+    /**
+     * @param row    Index of the row in this batch
+     * @param column Index of the field in the row
+     * @return Index of the field's first character in {@link RowBatch#chars()}
+     * @throws IndexOutOfBoundsException If this batch has no field at the specified indices
+     */
+    public int fieldOffset(int row, int column) throws IndexOutOfBoundsException {
+        return fieldOffsets[fieldIndex(row, column)];
+    }
+
+    /**
+     * @param row    Index of the row in this batch
+     * @param column Index of the field in the row
+     * @return Amount of characters in the field, or -1 if the field's column was not projected
+     * @throws IndexOutOfBoundsException If this batch has no field at the specified indices
+     */
+    public int fieldLength(int row, int column) throws IndexOutOfBoundsException {
+        return fieldLengths[fieldIndex(row, column)];
+    }
+
+    /**
+     * View a field, without copying it
+     * <br>
+     * The returned view is only valid until this batch is refilled
+     *
+     * @param row    Index of the row in this batch
+     * @param column Index of the field in the row
+     * @return View of the field's value, with quotes removed; Null if the field's column was not projected
+     * @throws IndexOutOfBoundsException If this batch has no field at the specified indices
+     */
+    public @Nullable CharSequence field(int row, int column) throws IndexOutOfBoundsException {
+        int field = fieldIndex(row, column);
+        if (fieldLengths[field] == NOT_PROJECTED) return null;
+        return CharBuffer.wrap(chars, fieldOffsets[field], fieldLengths[field]).asReadOnlyBuffer();
+    }
+
+    /**
+     * Copy a field
+     *
+     * @param row    Index of the row in this batch
+     * @param column Index of the field in the row
+     * @return Field value, with quotes removed; Null if the field's column was not projected
+     * @throws IndexOutOfBoundsException If this batch has no field at the specified indices
+     */
+    public @Nullable String copyField(int row, int column) throws IndexOutOfBoundsException {
+        int field = fieldIndex(row, column);
+        if (fieldLengths[field] == NOT_PROJECTED) return null;
+        return new String(chars, fieldOffsets[field], fieldLengths[field]);
+    }
+
+    /**
+     * Copy all fields of a row
+     *
+     * @param row Index of the row in this batch
+     * @return Field values, as returned by {@link CSVReader#readLine()}
+     * @throws IndexOutOfBoundsException If this batch has no row at the specified index
+     */
+    public @Nullable String[] copyRow(int row) throws IndexOutOfBoundsException {
+        String[] fields = new String[fieldCount(row)];
+        for (int i = 0; i < fields.length; i++) fields[i] = copyField(row, i);
+        return fields;
+    }
+
+    /**
+     * @return Index of the specified field in the field arrays
+     */
+    private int fieldIndex(int row, int column) throws IndexOutOfBoundsException {
+        return rowStarts[row] + Objects.checkIndex(column, fieldCount(row));
+    }
+}
@@ -0,0 +1,177 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.exception.BooleanParseException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Cursor moving over the rows of a {@link CSVReader}, exposing fields without materializing them
+ * <br>
+ * Created through {@link CSVReader#cursor()}. The cursor shares its reader's iteration state; Rows read through the cursor are not yielded by the reader's iterators, and vice versa.
+ * <br>
+ * Fields are exposed as {@link CharSequence} views, which are reused between rows; A view is only valid until the cursor advances, use {@link RowCursor#copyField(int)} or {@link CharSequence#toString()} to retain a field.
+ * Once their buffers are sufficiently large, reading rows and viewing fields does not allocate.
+ * <br>
+ * CAUTION: RowCursor is not thread-safe
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * RowCursor cursor = csv.cursor();
+ * while (cursor.next()) {
+ *     if (CharSequence.compare(cursor.field(0), "value") == 0) {
+ *         // Use row
+ *     }
+ * }
+ * </pre>
+ */
+public final class RowCursor {
+    private final CSVReader reader;
+    private final Tokenizer tokenizer;
+    private FieldView[] views;
+    private long row;           // Amount of times this cursor has advanced, used to detect outdated views
+    private boolean onRow;
+
+    /**
+     * Package-private constructor, this type is initialized through {@link CSVReader#cursor()}
+     *
+     * @param reader Reader to move over
+     */
+    RowCursor(CSVReader reader) {
+        this.reader = reader;
+        this.tokenizer = reader.tokenizer();
+        this.views = new FieldView[0];
+        this.row = 0;
+        this.onRow = false;
+    }
+
+    /**
+     * Advances to the next row, invalidating all field views of the current row
+     *
+     * @return True if the cursor moved to the next row, false if end-of-stream has been reached
+     * @throws IOException       If an error occurs while reading input
+     * @throws CSVParseException If a CSV parsing exception occurs
+     */
+    public boolean next() throws IOException, CSVParseException {
+        row++;
+        onRow = reader.advance();
+        return onRow;
+    }
+
+    /**
+     * @return Amount of fields in the current row
+     * @throws IllegalStateException If the cursor is not on a row
+     */
+    public int fieldCount() throws IllegalStateException {
+        requireRow();
+        return tokenizer.unitCount();
+    }
+
+    /**
+     * View a field of the current row, without copying it
+     * <br>
+     * The returned view is only valid until the cursor advances, and is reused for the same field index of later rows
+     *
+     * @param index Index of the field in the current row
+     * @return View of the field's value, with quotes removed
+     * @throws IllegalStateException     If the cursor is not on a row
+     * @throws IndexOutOfBoundsException If the current row has no field at the specified index
+     */
+    public CharSequence field(int index) throws IllegalStateException, IndexOutOfBoundsException {
+        requireRow();
+        Objects.checkIndex(index, tokenizer.unitCount());
+        if (index >= views.length) {
+            int oldLength = views.length;
+            views = Arrays.copyOf(views, Math.max(index + 1, oldLength * 2));
+            for (int i = oldLength; i < views.length; i++) views[i] = new FieldView();
+        }
+        FieldView view = views[index];
+        if (view.row != row) {
+            tokenizer.view(index, view);
+            view.row = row;
+        }
+        return view;
+    }
+
+    /**
+     * Copy a field of the current row
+     *
+     * @param index Index of the field in the current row
+     * @return Field value, with quotes removed
+     * @throws IllegalStateException     If the cursor is not on a row
+     * @throws IndexOutOfBoundsException If the current row has no field at the specified index
+     */
+    public String copyField(int index) throws IllegalStateException, IndexOutOfBoundsException {
+        requireRow();
+        Objects.checkIndex(index, tokenizer.unitCount());
+        return tokenizer.unit(index);
+    }
+
+    /**
+     * Parse a field of the current row as int, without copying it
+     * <br>
+     * Accepts the same values as {@link Integer#parseInt(String)}, the default type mapper for int
+     *
+     * @param index Index of the field in the current row
+     * @return Parsed field value
+     * @throws NumberFormatException     If the field is not a valid int
+     * @throws IllegalStateException     If the cursor is not on a row
+     * @throws IndexOutOfBoundsException If the current row has no field at the specified index
+     */
+    public int getInt(int index) throws NumberFormatException, IllegalStateException, IndexOutOfBoundsException {
+        return FieldParsers.parseInt(field(index));
+    }
+
+    /**
+     * Parse a field of the current row as long, without copying it
+     * <br>
+     * Accepts the same values as {@link Long#parseLong(String)}, the default type mapper for long
+     *
+     * @param index Index of the field in the current row
+     * @return Parsed field value
+     * @throws NumberFormatException     If the field is not a valid long
+     * @throws IllegalStateException     If the cursor is not on a row
+     * @throws IndexOutOfBoundsException If the current row has no field at the specified index
+     */
+    public long getLong(int index) throws NumberFormatException, IllegalStateException, IndexOutOfBoundsException {
+        return FieldParsers.parseLong(field(index));
+    }
+
+    /**
+     * Parse a field of the current row as double, without copying it
+     * <br>
+     * Accepts the same values as {@link Double#parseDouble(String)}, the default type mapper for double
+     *
+     * @param index Index of the field in the current row
+     * @return Parsed field value
+     * @throws NumberFormatException     If the field is not a valid double
+     * @throws IllegalStateException     If the cursor is not on a row
+     * @throws IndexOutOfBoundsException If the current row has no field at the specified index
+     */
+    public double getDouble(int index) throws NumberFormatException, IllegalStateException, IndexOutOfBoundsException {
+        return FieldParsers.parseDouble(field(index));
+    }
+
+    /**
+     * Parse a field of the current row as boolean, without copying it
+     * <br>
+     * Accepts only {@code true} and {@code false} in any capitalization, as the default type mapper for boolean
+     *
+     * @param index Index of the field in the current row
+     * @return Parsed field value
+     * @throws BooleanParseException     If the field is neither {@code true} nor {@code false}
+     * @throws IllegalStateException     If the cursor is not on a row
+     * @throws IndexOutOfBoundsException If the current row has no field at the specified index
+     */
+    public boolean getBoolean(int index) throws BooleanParseException, IllegalStateException, IndexOutOfBoundsException {
+        return FieldParsers.parseBoolean(field(index));
+    }
+
+    /**
+     * @throws IllegalStateException If the cursor is not on a row
+     */
+    private void requireRow() throws IllegalStateException {
+        if (!onRow) throw new IllegalStateException("cursor is not on a row; call RowCursor#next() first");
+    }
+}
@@ -0,0 +1,177 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Index of row offsets in a CSV document file, used to seek to a row without parsing the rows before it
+ * <br>
+ * Created through {@link CSVReader.Builder#buildIndex(Path, int)}, which parses the file once and records the byte offset of every Nth row. Indices may be persisted as a sidecar file next to the document, see {@link RowIndex#write(Path)} and {@link RowIndex#read(Path)}.
+ * <br>
+ * {@link CSVReader#seekToRow(long, RowIndex)} moves to the indexed row at or before the requested row, and parses forward at most {@code interval - 1} rows from there.
+ * Row numbers count every row of the document, including a header, starting at 0.
+ * <br>
+ * An index is only valid for the file and parsing configuration it was built with. Seeking verifies the file size, but not its contents; Indices must be rebuilt when the file is modified.
+ * <br><br>
+ * Example usage:
+ * <pre>
+ * Path sidecar = RowIndex.sidecarPath(file);
+ * RowIndex index = Files.exists(sidecar) ? RowIndex.read(sidecar) : builder.buildIndex(file, 4096);
+ * index.write(sidecar);
+ * try (CSVReader csv = builder.build(file)) {
+ *     csv.seekToRow(1_000_000, index);
+ *     String[] row = csv.readLine();
+ * }
+ * </pre>
+ */
+public final class RowIndex {
+    private static final int MAGIC = 0x52435649;    // "RCVI"
+    private static final int VERSION = 1;
+    private final int interval;
+    private final long rowCount;
+    private final long inputSize;
+    private final long[] offsets;   // Byte offset of row N * interval, by N
+
+    /**
+     * Package-private constructor, this type is initialized through {@link CSVReader.Builder#buildIndex(Path, int)} or {@link RowIndex#read(Path)}
+     *
+     * @param interval  Amount of rows between indexed rows
+     * @param rowCount  Amount of rows in the document
+     * @param inputSize Size of the document file, in bytes
+     * @param offsets   Byte offset of every indexed row
+     */
+    RowIndex(int interval, long rowCount, long inputSize, long[] offsets) {
+        this.interval = interval;
+        this.rowCount = rowCount;
+        this.inputSize = inputSize;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Indexes the rows of a tokenizer, reading it to the end
+     *
+     * @param tokenizer Tokenizer positioned at the start of its input
+     * @param interval  Amount of rows between indexed rows
+     * @return Index of the tokenizer's input
+     * @throws IOException       If an error occurs while reading input
+     * @throws CSVParseException If a CSV parsing exception occurs
+     */
+    static RowIndex build(MappedFileTokenizer tokenizer, int interval) throws IOException, CSVParseException {
+        long[] offsets = new long[16];
+        int offsetCount = 0;
+        long rowCount = 0;
+        // Rows are read as by CSVReader#advance(), which ends at end-of-stream or after a row that ends the input
+        boolean hasNext = tokenizer.hasInput();
+        while (hasNext) {
+            long offset = tokenizer.offset();
+            if (!tokenizer.readRow()) break;
+            if (rowCount % interval == 0) {
+                if (offsetCount == offsets.length) offsets = Arrays.copyOf(offsets, offsetCount * 2);
+                offsets[offsetCount++] = offset;
+            }
+            rowCount++;
+            hasNext = !tokenizer.reachedEnd();
+        }
+        return new RowIndex(interval, rowCount, tokenizer.end(), Arrays.copyOf(offsets, offsetCount));
+    }
+
+    /**
+     * @param document Path of a CSV document
+     * @return Conventional path of the document's index, the document's file name followed by {@code .rowindex}
+     */
+    public static Path sidecarPath(@NotNull Path document) {
+        return document.resolveSibling(document.getFileName() + ".rowindex");
+    }
+
+    /**
+     * Reads an index written by {@link RowIndex#write(Path)}
+     *
+     * @param path Path of the index file
+     * @return Index read from the file
+     * @throws IOException If an error occurs while reading the file, or if the file is not a valid index
+     */
+    public static RowIndex read(@NotNull Path path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) throw new IOException("not a row index: " + path);
+            int version = input.readInt();
+            if (version != VERSION) throw new IOException("unsupported row index version " + version + ": " + path);
+            int interval = input.readInt();
+            long rowCount = input.readLong();
+            long inputSize = input.readLong();
+            int offsetCount = input.readInt();
+            if (interval < 1 || rowCount < 0 || offsetCount != (rowCount + interval - 1) / interval) throw new IOException("corrupt row index: " + path);
+            long[] offsets = new long[offsetCount];
+            for (int i = 0; i < offsetCount; i++) {
+                offsets[i] = input.readLong();
+                if (offsets[i] < 0 || offsets[i] > inputSize || (i > 0 && offsets[i] <= offsets[i - 1])) throw new IOException("corrupt row index: " + path);
+            }
+            return new RowIndex(interval, rowCount, inputSize, offsets);
+        } catch (EOFException e) {
+            throw new IOException("truncated row index: " + path, e);
+        }
+    }
+
+    /**
+     * Writes this index to a file, replacing the file if it exists
+     *
+     * @param path Path of the index file, usually {@link RowIndex#sidecarPath(Path)}
+     * @throws IOException If an error occurs while writing the file
+     */
+    public void write(@NotNull Path path) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(interval);
+            output.writeLong(rowCount);
+            output.writeLong(inputSize);
+            output.writeInt(offsets.length);
+            for (long offset : offsets) output.writeLong(offset);
+        }
+    }
+
+    /**
+     * @return Amount of rows between indexed rows
+     */
+    public int interval() {
+        return interval;
+    }
+
+    /**
+     * @return Amount of rows in the indexed document, including a header
+     */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Size of the indexed document file, in bytes
+     */
+    public long inputSize() {
+        return inputSize;
+    }
+
+    /**
+     * @param row Row number
+     * @return Byte offset of the indexed row at or before the specified row
+     */
+    long offsetBefore(long row) {
+        return offsets[(int) (row / interval)];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RowIndex other)) return false;
+        return interval == other.interval && rowCount == other.rowCount && inputSize == other.inputSize && Arrays.equals(offsets, other.offsets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(interval, rowCount, inputSize, Arrays.hashCode(offsets));
+    }
+}
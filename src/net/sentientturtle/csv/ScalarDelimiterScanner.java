@@ -0,0 +1,42 @@
+package net.sentientturtle.csv;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Delimiter scanner checking a single byte or character at a time
+ * <br>
+ * Always available, and used for the tails of buffers by other scanners.
+ */
+class ScalarDelimiterScanner extends DelimiterScanner {
+    /**
+     * @param delimiters Up to 3 delimiter codepoints
+     * @throws IllegalArgumentException If more than 3 delimiters are specified
+     */
+    ScalarDelimiterScanner(int... delimiters) throws IllegalArgumentException {
+        super(delimiters);
+    }
+
+    @Override
+    int indexOf(ByteBuffer buffer, int from, int to) {
+        byte byte0 = this.byte0;
+        byte byte1 = this.byte1;
+        byte byte2 = this.byte2;
+        for (int i = from; i < to; i++) {
+            byte value = buffer.get(i);
+            if (value == byte0 || value == byte1 || value == byte2) return i;
+        }
+        return to;
+    }
+
+    @Override
+    int indexOf(char[] buffer, int from, int to) {
+        char char0 = this.char0;
+        char char1 = this.char1;
+        char char2 = this.char2;
+        for (int i = from; i < to; i++) {
+            char value = buffer[i];
+            if (value == char0 || value == char1 || value == char2 || Character.isSurrogate(value)) return i;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,67 @@
+package net.sentientturtle.csv;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Delimiter scanner comparing 8 bytes at a time, packed into a {@code long} ("SIMD within a register")
+ * <br>
+ * Each word is XOR-ed with every delimiter repeated across all bytes, such that matching bytes become zero, which are located using the has-zero-byte bit trick:
+ * {@code (x - 0x0101..01) & ~x & 0x8080..80} sets the high bit of the lowest zero byte. Higher bytes may be set spuriously through borrows, but only above a zero byte, so the lowest set bit is always exact.
+ * <br>
+ * Words are read in little-endian order, such that the lowest set bit corresponds to the first byte in the buffer.
+ * Character buffers cannot be viewed as words, and are scanned by the scalar scanner.
+ */
+class SwarDelimiterScanner extends ScalarDelimiterScanner {
+    private static final VarHandle ARRAY_WORDS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle BUFFER_WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private final long pattern0;
+    private final long pattern1;
+    private final long pattern2;
+
+    /**
+     * @param delimiters Up to 3 delimiter codepoints
+     * @throws IllegalArgumentException If more than 3 delimiters are specified
+     */
+    SwarDelimiterScanner(int... delimiters) throws IllegalArgumentException {
+        super(delimiters);
+        this.pattern0 = LOW_BITS * (byte0 & 0xFF);
+        this.pattern1 = LOW_BITS * (byte1 & 0xFF);
+        this.pattern2 = LOW_BITS * (byte2 & 0xFF);
+    }
+
+    /**
+     * @param word Eight bytes, little-endian
+     * @return Word with the high bit set of (at least) the first byte matching a delimiter, or 0 if no byte matches
+     */
+    private long matches(long word) {
+        long match0 = word ^ pattern0;
+        long match1 = word ^ pattern1;
+        long match2 = word ^ pattern2;
+        return ((match0 - LOW_BITS) & ~match0 | (match1 - LOW_BITS) & ~match1 | (match2 - LOW_BITS) & ~match2) & HIGH_BITS;
+    }
+
+    @Override
+    int indexOf(ByteBuffer buffer, int from, int to) {
+        int i = from;
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            for (; i <= to - Long.BYTES; i += Long.BYTES) {
+                long matches = matches((long) ARRAY_WORDS.get(array, offset + i));
+                if (matches != 0) return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        } else {
+            for (; i <= to - Long.BYTES; i += Long.BYTES) {
+                long matches = matches((long) BUFFER_WORDS.get(buffer, i));
+                if (matches != 0) return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        return super.indexOf(buffer, i, to);
+    }
+}
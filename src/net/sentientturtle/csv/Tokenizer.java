@@ -0,0 +1,227 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Base type for tokenizers backing {@link CSVReader}
+ * <br>
+ * A tokenizer reads one row at a time, recording the ranges of each unit within its input buffer. Units are only copied when materialized through {@link Tokenizer#unit(int)}
+ * <br>
+ * Implementations must give identical results for identical documents, regardless of the encoding of their input. See {@link CSVReader.Builder} for details on parsing behaviour.
+ */
+abstract class Tokenizer {
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    // Configuration
+    protected final int unitSeparator;
+    protected final int recordSeparator;
+    protected final boolean trimWhitespace;
+    protected final CSVReader.QuoteParsingMode quoteMode;
+    protected final Whitespace isWhitespace;
+    // Row; Unit ranges are stored relative to the start of the row, as refilling may move the row within the input buffer
+    protected int unitCount;
+    protected int[] unitStarts;
+    protected int[] unitEnds;
+    protected boolean[] unitEscaped;  // True if the unit contains escaped ("") quotes, which must be collapsed when materializing
+    protected UnitCache @Nullable [] unitCaches;    // Per-column caches deduplicating materialized units, or null if deduplication is disabled
+    // State
+    protected boolean reachedEnd;
+    /**
+     * Amount of read rows, incremented at the start of {@link #readRow()} such that it refers to the line currently being read when reading is in progress.
+     */
+    protected long rowCount;
+    /**
+     * True while input is filled from within a quoted unit, with no quote pending. Remains set if filling is interrupted by an exception, in which case the row cannot be completed by input without a quote.
+     */
+    protected boolean fillingQuotedUnit;
+    private @Nullable FieldView fieldView;     // See fieldView()
+
+    /**
+     * @param unitSeparator   Separator character for units/values (Specified as codepoint integer)
+     * @param recordSeparator Separator character for records/lines (Specified as codepoint integer)
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Function used to determine whitespace, takes codepoint integers
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     */
+    protected Tokenizer(
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Function<Integer, Boolean> isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) {
+        this(unitSeparator, recordSeparator, trimWhitespace, Whitespace.of(isWhitespace), quoteMode);
+    }
+
+    /**
+     * @param unitSeparator   Separator character for units/values (Specified as codepoint integer)
+     * @param recordSeparator Separator character for records/lines (Specified as codepoint integer)
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Whitespace classifier, such as that of another tokenizer
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     */
+    protected Tokenizer(
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Whitespace isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) {
+        this.unitSeparator = unitSeparator;
+        this.recordSeparator = recordSeparator;
+        this.trimWhitespace = trimWhitespace;
+        this.isWhitespace = isWhitespace;
+        this.quoteMode = quoteMode;
+
+        this.unitStarts = new int[16];
+        this.unitEnds = new int[16];
+        this.unitEscaped = new boolean[16];
+    }
+
+    /**
+     * Ensures input is available; May block
+     *
+     * @return True if at least one more character may be read
+     * @throws IOException If an IO error occurs while reading from input
+     */
+    abstract boolean hasInput() throws IOException;
+
+    /**
+     * Reads a single row, recording the ranges of its units
+     *
+     * @return False if end-of-stream was reached before the row could be read
+     * @throws IOException       If an IO error occurs while reading from input, or if quotes are not closed before end-of-stream
+     * @throws CSVParseException If a CSV parsing exception occurs
+     */
+    abstract boolean readRow() throws IOException, CSVParseException;
+
+    /**
+     * Rewinds to the start of the row being read, after {@link #readRow()} was interrupted by an exception from the input, such that the row can be read again once more input is available
+     */
+    abstract void rewindRow();
+
+    /**
+     * Materializes a unit of the current row
+     *
+     * @param index Index of unit in the current row
+     * @return Unit value, with quotes removed
+     */
+    abstract String unit(int index);
+
+    /**
+     * Points a view at a unit of the current row, without materializing it as a String
+     * <br>
+     * The view remains valid until the next row is read
+     *
+     * @param index Index of unit in the current row
+     * @param view  View to update; Its scratch space may be used if the unit cannot be viewed in place
+     */
+    abstract void view(int index, FieldView view);
+
+    /**
+     * Materializes all units of the current row
+     *
+     * @return Unit values, with quotes removed
+     */
+    final String[] units() {
+        return units(null);
+    }
+
+    /**
+     * Materializes the projected units of the current row
+     *
+     * @param projection Projected columns, by index; Columns outside the array are not projected. If null, all columns are projected
+     * @return Unit values, with quotes removed; Units that are not projected are null
+     */
+    final @Nullable String[] units(boolean @Nullable [] projection) {
+        String[] units = new String[unitCount];
+        for (int i = 0; i < units.length; i++) {
+            if (projection == null || (i < projection.length && projection[i])) units[i] = unit(i);
+        }
+        return units;
+    }
+
+    /**
+     * Enables deduplication of materialized units, through a {@link UnitCache} per column
+     */
+    final void deduplicateUnits() {
+        if (unitCaches == null) unitCaches = new UnitCache[0];
+    }
+
+    /**
+     * @return True if materialized units are deduplicated
+     */
+    final boolean deduplicatesUnits() {
+        return unitCaches != null;
+    }
+
+    /**
+     * @param index Index of unit in the current row
+     * @return Cache for the unit's column, or null if units of that column are not deduplicated
+     */
+    protected final @Nullable UnitCache unitCache(int index) {
+        UnitCache[] unitCaches = this.unitCaches;
+        if (unitCaches == null) return null;
+        if (index >= unitCaches.length) unitCaches = this.unitCaches = Arrays.copyOf(unitCaches, Math.max(index + 1, unitCaches.length * 2));
+        UnitCache cache = unitCaches[index];
+        if (cache == null) cache = unitCaches[index] = new UnitCache();
+        return cache.isEnabled() ? cache : null;
+    }
+
+    /**
+     * Closes the input of this tokenizer
+     *
+     * @throws IOException If an error occurs closing the input
+     */
+    abstract void close() throws IOException;
+
+    /**
+     * @param start   Start of unit, relative to the start of the row
+     * @param end     End of unit, relative to the start of the row
+     * @param escaped True if the unit contains escaped quotes
+     */
+    protected final void addUnit(int start, int end, boolean escaped) {
+        if (unitCount == unitStarts.length) {
+            unitStarts = Arrays.copyOf(unitStarts, unitCount * 2);
+            unitEnds = Arrays.copyOf(unitEnds, unitCount * 2);
+            unitEscaped = Arrays.copyOf(unitEscaped, unitCount * 2);
+        }
+        unitStarts[unitCount] = start;
+        unitEnds[unitCount] = end;
+        unitEscaped[unitCount] = escaped;
+        unitCount++;
+    }
+
+    /**
+     * @return Amount of units in the current row
+     */
+    final int unitCount() {
+        return unitCount;
+    }
+
+    /**
+     * @return View owned by this tokenizer, for use with {@link #view(int, FieldView)} by the thread reading rows; Its contents are replaced by each use
+     */
+    final FieldView fieldView() {
+        FieldView view = fieldView;
+        if (view == null) fieldView = view = new FieldView();
+        return view;
+    }
+
+    /**
+     * @return True if end-of-stream was reached while reading the last row
+     */
+    final boolean reachedEnd() {
+        return reachedEnd;
+    }
+
+    /**
+     * @return Amount of read rows
+     */
+    final long rowCount() {
+        return rowCount;
+    }
+}
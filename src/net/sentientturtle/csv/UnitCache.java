@@ -0,0 +1,123 @@
+package net.sentientturtle.csv;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bounded cache of unit values for a single column, deduplicating the Strings created for repeated values
+ * <br>
+ * Units are looked up by their raw characters or bytes, such that a String is only created on a cache miss. Entries are stored in a small open-addressing table;
+ * When all slots of a probe sequence are taken, the first slot is evicted.
+ * <br>
+ * The hit rate is measured over windows of lookups; If most lookups in a window miss, the column is deemed to have high cardinality, and the cache disables itself.
+ */
+final class UnitCache {
+    private static final int CAPACITY = 256;        // Power of two
+    private static final int PROBE_LIMIT = 8;
+    private static final int MAXIMUM_LENGTH = 64;   // Longer units are not cached
+    private static final int WINDOW = 4096;         // Lookups per hit-rate measurement
+
+    private final int[] hashes;
+    private final String[] values;
+    private byte[][] byteKeys;              // Raw UTF-8 keys, only used for byte input; Char input is compared against the values themselves
+    private int lookups;
+    private int misses;
+    private boolean enabled;
+
+    UnitCache() {
+        this.hashes = new int[CAPACITY];
+        this.values = new String[CAPACITY];
+        this.enabled = true;
+    }
+
+    /**
+     * @return False if this cache has disabled itself due to high cardinality
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param array  Array containing the unit
+     * @param offset Index of the first character
+     * @param length Amount of characters
+     * @return String equal to the specified characters, possibly an instance returned previously
+     */
+    String get(char[] array, int offset, int length) {
+        if (length > MAXIMUM_LENGTH) return new String(array, offset, length);
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) hash = 31 * hash + array[i];
+
+        int home = spread(hash);
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int slot = (home + probe) & (CAPACITY - 1);
+            String value = values[slot];
+            if (value == null) {
+                return insert(slot, hash, new String(array, offset, length), null);
+            } else if (hashes[slot] == hash && value.length() == length && matches(value, array, offset)) {
+                return hit(value);
+            }
+        }
+        return insert(home, hash, new String(array, offset, length), null);
+    }
+
+    /**
+     * @param array  Array containing the unit, encoded as UTF-8
+     * @param offset Index of the first byte
+     * @param length Amount of bytes
+     * @return String decoded from the specified bytes, possibly an instance returned previously
+     */
+    String get(byte[] array, int offset, int length) {
+        if (length > MAXIMUM_LENGTH) return new String(array, offset, length, StandardCharsets.UTF_8);
+        if (byteKeys == null) byteKeys = new byte[CAPACITY][];
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) hash = 31 * hash + array[i];
+
+        int home = spread(hash);
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int slot = (home + probe) & (CAPACITY - 1);
+            byte[] key = byteKeys[slot];
+            if (key == null) {
+                return insert(slot, hash, new String(array, offset, length, StandardCharsets.UTF_8), Arrays.copyOfRange(array, offset, offset + length));
+            } else if (hashes[slot] == hash && Arrays.equals(key, 0, key.length, array, offset, offset + length)) {
+                return hit(values[slot]);
+            }
+        }
+        return insert(home, hash, new String(array, offset, length, StandardCharsets.UTF_8), Arrays.copyOfRange(array, offset, offset + length));
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) & (CAPACITY - 1);
+    }
+
+    private static boolean matches(String value, char[] array, int offset) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != array[offset + i]) return false;
+        }
+        return true;
+    }
+
+    private String hit(String value) {
+        if (++lookups == WINDOW) endWindow();
+        return value;
+    }
+
+    private String insert(int slot, int hash, String value, byte[] byteKey) {
+        hashes[slot] = hash;
+        values[slot] = value;
+        if (byteKeys != null) byteKeys[slot] = byteKey;
+        misses++;
+        if (++lookups == WINDOW) endWindow();
+        return value;
+    }
+
+    private void endWindow() {
+        if (misses > WINDOW / 2) {
+            enabled = false;
+            Arrays.fill(values, null);  // Release cached values
+            byteKeys = null;
+        }
+        lookups = 0;
+        misses = 0;
+    }
+}
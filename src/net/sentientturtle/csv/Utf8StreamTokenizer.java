@@ -0,0 +1,85 @@
+package net.sentientturtle.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+/**
+ * Block-buffered tokenizer for UTF-8 encoded {@link InputStream} input
+ * <br>
+ * Input is read in large blocks into a heap buffer. The current row is retained in the buffer until the next row is read. When more input is required, the buffer is compacted, and grown if a single row does not fit.
+ */
+class Utf8StreamTokenizer extends Utf8Tokenizer {
+    // Input
+    private final InputStream input;
+    private boolean endOfInput;
+
+    /**
+     * @param input           CSV document input
+     * @param bufferSize      Initial size of the read buffer, in bytes
+     * @param unitSeparator   Separator character for units/values, must be ASCII
+     * @param recordSeparator Separator character for records/lines, must be ASCII
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Function used to determine whitespace, takes codepoint integers
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     * @throws IllegalArgumentException If either separator is not an ASCII character
+     */
+    Utf8StreamTokenizer(
+            InputStream input,
+            int bufferSize,
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Function<Integer, Boolean> isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) throws IllegalArgumentException {
+        super(unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode);
+        this.input = input;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * @return Input of this tokenizer
+     */
+    InputStream input() {
+        return input;
+    }
+
+    /**
+     * @return Amount of bytes read from the input, but not yet consumed by a row
+     */
+    int buffered() {
+        return limit - position;
+    }
+
+    @Override
+    protected boolean fill() throws IOException {
+        if (endOfInput) return false;
+        byte[] array = buffer.array();
+        if (rowStart > 0) {
+            System.arraycopy(array, rowStart, array, 0, limit - rowStart);
+            position -= rowStart;
+            limit -= rowStart;
+            rowStart = 0;
+        }
+        if (limit == array.length) {
+            buffer = ByteBuffer.allocate(array.length * 2).put(0, array);
+            array = buffer.array();
+        }
+
+        int read = input.read(array, limit, array.length - limit);
+        if (read == -1) {
+            endOfInput = true;
+            return false;
+        } else {
+            limit += read;
+            return true;
+        }
+    }
+
+    @Override
+    void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,443 @@
+package net.sentientturtle.csv;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Tokenizer for UTF-8 encoded byte input
+ * <br>
+ * Separators, quotes, and newlines are all ASCII, and are located directly in the raw bytes. Only the byte ranges of materialized units are decoded, input is never decoded as a whole.
+ * <br>
+ * Malformed UTF-8 is decoded to the replacement character U+FFFD, identical to reading through an {@link java.io.InputStreamReader InputStreamReader}.
+ * <br>
+ * Input is parsed from a {@link ByteBuffer}, which subclasses refill through {@link #fill()}
+ * <br>
+ * CAUTION: Only supports ASCII unit and record separators
+ */
+abstract class Utf8Tokenizer extends Tokenizer {
+    // Scanners
+    private final DelimiterScanner unquotedScanner;
+    private final DelimiterScanner quotedScanner;
+    // Buffer
+    protected ByteBuffer buffer;
+    protected int position;     // Index of the next byte to be read
+    protected int limit;        // Index after the last valid byte in the buffer
+    protected int rowStart;     // Index of the first byte of the current row; Buffer contents from this index onward must be retained when refilling
+    private byte[] unitBuffer;  // Used to copy units out of buffers without accessible array
+    // Decoding of views; Sources are reused such that views can be updated without allocating
+    private final CharsetDecoder decoder;
+    private @Nullable ByteBuffer bufferSource;      // Duplicate of the buffer, independently positioned
+    private @Nullable ByteBuffer bufferSourceOf;    // Buffer that bufferSource duplicates
+    private @Nullable ByteBuffer unitSource;        // Wraps unitBuffer
+    /**
+     * Length in bytes of the codepoint last decoded by {@link #current()}
+     */
+    private int currentLength;
+
+    /**
+     * @param unitSeparator   Separator character for units/values, must be ASCII
+     * @param recordSeparator Separator character for records/lines, must be ASCII
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Function used to determine whitespace, takes codepoint integers
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     * @throws IllegalArgumentException If either separator is not an ASCII character
+     */
+    protected Utf8Tokenizer(
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Function<Integer, Boolean> isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) throws IllegalArgumentException {
+        this(unitSeparator, recordSeparator, trimWhitespace, Whitespace.of(isWhitespace), quoteMode);
+    }
+
+    /**
+     * @param unitSeparator   Separator character for units/values, must be ASCII
+     * @param recordSeparator Separator character for records/lines, must be ASCII
+     * @param trimWhitespace  True -> Trim whitespace, False -> Leave whitespace
+     * @param isWhitespace    Whitespace classifier, such as that of another tokenizer
+     * @param quoteMode       Quote parsing mode, see {@link CSVReader.QuoteParsingMode} for details
+     * @throws IllegalArgumentException If either separator is not an ASCII character
+     */
+    protected Utf8Tokenizer(
+            int unitSeparator,
+            int recordSeparator,
+            boolean trimWhitespace,
+            Whitespace isWhitespace,
+            CSVReader.QuoteParsingMode quoteMode
+    ) throws IllegalArgumentException {
+        super(unitSeparator, recordSeparator, trimWhitespace, isWhitespace, quoteMode);
+        if (!isAscii(unitSeparator) || !isAscii(recordSeparator)) throw new IllegalArgumentException("UTF-8 tokenizer requires ASCII separators");
+        if (quoteMode == CSVReader.QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS) {
+            this.unquotedScanner = DelimiterScanner.create(unitSeparator, recordSeparator, '"');
+        } else {
+            this.unquotedScanner = DelimiterScanner.create(unitSeparator, recordSeparator);
+        }
+        this.quotedScanner = DelimiterScanner.create('"');
+        this.unitBuffer = new byte[0];
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                               .onMalformedInput(CodingErrorAction.REPLACE)
+                               .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * @return True if the specified codepoint is encoded as a single byte in UTF-8
+     */
+    static boolean isAscii(int codepoint) {
+        return codepoint >= 0 && codepoint < 0x80;
+    }
+
+    /**
+     * Makes more input available in {@link #buffer}, after {@link #limit}
+     * <br>
+     * Buffer contents before {@link #rowStart} may be discarded; Implementations must adjust {@link #position}, {@link #limit}, and {@link #rowStart} if the retained contents are moved.
+     *
+     * @return False if end-of-stream has been reached, true if at least one byte was made available
+     * @throws IOException If an IO error occurs while reading from input
+     */
+    protected abstract boolean fill() throws IOException;
+
+    @Override
+    boolean hasInput() throws IOException {
+        return position < limit || fill();
+    }
+
+    /**
+     * Decodes the codepoint at the current position, without advancing. Sets {@link #currentLength} to the encoded length of the codepoint.
+     *
+     * @return Single codepoint, U+FFFD for malformed input, or -1 if end-of-stream has been reached
+     * @throws IOException If an IO error occurs while reading from input
+     */
+    private int current() throws IOException {
+        if (position == limit && !fill()) return -1;
+        byte lead = buffer.get(position);
+        if (lead >= 0) {
+            currentLength = 1;
+            return lead;
+        }
+        int length = sequenceLength(lead);
+        while (limit - position < length && fill()) {
+            // Read until the entire sequence is buffered
+        }
+        return decode(position, limit);
+    }
+
+    /**
+     * Decodes the codepoint at the specified index, reading no bytes at or after the specified end. Sets {@link #currentLength} to the encoded length of the codepoint.
+     *
+     * @param index Index of the first byte of the codepoint
+     * @param end   Index after the last byte that may be read
+     * @return Single codepoint, or U+FFFD for malformed input; Malformed input always has length 1
+     */
+    private int decode(int index, int end) {
+        byte lead = buffer.get(index);
+        currentLength = 1;
+        if (lead >= 0) return lead;
+
+        int length = sequenceLength(lead);
+        if (length == 0 || end - index < length) return 0xFFFD;
+        int codepoint = lead & (0x7F >> length);
+        for (int i = 1; i < length; i++) {
+            byte continuation = buffer.get(index + i);
+            if ((continuation & 0xC0) != 0x80) return 0xFFFD;
+            codepoint = (codepoint << 6) | (continuation & 0x3F);
+        }
+        int minimum = switch (length) {
+            case 2 -> 0x80;
+            case 3 -> 0x800;
+            default -> 0x10000;
+        };
+        if (codepoint < minimum || codepoint > Character.MAX_CODE_POINT || (codepoint >= Character.MIN_SURROGATE && codepoint <= Character.MAX_SURROGATE)) return 0xFFFD;  // Overlong, out of range, or encoded surrogate
+        currentLength = length;
+        return codepoint;
+    }
+
+    /**
+     * @param lead First byte of a multi-byte UTF-8 sequence
+     * @return Length of the sequence started by the lead byte, or 0 if it is not a valid lead byte
+     */
+    private static int sequenceLength(byte lead) {
+        if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        } else if ((lead & 0xF0) == 0xE0) {
+            return 3;
+        } else if ((lead & 0xF8) == 0xF0) {
+            return 4;
+        } else {
+            return 0;
+        }
+    }
+
+    @Override
+    boolean readRow() throws IOException, CSVParseException {
+        rowCount += 1;
+        rowStart = position;
+        unitCount = 0;
+
+        int codepoint = current();
+        if (codepoint == -1) return false;
+
+        while (codepoint != -1 && codepoint != recordSeparator) {
+            if (trimWhitespace) codepoint = skipWhitespace(codepoint);
+
+            int start;  // Relative to rowStart
+            int end;
+            boolean escaped = false;
+            if (codepoint == '"' && quoteMode != CSVReader.QuoteParsingMode.TREAT_QUOTES_AS_NORMAL_CHARACTERS) { // Unit in quotes
+                position += 1;
+                start = position - rowStart;
+                escaped = scanQuoted();
+                end = position - rowStart;
+                position += 1;  // Skip closing quote
+                codepoint = current();
+
+                // Trim whitespace now, as it is an error to have further (non whitespace) characters after the closing of the quoted string
+                if (trimWhitespace) codepoint = skipWhitespace(codepoint);
+                if (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator) {
+                    throw new CSVParseException("continuation character (" + Character.toString(codepoint) + ") after end of quoted block, in row " + rowCount);
+                }
+            } else {
+                start = position - rowStart;
+                codepoint = scanUnquoted();
+                end = position - rowStart;
+                if (trimWhitespace) end = trimTrailingWhitespace(start, end);
+            }
+
+            if (codepoint == unitSeparator) {
+                position += 1;
+                codepoint = current();
+            }
+
+            if (codepoint == -1) {
+                reachedEnd = true;
+            }
+
+            if (codepoint == '\n' && end > start && buffer.get(rowStart + end - 1) == '\r') {  // Remove \r\n newlines outside trim-whitespace mode.
+                end -= 1;
+            }
+            addUnit(start, end, escaped);
+        }
+        if (codepoint != -1) position += 1;    // Skip record separator
+
+        return true;
+    }
+
+    /**
+     * Advances past whitespace, stopping at separators
+     *
+     * @param codepoint Codepoint at the current position
+     * @return First non-whitespace codepoint
+     */
+    private int skipWhitespace(int codepoint) throws IOException {
+        while (codepoint != -1 && codepoint != unitSeparator && codepoint != recordSeparator && isWhitespace.test(codepoint)) {
+            position += currentLength;
+            codepoint = current();
+        }
+        return codepoint;
+    }
+
+    /**
+     * Advances to the closing quote of a quoted unit
+     *
+     * @return True if the unit contains escaped ("") quotes
+     * @throws IOException If end-of-stream is reached before the closing quote
+     */
+    private boolean scanQuoted() throws IOException {
+        boolean escaped = false;
+        while (true) {
+            int limit = this.limit;
+            int position = quotedScanner.indexOf(buffer, this.position, limit);
+            this.position = position;
+
+            if (position == limit) {
+                fillingQuotedUnit = true;
+                if (!fill()) throw new IOException("unclosed quotes in row " + rowCount);
+                fillingQuotedUnit = false;
+            } else {
+                if (position + 1 == limit && !fill()) return escaped;
+                if (this.buffer.get(this.position + 1) == '"') {
+                    escaped = true;
+                    this.position += 2;
+                } else {
+                    return escaped;
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances to the end of an unquoted unit
+     * <br>
+     * Non-ASCII bytes never match the (ASCII) separators, and are skipped over without decoding
+     *
+     * @return Codepoint terminating the unit; A separator, or -1 at end-of-stream
+     * @throws CSVParseException If a double-quote is encountered while using {@link CSVReader.QuoteParsingMode#REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS}
+     */
+    private int scanUnquoted() throws IOException, CSVParseException {
+        while (true) {
+            int limit = this.limit;
+            int position = unquotedScanner.indexOf(buffer, this.position, limit);
+            this.position = position;
+
+            if (position == limit) {
+                if (!fill()) return -1;
+                continue;
+            }
+            byte character = buffer.get(position);
+            if (character == unitSeparator || character == recordSeparator) {
+                return character;
+            } else {
+                throw new CSVParseException("double-quote mark in non-quoted block, in row " + rowCount);
+            }
+        }
+    }
+
+    /**
+     * @param start Start of unit, relative to rowStart
+     * @param end   End of unit, relative to rowStart
+     * @return End of unit with trailing whitespace removed
+     */
+    private int trimTrailingWhitespace(int start, int end) {
+        while (end > start) {
+            int last = rowStart + end - 1;
+            byte character = buffer.get(last);
+            if (character >= 0) {
+                if (isWhitespace.test((int) character)) {
+                    end -= 1;
+                } else {
+                    break;
+                }
+            } else {
+                // Step back to the lead byte of the last codepoint; Malformed trailing bytes are decoded individually
+                int lead = last;
+                while (lead > rowStart + start && last - lead < 3 && (buffer.get(lead) & 0xC0) == 0x80) lead--;
+                int codepoint = decode(lead, rowStart + end);
+                int length = currentLength;
+                if (lead + length != last + 1) {
+                    codepoint = 0xFFFD;
+                    length = 1;
+                }
+                if (isWhitespace.test(codepoint)) {
+                    end -= length;
+                } else {
+                    break;
+                }
+            }
+        }
+        return end;
+    }
+
+    @Override
+    void rewindRow() {
+        position = rowStart;
+        unitCount = 0;
+        rowCount -= 1;
+    }
+
+    @Override
+    String unit(int index) {
+        int start = rowStart + unitStarts[index];
+        int end = rowStart + unitEnds[index];
+        if (start == end) return "";
+        UnitCache cache = unitCache(index);
+        if (!unitEscaped[index] && buffer.hasArray()) return materialize(cache, buffer.array(), buffer.arrayOffset() + start, end - start);
+
+        if (!unitEscaped[index]) {
+            if (unitBuffer.length < end - start) unitBuffer = new byte[end - start];
+            buffer.get(start, unitBuffer, 0, end - start);
+            return materialize(cache, unitBuffer, 0, end - start);
+        }
+        int length = unescape(start, end);
+        return materialize(cache, unitBuffer, 0, length);
+    }
+
+    /**
+     * @param cache  Cache for the unit's column, or null if not deduplicated
+     * @param array  Array containing the unit
+     * @param offset Index of the first byte
+     * @param length Amount of bytes
+     * @return Decoded unit
+     */
+    private static String materialize(UnitCache cache, byte[] array, int offset, int length) {
+        return cache != null ? cache.get(array, offset, length) : new String(array, offset, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    void view(int index, FieldView view) {
+        int start = rowStart + unitStarts[index];
+        int end = rowStart + unitEnds[index];
+        boolean escaped = unitEscaped[index];
+        // Decoded units never contain more chars than bytes
+        char[] chars = view.scratch(end - start);
+
+        // ASCII prefix is copied directly
+        int length = 0;
+        int i = start;
+        while (i < end) {
+            byte character = buffer.get(i);
+            if (character < 0) break;
+            chars[length++] = (char) character;
+            i += (escaped && character == '"') ? 2 : 1;
+        }
+
+        if (i < end) {
+            ByteBuffer source;
+            if (escaped) {
+                source = unitSource(unescape(i, end));
+            } else {
+                if (bufferSource == null || bufferSourceOf != buffer) {
+                    bufferSource = buffer.duplicate();
+                    bufferSourceOf = buffer;
+                }
+                source = bufferSource.limit(end).position(i);
+            }
+            CharBuffer destination = view.scratchBuffer().clear().position(length);
+            decoder.reset();
+            decoder.decode(source, destination, true);
+            decoder.flush(destination);
+            length = destination.position();
+        }
+        view.set(chars, 0, length);
+    }
+
+    /**
+     * Copies a unit into {@link #unitBuffer}, collapsing escaped quotes; Within quoted units, quotes always occur in pairs
+     *
+     * @param start Start of the unit in the buffer
+     * @param end   End of the unit in the buffer
+     * @return Length of the unescaped unit
+     */
+    private int unescape(int start, int end) {
+        if (unitBuffer.length < end - start) unitBuffer = new byte[end - start];
+        int length = 0;
+        int segmentStart = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '"') {
+                i += 1;
+                buffer.get(segmentStart, unitBuffer, length, i - segmentStart);
+                length += i - segmentStart;
+                segmentStart = i + 1;
+            }
+        }
+        buffer.get(segmentStart, unitBuffer, length, end - segmentStart);
+        length += end - segmentStart;
+        return length;
+    }
+
+    /**
+     * @param length Length of the unit in {@link #unitBuffer}
+     * @return Reusable buffer wrapping {@link #unitBuffer}, limited to the specified length
+     */
+    private ByteBuffer unitSource(int length) {
+        if (unitSource == null || unitSource.array() != unitBuffer) unitSource = ByteBuffer.wrap(unitBuffer);
+        return unitSource.limit(length).position(0);
+    }
+}
@@ -0,0 +1,56 @@
+package net.sentientturtle.csv;
+
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * Whitespace definition used by tokenizers, classifying codepoints without boxing
+ * <br>
+ * ASCII codepoints are classified by a bitmap, precomputed from the definition when the tokenizer is created; Tokenizers for ranges of the same file share the classifier. Other codepoints are classified by a fallback predicate;
+ * For {@link Whitespace#CHARACTER_IS_WHITESPACE}, the definition used by the {@link CSVReader.Builder} presets, the fallback calls {@link Character#isWhitespace(int)} directly.
+ */
+final class Whitespace {
+    /**
+     * Default whitespace definition, recognized by {@link Whitespace#of(Function)}
+     */
+    static final Function<Integer, Boolean> CHARACTER_IS_WHITESPACE = Character::isWhitespace;
+
+    private final long lowBits;     // Codepoints 0-63
+    private final long highBits;    // Codepoints 64-127
+    private final IntPredicate fallback;
+
+    private Whitespace(long lowBits, long highBits, IntPredicate fallback) {
+        this.lowBits = lowBits;
+        this.highBits = highBits;
+        this.fallback = fallback;
+    }
+
+    /**
+     * @param definition Function used to determine whitespace, takes codepoint integers; Must consistently return the same result for the same codepoint
+     * @return Whitespace classifier for the specified definition
+     */
+    static Whitespace of(Function<Integer, Boolean> definition) {
+        long lowBits = 0;
+        long highBits = 0;
+        for (int codepoint = 0; codepoint < 64; codepoint++) {
+            if (definition.apply(codepoint)) lowBits |= 1L << codepoint;
+            if (definition.apply(codepoint + 64)) highBits |= 1L << codepoint;
+        }
+        IntPredicate fallback = definition == CHARACTER_IS_WHITESPACE ? Character::isWhitespace : definition::apply;
+        return new Whitespace(lowBits, highBits, fallback);
+    }
+
+    /**
+     * @param codepoint Codepoint to classify
+     * @return True if the codepoint is whitespace
+     */
+    boolean test(int codepoint) {
+        if (codepoint >>> 6 == 0) {
+            return (lowBits >>> codepoint & 1) != 0;
+        } else if (codepoint >>> 6 == 1) {
+            return (highBits >>> codepoint & 1) != 0;   // Shift distance is taken modulo 64
+        } else {
+            return fallback.test(codepoint);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package net.sentientturtle.csv.reflection;
 
 import net.sentientturtle.csv.ThrowingFunction;
+import net.sentientturtle.csv.util.Util;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.util.Arrays;
 import java.util.Objects;
@@ -246,6 +250,11 @@ public class TypeToken<T> {
     }
 
     /**
+     * Returns the canonical constructor of the record represented by this token, as a function taking an array of constructor arguments
+     * <br>
+     * The constructor is invoked through a method handle rather than through {@link Constructor#newInstance(Object...)}, such that it is not reflectively invoked for every record and may be inlined.
+     * Behaves identically to {@link Constructor#newInstance(Object...)}: Arguments are unboxed and widened as by reflection, mismatched arguments throw {@link IllegalArgumentException}, and exceptions thrown by the constructor are wrapped in {@link InvocationTargetException}.
+     *
      * @return record canonical constructor for the record represented by this token
      * @throws NoSuchMethodException if constructor cannot be resolved
      * @throws IllegalStateException if this token does not represent a record
@@ -261,15 +270,37 @@ public class TypeToken<T> {
             for (int i = 0; i < recordComponents.length; i++) {
                 parameters[i] = recordComponents[i].getType();
             }
+            MethodHandle constructorHandle;
             try {
                 Constructor<T> constructor = rawType.getConstructor(parameters);
-                return constructor::newInstance;
+                constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor);
+            } catch (IllegalAccessException e) {
+                throw new NoSuchMethodException("cannot access canonical constructor for record: " + e.getMessage());
             } catch (NoSuchMethodException e) {
                 int modifiers = rawType.getModifiers();
                 if (!Modifier.isPublic(modifiers)) throw new NoSuchMethodException("cannot find canonical constructor for record; Ensure that the record is public");
                 // TODO: Insert error message when record isn't accessible b/c of java 9 packages
                 throw new NoSuchMethodException("cannot find canonical constructor for record: " + e.getMessage());
             }
+            // Exceptions of the constructor are wrapped before arguments are spread and adapted, such that only adaptation throws unwrapped exceptions
+            MethodHandle handle = Util.wrapConstructorExceptions(constructorHandle)
+                                          .asSpreader(Object[].class, parameters.length)
+                                          .asType(MethodType.methodType(Object.class, Object[].class));
+            int parameterCount = parameters.length;
+            return arguments -> {
+                if (arguments.length != parameterCount) throw new IllegalArgumentException("wrong number of arguments");
+                try {
+                    @SuppressWarnings("unchecked")
+                    T record = (T) handle.invokeExact(arguments);
+                    return record;
+                } catch (NullPointerException e) {   // Null passed for primitive
+                    throw new IllegalArgumentException();
+                } catch (ClassCastException e) {
+                    throw new IllegalArgumentException("argument type mismatch");
+                } catch (Throwable e) {
+                    return Util.sneakyThrow(e);
+                }
+            };
         } else {
             throw new IllegalStateException("token does not represent a record");
         }
@@ -3,6 +3,10 @@ package net.sentientturtle.csv.util;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -11,6 +15,16 @@ import java.util.Objects;
  * Contains various utility functions
  */
 public class Util {
+    private static final MethodHandle WRAP_CONSTRUCTOR_EXCEPTION;
+
+    static {
+        try {
+            WRAP_CONSTRUCTOR_EXCEPTION = MethodHandles.lookup().findStatic(Util.class, "wrapConstructorException", MethodType.methodType(Object.class, Throwable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * Asserts array and it's values are non-null
      */
@@ -45,6 +59,23 @@ public class Util {
         return map;
     }
 
+    /**
+     * Wraps exceptions thrown by a constructor in {@link InvocationTargetException}, as {@link java.lang.reflect.Constructor#newInstance(Object...)} does
+     *
+     * @param constructor Method handle of a constructor
+     * @return Method handle of the same type, throwing {@link InvocationTargetException} if the constructor throws
+     */
+    public static MethodHandle wrapConstructorExceptions(MethodHandle constructor) {
+        MethodType type = constructor.type();
+        MethodHandle handler = MethodHandles.dropArguments(WRAP_CONSTRUCTOR_EXCEPTION.asType(MethodType.methodType(type.returnType(), Throwable.class)), 1, type.parameterList());
+        return MethodHandles.catchException(constructor, Throwable.class, handler);
+    }
+
+    @SuppressWarnings("unused") // Invoked through WRAP_CONSTRUCTOR_EXCEPTION
+    private static Object wrapConstructorException(Throwable throwable) throws InvocationTargetException {
+        throw new InvocationTargetException(throwable);
+    }
+
     /**
      * Throws checked exception as if it were a runtime exception
      */
@@ -6,7 +6,18 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 /**
  * Tests for {@link CSVMapper}
@@ -18,6 +29,12 @@ public class CSVMapperTest {
 
     public record StringRecord(String one, String two, String three) {}
 
+    public record ValidatedRecord(String one, long two) {
+        public ValidatedRecord {
+            if (two < 0) throw new IllegalStateException("negative");
+        }
+    }
+
     public record GenericRecord<T, U, V>(T one, U two, V three) {}
 
     private CSVReader.Builder createTestReader() {
@@ -364,4 +381,301 @@ public class CSVMapperTest {
                         .readRecord()
         );
     }
+
+    @Test
+    public void parallelFileStream() throws Exception {
+        // Large enough to be split into multiple parts
+        StringBuilder document = new StringBuilder("one,three,two\n");
+        List<TestRecord> expected = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            String one = i % 3 == 0 ? "value\n" + i : "value" + i;
+            document.append('"').append(one).append("\",").append(i).append(".5,").append(i).append('\n');
+            expected.add(new TestRecord(one, i, i + 0.5));
+        }
+
+        Path file = Files.createTempFile("CSVMapperTest", ".csv");
+        try {
+            Files.writeString(file, document);
+            try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).build(file)) {
+                Assertions.assertIterableEquals(expected, mapper.stream(true).toList());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void concurrentBatches() throws Exception {
+        try (ConcurrentCSVReader<TestRecord> shared = createTestMapper(new TypeToken<>(TestRecord.class), true).build("three,two,one\n0.5,1,a\n1.5,2,b\n2.5,3,c\n").concurrent(2)) {
+            Assertions.assertEquals(List.of(new TestRecord("a", 1, 0.5), new TestRecord("b", 2, 1.5)), shared.nextBatch());
+            Assertions.assertEquals(List.of(new TestRecord("c", 3, 2.5)), shared.nextBatch());
+            Assertions.assertEquals(List.of(), shared.nextBatch());
+        }
+
+        try (ConcurrentCSVReader<TestRecord> shared = createTestMapper(new TypeToken<>(TestRecord.class), true).build("one,two,three\na,b,c").concurrent(2)) {
+            Assertions.assertThrows(NumberFormatException.class, shared::nextBatch);
+        }
+    }
+
+    @Test
+    public void pipelinedStream() throws Exception {
+        StringBuilder document = new StringBuilder("one,two,three\n");
+        List<TestRecord> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            document.append("value").append(i).append(',').append(i).append(',').append(i).append(".5\n");
+            expected.add(new TestRecord("value" + i, i, i + 0.5));
+        }
+
+        try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).build(document.toString())) {
+            Assertions.assertIterableEquals(expected, mapper.pipelinedStream(4).toList());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).build(document.toString())) {
+            Assertions.assertIterableEquals(expected, mapper.pipelinedStream(2, 7, executor).toList());
+        } finally {
+            executor.shutdown();
+        }
+
+        // Records before the failing row are yielded in order, after which the exception is thrown
+        document.append("value,invalid,0\n").append(document, 14, 100);
+        List<TestRecord> actual = new ArrayList<>();
+        try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).build(document.toString())) {
+            Assertions.assertThrows(NumberFormatException.class, () -> mapper.pipelinedStream(3, 16, null).forEachOrdered(actual::add));
+        }
+        Assertions.assertIterableEquals(expected, actual);
+
+        // Closing a partially consumed stream stops the pipeline
+        try (
+                CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).build(document.toString());
+                Stream<TestRecord> stream = mapper.pipelinedStream(2, 1, null)
+        ) {
+            Assertions.assertIterableEquals(expected.subList(0, 10), stream.limit(10).toList());
+        }
+    }
+
+    public record ColumnRecord(String name, int count, Long total, double ratio, boolean flag, float weight, Integer optional, char initial) {}
+
+    @Test
+    public void readColumns() throws Exception {
+        // Columns in a different order than the record components, with quoted and repeated String values
+        StringBuilder document = new StringBuilder("initial,optional,weight,flag,ratio,total,count,name\n");
+        for (int i = 0; i < 300; i++) {
+            document.append((char) ('a' + i % 26)).append(',').append(i % 3 == 0 ? "" : String.valueOf(i)).append(',').append(i).append(".25,")
+                    .append(i % 2 == 0).append(',').append(i).append(".5,").append(i * 1_000_000_000L).append(',').append(-i).append(",\"name\"\"").append(i % 7).append("\"\n");
+        }
+        document.setLength(document.length() - 1);
+        CSVMapper.Builder<ColumnRecord> builder = createTestMapper(new TypeToken<>(ColumnRecord.class), true)
+                                                          .addTypeMapper(new TypeToken<>(Integer.class), string -> string.isEmpty() ? null : Integer.valueOf(string));
+        List<ColumnRecord> expected = new ArrayList<>();
+        builder.build(document.toString()).forEach(expected::add);
+
+        try (CSVMapper<ColumnRecord> mapper = builder.build(document.toString())) {
+            ColumnBatch batch = new ColumnBatch();
+            List<ColumnRecord> actual = new ArrayList<>();
+            while (mapper.readColumns(batch, 128) > 0) {
+                Assertions.assertEquals(8, batch.columnCount());
+                Assertions.assertEquals(ColumnBatch.ColumnType.STRING, batch.columnType(batch.columnIndex("name")));
+                Assertions.assertEquals(ColumnBatch.ColumnType.DOUBLE, batch.columnType(5));
+                Assertions.assertEquals(ColumnBatch.ColumnType.OBJECT, batch.columnType(7));
+                Assertions.assertEquals(7, batch.dictionary(0).length);
+                for (int row = 0; row < batch.rowCount(); row++) {
+                    actual.add(new ColumnRecord(
+                            batch.getString(0, row),
+                            batch.ints(1)[row],
+                            batch.longs(2)[row],
+                            batch.doubles(3)[row],
+                            batch.getBoolean(4, row),
+                            (float) batch.doubles(5)[row],
+                            batch.isNull(6, row) ? null : batch.ints(6)[row],
+                            (Character) batch.objects(7)[row]
+                    ));
+                }
+            }
+            Assertions.assertIterableEquals(expected, actual);
+            Assertions.assertEquals(0, batch.rowCount());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> batch.ints(0));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.columnType(8));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> mapper.readColumns(batch, 0));
+        }
+
+        // Rows before a failing row remain in the batch
+        try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), false).build("a,1,0.5\nb,2,1.5\nc,x,2.5\nd,4,3.5")) {
+            ColumnBatch batch = new ColumnBatch();
+            Assertions.assertThrows(NumberFormatException.class, () -> mapper.readColumns(batch, 10));
+            Assertions.assertEquals(2, batch.rowCount());
+            Assertions.assertEquals("b", batch.getString(0, 1));
+            Assertions.assertArrayEquals(new String[]{"a", "b"}, batch.dictionary(0));    // Values of the failing row are removed
+            Assertions.assertEquals(1, mapper.readColumns(batch, 10));
+            Assertions.assertEquals(3.5, batch.doubles(2)[0]);
+        }
+        // Including when the failing row grew the dictionary's hash table
+        StringBuilder distinct = new StringBuilder();
+        for (int i = 0; i < 16; i++) distinct.append("value").append(i).append(",1,0.5\n");
+        try (CSVMapper<StringRecord> mapper = createTestMapper(new TypeToken<>(StringRecord.class), false)
+                                                      .addTypeMapper(new TypeToken<>(String.class), string -> {
+                                                          if (string.equals("fail")) throw new IllegalStateException("fail");
+                                                          return string;
+                                                      })
+                                                      .build(distinct + "value16,fail,x")) {
+            ColumnBatch batch = new ColumnBatch();
+            Assertions.assertThrows(IllegalStateException.class, () -> mapper.readColumns(batch, 100));
+            Assertions.assertEquals(16, batch.dictionary(0).length);
+            Assertions.assertEquals(List.of("1"), List.of(batch.dictionary(1)));
+        }
+        try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), false).build("a,1")) {
+            Assertions.assertThrows(CSVParseException.class, () -> mapper.readColumns(new ColumnBatch(), 10));
+        }
+    }
+
+    @Test
+    public void seekToRow() throws Exception {
+        StringBuilder document = new StringBuilder("three,two,one");
+        for (int i = 0; i < 100; i++) document.append('\n').append(i).append(".5,").append(i).append(",value").append(i);
+        Path file = Files.createTempFile("CSVMapperTest", ".csv");
+        try {
+            Files.writeString(file, document);
+            RowIndex index = createTestReader().buildIndex(file, 16);
+            try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).build(file)) {
+                mapper.seekToRow(50, index);    // Row 50 is the 50th record, after the header
+                Assertions.assertEquals(new TestRecord("value49", 49, 49.5), mapper.readRecord());
+                mapper.seekToRow(1, index);
+                Assertions.assertEquals(new TestRecord("value0", 0, 0.5), mapper.readRecord());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void checkpoint() throws Exception {
+        String document = "three,two,one\n0.5,1,a\n1.5,2,b\n2.5,3,c";
+        Path file = Files.createTempFile("CSVMapperTest", ".csv");
+        try {
+            Files.writeString(file, document);
+            CSVMapper.Builder<TestRecord> builder = createTestMapper(new TypeToken<>(TestRecord.class), true);
+            Checkpoint beforeHeader;
+            Checkpoint afterRecord;
+            try (CSVMapper<TestRecord> mapper = builder.build(file)) {
+                beforeHeader = mapper.checkpoint();
+                Assertions.assertEquals(new TestRecord("a", 1, 0.5), mapper.readRecord());
+                afterRecord = mapper.checkpoint();
+            }
+
+            // The header is not read again, and columns remain bound to record components
+            try (CSVMapper<TestRecord> mapper = builder.resumeFrom(afterRecord).build(file)) {
+                Assertions.assertIterableEquals(List.of(new TestRecord("b", 2, 1.5), new TestRecord("c", 3, 2.5)), mapper);
+            }
+            try (CSVMapper<TestRecord> mapper = builder.resumeFrom(beforeHeader).build(file)) {
+                Assertions.assertIterableEquals(List.of(new TestRecord("a", 1, 0.5), new TestRecord("b", 2, 1.5), new TestRecord("c", 3, 2.5)), mapper);
+            }
+            Assertions.assertThrows(IllegalStateException.class, () -> createTestMapper(new TypeToken<>(FourStringRecord.class), true).resumeFrom(afterRecord).validate());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void buildFollowing() throws Exception {
+        Path file = Files.createTempFile("CSVMapperTest", ".csv");
+        try {
+            Files.writeString(file, "three,two");
+            Thread appender = new Thread(() -> {
+                try {
+                    Thread.sleep(20);
+                    Files.writeString(file, ",one\n0.5,1,a\n", StandardOpenOption.APPEND);
+                    Thread.sleep(20);
+                    Files.writeString(file, "1.5,2,b\n", StandardOpenOption.APPEND);
+                } catch (IOException | InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            appender.start();
+            // The header is bound once it has been written completely
+            try (CSVMapper<TestRecord> mapper = createTestMapper(new TypeToken<>(TestRecord.class), true).buildFollowing(file, Duration.ofMillis(1))) {
+                Assertions.assertEquals(new TestRecord("a", 1, 0.5), mapper.readRecord());
+                Assertions.assertEquals(new TestRecord("b", 2, 1.5), mapper.readRecord());
+                Assertions.assertTrue(mapper.hasNext());
+            }
+            appender.join();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void recordConstructor() throws Exception {
+        ThrowingFunction<Object[], ValidatedRecord> constructor = new TypeToken<>(ValidatedRecord.class).getRecordConstructor();
+        Assertions.assertEquals(new ValidatedRecord("a", 1), constructor.apply(new Object[]{"a", 1L}));
+        Assertions.assertEquals(new ValidatedRecord("a", 1), constructor.apply(new Object[]{"a", 1}));    // Widened as by reflection
+        // Exceptions are identical to those of Constructor#newInstance
+        InvocationTargetException exception = Assertions.assertThrows(InvocationTargetException.class, () -> constructor.apply(new Object[]{"a", -1L}));
+        Assertions.assertEquals("negative", exception.getCause().getMessage());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> constructor.apply(new Object[]{"a", null}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> constructor.apply(new Object[]{1L, "a"}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> constructor.apply(new Object[]{"a"}));
+    }
+
+    /**
+     * Maps the document with and without generated mappers, asserting identical records and exceptions
+     */
+    private static <R extends Record> void assertGeneratedEquivalent(CSVMapper.Builder<R> builder, String document) throws Exception {
+        List<Object> expected = new ArrayList<>();
+        try (CSVMapper<R> mapper = builder.useGeneratedMappers(false).build(document)) {
+            while (mapper.iterator().hasNext()) {
+                try {
+                    expected.add(mapper.readRecord());
+                } catch (Exception e) {
+                    expected.add(e.getClass().getName() + ": " + e.getMessage() + " / " + e.getCause());
+                }
+            }
+        }
+        List<Object> actual = new ArrayList<>();
+        try (CSVMapper<R> mapper = builder.useGeneratedMappers(true).build(document)) {
+            while (mapper.iterator().hasNext()) {
+                try {
+                    actual.add(mapper.readRecord());
+                } catch (Exception e) {
+                    actual.add(e.getClass().getName() + ": " + e.getMessage() + " / " + e.getCause());
+                }
+            }
+        }
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void generatedMappers() throws Exception {
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(TestRecord.class), false), "a,1,0.5\nb,x,1\nc,2\nd,3,4,5\ne,4,1e400");
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(TestRecord.class), false).inferEmptyTrailingColumns(true).ignoreExcessColumns(true), "a,1,0.5\nc,2\nd,3,4,5");
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(TestRecord.class), true), "three,extra,two,one\n0.5,x,1,a\n1.5,y,2\n2.5,z,3,c");
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(PrimitiveTypes.class), false), DEFAULT_TYPE_VALUES + "\n-1,-2,-3,-4,-5.5,-6.5,FALSE,b\n300,1,1,1,1,1,true,a\n1,2,3,4,5,6,yes,c\n1,2,3,4,5,6,true,cc");
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(BoxedTypes.class), false), DEFAULT_TYPE_VALUES + "\n1,2,x,4,5,6,true,a");
+        // Quoted and escaped units, which are viewed through scratch space rather than in place
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(PrimitiveTypes.class), false), "\"1\",\"2\",\"3\",\"4\",\"5.5\",\"6.5\",\"true\",\"a\"\n1,2,\"3\"\"\",4,5,6,true,a\n1,2,3,\"4\"\"\",5,6,\"tr\"\"ue\",a");
+        assertGeneratedEquivalent(createTestReader().trimWhitespace(true).mapped(new TypeToken<>(BoxedTypes.class), false), " 1 , 2 , 3 , 4 , 5.5 , 6.5 , true , a ");
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<GenericRecord<String, Integer, Double>>() {}, false), "a,1,0.5\nb,x,1");
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(ValidatedRecord.class), false), "a,1\nb,-1\nc,x");
+        // Custom type mappers, including mappers returning values the constructor does not accept
+        assertGeneratedEquivalent(
+                createTestMapper(new TypeToken<>(TestRecord.class), false)
+                        .addTypeMapper(new TypeToken<>(int.class), string -> Integer.parseInt(string, 16))
+                        .addTypeMapper(new TypeToken<>(String.class), string -> string.isEmpty() ? null : string.toUpperCase()),
+                "a,ff,0.5\n,10,1"
+        );
+        ThrowingFunction<String, Object> untyped = string -> switch (string) {
+            case "null" -> null;
+            case "string" -> string;
+            case "short" -> (short) 1;
+            default -> 1L;
+        };
+        assertGeneratedEquivalent(createTestMapper(new TypeToken<>(TestRecord.class), false).addTypeMappers(new HashMap<>(Map.of(new TypeToken<>(int.class), untyped))), "a,short,1\nb,null,1\nc,string,1\nd,long,1");
+
+        // Generated mappers are reused per column binding
+        CSVMapper.Builder<TestRecord> builder = createTestMapper(new TypeToken<>(TestRecord.class), true).useGeneratedMappers(true);
+        Assertions.assertIterableEquals(List.of(new TestRecord("a", 1, 0.5)), builder.build("one,two,three\na,1,0.5"));
+        Assertions.assertIterableEquals(List.of(new TestRecord("a", 1, 0.5)), builder.build("three,two,one\n0.5,1,a"));
+        Assertions.assertIterableEquals(List.of(new TestRecord("a", 1, 0.5)), builder.build("one,two,three\na,1,0.5"));
+        Assertions.assertDoesNotThrow(() -> createTestMapper(new TypeToken<>(Empty.class), false).ignoreExcessColumns(true).useGeneratedMappers(true).build("x").readRecord());
+    }
+
+    public record Empty() {}
 }
@@ -0,0 +1,128 @@
+package net.sentientturtle.csv;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link CSVPushParser}
+ */
+public class CSVPushParserTest {
+    public record TestRecord(String one, int two, double three) {}
+
+    // Quoted units with separators and newlines, escaped quotes, a non-ASCII character and a character outside the BMP
+    private static final String DOCUMENT = "header1,header2\r\n\"value,\n1\",välue😊\n\"a\"\"b\", c \n\nlast";
+
+    private static List<List<String>> readAll(CSVReader.Builder builder, String document) throws IOException, CSVParseException {
+        List<List<String>> rows = new ArrayList<>();
+        Tokenizer tokenizer = builder.build(document).tokenizer();
+        while (tokenizer.readRow()) rows.add(List.of(tokenizer.units()));
+        return rows;
+    }
+
+    @Test
+    public void chunkedInput() throws IOException, CSVParseException {
+        for (CSVReader.Builder builder : List.of(CSVReader.Builder.DEFAULT_RFC4180(), CSVReader.Builder.COMMA_SEPARATED_TRIM_WHITESPACE())) {
+            List<List<String>> expected = readAll(builder, DOCUMENT);
+            byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+            // Every chunk size splits rows, quotes, and multi-byte characters at different points
+            for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize++) {
+                List<List<String>> fromBytes = new ArrayList<>();
+                CSVPushParser<String[]> byteParser = builder.buildPushParser(row -> fromBytes.add(List.of(row)));
+                for (int i = 0; i < bytes.length; i += chunkSize) byteParser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+                byteParser.finish();
+                Assertions.assertEquals(expected, fromBytes);
+
+                List<List<String>> fromChars = new ArrayList<>();
+                CSVPushParser<String[]> charParser = builder.buildPushParser(row -> fromChars.add(List.of(row)));
+                for (int i = 0; i < DOCUMENT.length(); i += chunkSize) charParser.feed(CharBuffer.wrap(DOCUMENT, i, Math.min(i + chunkSize, DOCUMENT.length())));
+                charParser.finish();
+                Assertions.assertEquals(expected, fromChars);
+            }
+        }
+    }
+
+    @Test
+    public void rowsEmittedPerChunk() throws IOException, CSVParseException {
+        List<String> rows = new ArrayList<>();
+        CSVPushParser<String[]> parser = CSVReader.Builder.DEFAULT_RFC4180().buildPushParser(row -> rows.add(String.join("|", row)));
+        parser.feed(CharBuffer.wrap("a,b\nc,\"d"));
+        Assertions.assertEquals(List.of("a|b"), rows);
+        parser.feed(CharBuffer.wrap("\n\"\n"));
+        Assertions.assertEquals(List.of("a|b", "c|d\n"), rows);
+        parser.finish();
+        Assertions.assertEquals(List.of("a|b", "c|d\n"), rows);
+    }
+
+    @Test
+    public void largeQuotedUnit() throws IOException, CSVParseException {
+        // A quoted unit spanning many chunks, each containing newlines and escaped quotes, is not parsed again until it is closed
+        StringBuilder unit = new StringBuilder();
+        while (unit.length() < 1024 * 1024) unit.append("line of a \"\"large\"\" quoted unit,\n");
+        String document = "a,\"" + unit + "\",b\nc,d";
+        String expected = unit.toString().replace("\"\"", "\"");
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        int chunkSize = 4096;
+        int unitEnd = document.indexOf("\",b");
+
+        List<List<String>> fromBytes = new ArrayList<>();
+        CSVPushParser<String[]> byteParser = CSVReader.Builder.DEFAULT_RFC4180().buildPushParser(row -> fromBytes.add(List.of(row)));
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            byteParser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+            if (i + chunkSize < unitEnd) Assertions.assertTrue(byteParser.inQuotedUnit(), "chunk at " + i);
+        }
+        byteParser.finish();
+        Assertions.assertEquals(List.of(List.of("a", expected, "b"), List.of("c", "d")), fromBytes);
+        Assertions.assertEquals(expected.length(), fromBytes.get(0).get(1).length());
+
+        List<List<String>> fromChars = new ArrayList<>();
+        CSVPushParser<String[]> charParser = CSVReader.Builder.DEFAULT_RFC4180().buildPushParser(row -> fromChars.add(List.of(row)));
+        for (int i = 0; i < document.length(); i += chunkSize) {
+            charParser.feed(CharBuffer.wrap(document, i, Math.min(i + chunkSize, document.length())));
+            if (i + chunkSize < unitEnd) Assertions.assertTrue(charParser.inQuotedUnit(), "chunk at " + i);
+        }
+        charParser.finish();
+        Assertions.assertEquals(fromBytes, fromChars);
+    }
+
+    @Test
+    public void mappedRecords() throws Exception {
+        List<TestRecord> records = new ArrayList<>();
+        CSVPushParser<TestRecord> parser = CSVReader.Builder.DEFAULT_RFC4180()
+                                                   .mapped(TestRecord.class, true)
+                                                   .buildPushParser(records::add);
+        for (String chunk : new String[]{"three,tw", "o,one\n0.5,1,\"a", "\n\"\n1.5,2,b"}) parser.feed(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+        parser.finish();
+        Assertions.assertEquals(List.of(new TestRecord("a\n", 1, 0.5), new TestRecord("b", 2, 1.5)), records);
+
+        CSVPushParser<TestRecord> failing = CSVReader.Builder.DEFAULT_RFC4180()
+                                                    .mapped(TestRecord.class, false)
+                                                    .buildPushParser(records::add);
+        Assertions.assertThrows(NumberFormatException.class, () -> failing.feed(CharBuffer.wrap("a,b,c\n")));
+        Assertions.assertThrows(IllegalStateException.class, () -> failing.feed(CharBuffer.wrap("a,1,1.5\n")));
+    }
+
+    @Test
+    public void parserState() throws IOException, CSVParseException {
+        CSVPushParser<String[]> unclosed = CSVReader.Builder.DEFAULT_RFC4180().buildPushParser(row -> {});
+        unclosed.feed(CharBuffer.wrap("a,\"b\n"));
+        Assertions.assertThrows(IOException.class, unclosed::finish);
+
+        CSVPushParser<String[]> mixed = CSVReader.Builder.DEFAULT_RFC4180().buildPushParser(row -> {});
+        mixed.feed(CharBuffer.wrap("a"));
+        Assertions.assertThrows(IllegalStateException.class, () -> mixed.feed(ByteBuffer.allocate(1)));
+
+        CSVPushParser<String[]> finished = CSVReader.Builder.DEFAULT_RFC4180().buildPushParser(row -> {});
+        finished.finish();
+        Assertions.assertThrows(IllegalStateException.class, () -> finished.feed(CharBuffer.wrap("a")));
+
+        CSVPushParser<String[]> nonAsciiSeparator = CSVReader.Builder.DEFAULT_RFC4180().setUnitSeparator('§').buildPushParser(row -> {});
+        Assertions.assertThrows(IllegalStateException.class, () -> nonAsciiSeparator.feed(ByteBuffer.allocate(1)));
+    }
+}
@@ -1,12 +1,28 @@
 package net.sentientturtle.csv;
 
+import net.sentientturtle.csv.exception.BooleanParseException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Tests for {@link CSVReader}
@@ -118,6 +134,11 @@ public class CSVReaderTest {
         CSVReader.Builder customTrim = createTestReader().trimWhitespace(true).setWhitespaceDefinition(codepoint -> codepoint == (int) '_');
         assertCSVLineEquals(customTrim, LEADING_AND_TRAILING_UNDERSCORE, "value1", "value2", "  value3__  ");
 
+        // Non-ASCII codepoints are classified by the definition itself, rather than the precomputed ASCII table
+        assertCSVLineEquals(yesTrim, "\u3000value 1\u2003, value 2\u3000", "value 1", "value 2");
+        CSVReader.Builder nonAsciiTrim = createTestReader().trimWhitespace(true).setWhitespaceDefinition(codepoint -> codepoint == (int) '_' || codepoint == 0xB7);
+        assertCSVLineEquals(nonAsciiTrim, "\u00B7_value1_\u00B7, value2\u00B7", "value1", " value2");
+
         CSVReader.Builder trimAndTabSeparator = createTestReader()
                                                         .trimWhitespace(true)
                                                         .setUnitSeparator('\t');
@@ -157,6 +178,287 @@ public class CSVReaderTest {
     }
 
 
+    /**
+     * Reader that yields at most one character per read, forcing the CSVReader to refill its buffer at every position
+     */
+    private static Reader tricklingReader(String input) {
+        return new Reader() {
+            private int position = 0;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (position == input.length()) return -1;
+                buffer[offset] = input.charAt(position++);
+                return 1;
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    @Test
+    public void bufferBoundaries() throws IOException, CSVParseException {
+        String document = String.join("\n", QUOTED_VALUES, SPECIAL_CHARACTERS_IN_QUOTED_VALUES, CHARACTER_OUTSIDE_BMP, ADDED_WHITESPACE + "\r", VALUES);
+        List<List<String>> expected = List.of(
+                List.of("value 1", "value 2", "value\"3", "value\"\"\"4"),
+                List.of("value,\n"),
+                List.of("value \uD83D\uDE0A", "value \uD83D\uDE0A", "value \uD83D\uDE0A"),
+                List.of("value 1", "value 2", "value 3", "value 4"),
+                List.of("value1", "value2", "value3", "value4")
+        );
+
+        CSVReader.Builder builder = createTestReader().trimWhitespace(true);
+        Assertions.assertIterableEquals(expected, builder.build(document).stream(false).map(List::of).toList());
+        Assertions.assertIterableEquals(expected, builder.build(tricklingReader(document)).stream(false).map(List::of).toList());
+
+        String longUnit = "value".repeat(100_000);
+        Assertions.assertIterableEquals(
+                List.of(List.of(longUnit, longUnit), List.of(longUnit)),
+                builder.build(tricklingReader(longUnit + ",\"" + longUnit + "\"\n" + longUnit)).stream(false).map(List::of).toList()
+        );
+
+        Assertions.assertThrows(CSVParseException.class, () -> builder.build(tricklingReader(INVALID_UNICODE_MISSING_LOW_SURROGATE_EOF)).readLine());
+    }
+
+
+    @Test
+    public void utf8Input() throws IOException, CSVParseException {
+        String document = String.join("\n", QUOTED_VALUES, SPECIAL_CHARACTERS_IN_QUOTED_VALUES, CHARACTER_OUTSIDE_BMP, ADDED_WHITESPACE + "\r", "välue1,välue2\u3000");
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        List<List<String>> expected = List.of(
+                List.of("value 1", "value 2", "value\"3", "value\"\"\"4"),
+                List.of("value,\n"),
+                List.of("value \uD83D\uDE0A", "value \uD83D\uDE0A", "value \uD83D\uDE0A"),
+                List.of("value 1", "value 2", "value 3", "value 4"),
+                List.of("välue1", "välue2")
+        );
+
+        CSVReader.Builder builder = createTestReader().trimWhitespace(true);
+        Assertions.assertIterableEquals(expected, builder.build(new ByteArrayInputStream(bytes)).stream(false).map(List::of).toList());
+
+        // Input stream yielding a single byte per read, splitting multi-byte characters across buffer refills
+        InputStream tricklingStream = new InputStream() {
+            private int position = 0;
+
+            @Override
+            public int read() {
+                return position < bytes.length ? bytes[position++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (position == bytes.length) return -1;
+                buffer[offset] = bytes[position++];
+                return 1;
+            }
+        };
+        Assertions.assertIterableEquals(expected, builder.build(tricklingStream).stream(false).map(List::of).toList());
+
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Files.write(file, bytes);
+            try (CSVReader reader = builder.build(file)) {
+                Assertions.assertIterableEquals(expected, reader.stream(false).map(List::of).toList());
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        // Malformed UTF-8 is replaced, matching InputStreamReader
+        byte[] malformed = {'a', (byte) 0xE2, ',', (byte) 0xFF, 'b'};
+        Assertions.assertArrayEquals(
+                builder.build(new InputStreamReader(new ByteArrayInputStream(malformed), StandardCharsets.UTF_8)).readLine(),
+                builder.build(new ByteArrayInputStream(malformed)).readLine()
+        );
+
+        // Non-ASCII separators fall back to decoding the input as a whole
+        CSVReader.Builder sectionSeparated = createTestReader().setUnitSeparator('§');
+        assertCSVLineEquals(sectionSeparated, "välue1§välue2", "välue1", "välue2");
+        Assertions.assertArrayEquals(new String[]{"välue1", "välue2"}, sectionSeparated.build(new ByteArrayInputStream("välue1§välue2".getBytes(StandardCharsets.UTF_8))).readLine());
+    }
+
+
+    @Test
+    public void mappedWindows() throws IOException, CSVParseException {
+        String document = String.join("\n", QUOTED_VALUES, SPECIAL_CHARACTERS_IN_QUOTED_VALUES, CHARACTER_OUTSIDE_BMP, VALUES);
+        List<List<String>> expected = List.of(
+                List.of("value 1", "value 2", "value\"3", "value\"\"\"4"),
+                List.of("value,\n"),
+                List.of("value \uD83D\uDE0A", "value \uD83D\uDE0A", "value \uD83D\uDE0A"),
+                List.of("value1", "value2", "value3", "value4")
+        );
+
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Files.writeString(file, document);
+            // Windows far smaller than a row, forcing remapping and window growth within each row
+            for (int windowSize = 1; windowSize <= 8; windowSize++) {
+                try (FileChannel channel = FileChannel.open(file)) {
+                    Tokenizer tokenizer = new MappedFileTokenizer(channel, 0, channel.size(), windowSize, ',', '\n', true, Character::isWhitespace, CSVReader.QuoteParsingMode.REJECT_INNER_QUOTES_IN_UNQUOTED_FIELDS);
+                    for (List<String> row : expected) {
+                        Assertions.assertTrue(tokenizer.readRow());
+                        String[] units = new String[tokenizer.unitCount()];
+                        for (int i = 0; i < units.length; i++) units[i] = tokenizer.unit(i);
+                        Assertions.assertEquals(row, List.of(units));
+                    }
+                    Assertions.assertTrue(tokenizer.reachedEnd());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+
+    @Test
+    public void cursor() throws IOException, CSVParseException {
+        String document = String.join("\n", QUOTED_VALUES, SPECIAL_CHARACTERS_IN_QUOTED_VALUES, CHARACTER_OUTSIDE_BMP, "\"välue\"\"1\",\"\uD83D\uDE0A\"\"\uD83D\uDE0A\"", VALUES);
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        List<List<String>> expected = List.of(
+                List.of("value 1", "value 2", "value\"3", "value\"\"\"4"),
+                List.of("value,\n"),
+                List.of("value \uD83D\uDE0A", "value \uD83D\uDE0A", " value \uD83D\uDE0A "),
+                List.of("välue\"1", "\uD83D\uDE0A\"\uD83D\uDE0A"),
+                List.of("value1", "value2", "value3", "value4")
+        );
+
+        CSVReader.Builder builder = createTestReader();
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Files.write(file, bytes);
+            for (CSVReader reader : List.of(builder.build(document), builder.build(new ByteArrayInputStream(bytes)), builder.build(file))) {
+                try (reader) {
+                    RowCursor cursor = reader.cursor();
+                    Assertions.assertThrows(IllegalStateException.class, () -> cursor.field(0));
+                    for (List<String> row : expected) {
+                        Assertions.assertTrue(cursor.next());
+                        Assertions.assertEquals(row.size(), cursor.fieldCount());
+                        for (int i = 0; i < row.size(); i++) {
+                            Assertions.assertEquals(row.get(i), cursor.field(i).toString());
+                            Assertions.assertEquals(row.get(i), cursor.copyField(i));
+                            Assertions.assertEquals(0, CharSequence.compare(row.get(i), cursor.field(i)));
+                        }
+                        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> cursor.field(row.size()));
+                    }
+                    Assertions.assertFalse(cursor.next());
+                    Assertions.assertFalse(reader.hasNext());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        // Malformed UTF-8 is replaced, matching InputStreamReader
+        byte[] malformed = {'a', (byte) 0xE2, (byte) 0x82, ',', '"', (byte) 0xF0, (byte) 0x9F, '"', '"', (byte) 0xFF, '"'};
+        String[] decoded = builder.build(new InputStreamReader(new ByteArrayInputStream(malformed), StandardCharsets.UTF_8)).readLine();
+        RowCursor cursor = builder.build(new ByteArrayInputStream(malformed)).cursor();
+        Assertions.assertTrue(cursor.next());
+        Assertions.assertEquals(decoded[0], cursor.field(0).toString());
+        Assertions.assertEquals(decoded[1], cursor.field(1).toString());
+    }
+
+    @Test
+    public void cursorGetters() throws IOException, CSVParseException {
+        String document = "42,\"-7\",1.5,\"2.5e3\",TRUE,\"false\",9223372036854775807\nx,1.5,,\"yes\"";
+        for (CSVReader reader : List.of(createTestReader().build(document), createTestReader().build(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8))))) {
+            RowCursor cursor = reader.cursor();
+            Assertions.assertTrue(cursor.next());
+            Assertions.assertEquals(42, cursor.getInt(0));
+            Assertions.assertEquals(-7, cursor.getInt(1));
+            Assertions.assertEquals(-7L, cursor.getLong(1));
+            Assertions.assertEquals(1.5, cursor.getDouble(2));
+            Assertions.assertEquals(2500.0, cursor.getDouble(3));
+            Assertions.assertTrue(cursor.getBoolean(4));
+            Assertions.assertFalse(cursor.getBoolean(5));
+            Assertions.assertEquals(Long.MAX_VALUE, cursor.getLong(6));
+            Assertions.assertThrows(NumberFormatException.class, () -> cursor.getInt(6));
+
+            Assertions.assertTrue(cursor.next());
+            Assertions.assertThrows(NumberFormatException.class, () -> cursor.getInt(0));
+            Assertions.assertThrows(NumberFormatException.class, () -> cursor.getInt(1));
+            Assertions.assertThrows(NumberFormatException.class, () -> cursor.getDouble(2));
+            Assertions.assertThrows(BooleanParseException.class, () -> cursor.getBoolean(3));
+        }
+    }
+
+    @Test
+    public void projection() throws IOException, CSVParseException {
+        String document = String.join("\n", HEADER, VALUES, QUOTED_VALUES, "value1");
+        try (CSVReader reader = createTestReader().build(document)) {
+            String[] header = reader.readLine();
+            reader.setProjection(header, "header4", "header2");
+            Assertions.assertArrayEquals(new String[]{null, "value2", null, "value4"}, reader.readLine());
+            reader.setProjection(0);
+            Assertions.assertArrayEquals(new String[]{"value 1", null, null, null}, reader.readLine());
+            reader.setProjection((int[]) null);
+            Assertions.assertArrayEquals(new String[]{"value1"}, reader.readLine());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> reader.setProjection(header, "header5"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> reader.setProjection(-1));
+        }
+    }
+
+    @Test
+    public void parallelFileSplits() throws IOException, CSVParseException {
+        CSVReader.Builder[] builders = {
+                CSVReader.Builder.DEFAULT_RFC4180(),
+                CSVReader.Builder.COMMA_SEPARATED_TRIM_WHITESPACE(),
+                createTestReader().setQuoteMode(CSVReader.QuoteParsingMode.TREAT_QUOTES_AS_NORMAL_CHARACTERS)
+        };
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Random random = new Random(6);
+            for (int iteration = 0; iteration < 50; iteration++) {
+                // Well-formed document with quoted units containing separators, newlines, and escaped quotes
+                StringBuilder document = new StringBuilder();
+                int rows = 1 + random.nextInt(40);
+                for (int row = 0; row < rows; row++) {
+                    int units = 1 + random.nextInt(5);
+                    for (int unit = 0; unit < units; unit++) {
+                        if (unit > 0) document.append(',');
+                        switch (random.nextInt(4)) {
+                            case 0 -> document.append("välue").append(random.nextInt(100));
+                            case 1 -> document.append("\"a,\nb\"\"c\n\"");
+                            case 2 -> document.append("\"\"\"\"\"\n\"\"\"");
+                            default -> document.append("\"x\"\"\"\"").append("\n".repeat(random.nextInt(3))).append('"');
+                        }
+                    }
+                    if (row < rows - 1 || random.nextBoolean()) document.append('\n');
+                }
+                Files.writeString(file, document);
+
+                for (CSVReader.Builder builder : builders) {
+                    List<List<String>> expected = new ArrayList<>();
+                    Tokenizer sequential = builder.build(document.toString()).tokenizer();
+                    while (sequential.readRow()) expected.add(List.of(sequential.units()));
+
+                    try (CSVReader reader = builder.build(file)) {
+                        // Split as far as possible, into splits of at least the minimum size
+                        for (long minimumSplitSize = 1; minimumSplitSize <= 16; minimumSplitSize *= 2) {
+                            MappedFileTokenizer tokenizer = (MappedFileTokenizer) reader.tokenizer();
+                            List<List<String>> actual = new ArrayList<>();
+                            splitFully(new MappedFileSpliterator<>(tokenizer, 0, tokenizer.end(), minimumSplitSize, Tokenizer::units), actual);
+                            Assertions.assertIterableEquals(expected, actual);
+                        }
+                        Assertions.assertIterableEquals(expected, reader.stream(true).map(List::of).toList());
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void splitFully(Spliterator<String[]> spliterator, List<List<String>> rows) {
+        Spliterator<String[]> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            splitFully(prefix, rows);
+            splitFully(spliterator, rows);
+        } else {
+            spliterator.forEachRemaining(row -> rows.add(List.of(row)));
+        }
+    }
+
     private final BufferedReader endOfStreamReader = new BufferedReader(new StringReader(""));
 
     @Test
@@ -182,4 +484,399 @@ public class CSVReaderTest {
                 .validate()
                 .build(endOfStreamReader);
     }
+
+    @Test
+    public void concurrentBatches() throws Exception {
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) document.append(i).append(",\"value\n").append(i).append("\"\n");
+
+        try (ConcurrentCSVReader<String[]> shared = createTestReader().build(document.toString()).concurrent(64)) {
+            List<List<String[]>> batches = Collections.synchronizedList(new ArrayList<>());
+            Thread[] consumers = new Thread[4];
+            for (int i = 0; i < consumers.length; i++) {
+                consumers[i] = new Thread(() -> {
+                    try {
+                        for (List<String[]> batch = shared.nextBatch(); !batch.isEmpty(); batch = shared.nextBatch()) batches.add(batch);
+                    } catch (IOException | CSVParseException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                consumers[i].start();
+            }
+            for (Thread consumer : consumers) consumer.join();
+
+            // Batches hold consecutive rows
+            batches.sort(Comparator.comparingInt(batch -> Integer.parseInt(batch.get(0)[0])));
+            int expected = 0;
+            for (List<String[]> batch : batches) {
+                Assertions.assertTrue(batch.size() <= 64);
+                for (String[] row : batch) {
+                    Assertions.assertArrayEquals(new String[]{String.valueOf(expected), "value\n" + expected}, row);
+                    expected++;
+                }
+            }
+            Assertions.assertEquals(10_000, expected);
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> createTestReader().build(VALUES).concurrent(0));
+    }
+
+    @Test
+    public void deduplicateUnits() throws IOException, CSVParseException {
+        // Low-cardinality first column, unique second column, escaped third column
+        StringBuilder document = new StringBuilder();
+        String[] countries = {"NL", "DE", "FR", "Österreich"};
+        for (int i = 0; i < 20_000; i++) document.append(countries[i % countries.length]).append(',').append(i).append(",\"a\"\"b\"\n");
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Files.writeString(file, document);
+            CSVReader.Builder builder = createTestReader().deduplicateUnits(true);
+            for (CSVReader reader : List.of(builder.build(document.toString()), builder.build(new ByteArrayInputStream(document.toString().getBytes(StandardCharsets.UTF_8))), builder.build(file))) {
+                try (reader) {
+                    String[] first = null;
+                    for (int i = 0; i < 20_000; i++) {
+                        String[] row = reader.readLine();
+                        Assertions.assertArrayEquals(new String[]{countries[i % countries.length], String.valueOf(i), "a\"b"}, row);
+                        if (i == 0) first = row;
+                        if (i % countries.length == 0) {
+                            Assertions.assertSame(first[0], row[0]);
+                            Assertions.assertSame(first[2], row[2]);
+                        }
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void readBatch() throws IOException, CSVParseException {
+        String document = String.join("\n", HEADER, VALUES, QUOTED_VALUES, CHARACTER_OUTSIDE_BMP, SPECIAL_CHARACTERS_IN_QUOTED_VALUES, "value1");
+        List<String[]> expected = new ArrayList<>();
+        createTestReader().build(document).forEach(expected::add);
+
+        for (CSVReader reader : List.of(createTestReader().build(document), createTestReader().build(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8))))) {
+            try (reader) {
+                RowBatch batch = new RowBatch();
+                List<String[]> rows = new ArrayList<>();
+                while (reader.readBatch(batch, 4) > 0) {
+                    Assertions.assertTrue(batch.rowCount() <= 4);
+                    for (int row = 0; row < batch.rowCount(); row++) {
+                        rows.add(batch.copyRow(row));
+                        for (int column = 0; column < batch.fieldCount(row); column++) {
+                            String field = new String(batch.chars(), batch.fieldOffset(row, column), batch.fieldLength(row, column));
+                            Assertions.assertEquals(field, batch.copyField(row, column));
+                            Assertions.assertEquals(field, batch.field(row, column).toString());
+                        }
+                    }
+                }
+                Assertions.assertEquals(expected.size(), rows.size());
+                for (int i = 0; i < rows.size(); i++) Assertions.assertArrayEquals(expected.get(i), rows.get(i));
+                Assertions.assertEquals(0, batch.rowCount());
+                Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.fieldCount(0));
+            }
+        }
+
+        try (CSVReader reader = createTestReader().build(document)) {
+            RowBatch batch = new RowBatch();
+            reader.setProjection(1);
+            Assertions.assertEquals(2, reader.readBatch(batch, 2));
+            Assertions.assertArrayEquals(new String[]{null, "header2", null, null}, batch.copyRow(0));
+            Assertions.assertEquals(-1, batch.fieldLength(1, 0));
+            Assertions.assertNull(batch.field(1, 3));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.copyField(1, 4));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> reader.readBatch(batch, 0));
+        }
+    }
+
+    @Test
+    public void seekToRow() throws IOException, CSVParseException {
+        StringBuilder document = new StringBuilder(HEADER);
+        for (int i = 0; i < 1000; i++) document.append('\n').append(i % 5 == 0 ? SPECIAL_CHARACTERS_IN_QUOTED_VALUES : "välue" + i + "," + i);
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        Path sidecar = RowIndex.sidecarPath(file);
+        try {
+            for (String contents : List.of(document.toString(), document + "\n", "")) {
+                Files.writeString(file, contents);
+                CSVReader.Builder builder = createTestReader();
+                List<String[]> expected = new ArrayList<>();
+                try (CSVReader reader = builder.build(file)) {
+                    while (reader.advance()) expected.add(reader.tokenizer().units());
+                }
+
+                RowIndex index = builder.buildIndex(file, 64);
+                Assertions.assertEquals(expected.size(), index.rowCount());
+                index.write(sidecar);
+                Assertions.assertEquals(index, RowIndex.read(sidecar));
+
+                try (CSVReader reader = builder.build(file)) {
+                    for (long row : new long[]{expected.size(), 0, 63, 64, 65, 640, 999, 1000, expected.size() - 1L, 5}) {
+                        if (row < 0 || row > expected.size()) continue;
+                        reader.seekToRow(row, index);
+                        Assertions.assertEquals(row, reader.rowCount());
+                        for (int i = (int) row; i < Math.min(expected.size(), row + 70); i++) {
+                            Assertions.assertArrayEquals(expected.get(i), reader.readLine());
+                            Assertions.assertEquals(i + 1, reader.rowCount());
+                        }
+                    }
+                    reader.seekToRow(expected.size(), index);
+                    Assertions.assertFalse(reader.advance());
+                    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> reader.seekToRow(expected.size() + 1, index));
+                    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> reader.seekToRow(-1, index));
+                }
+            }
+
+            RowIndex index = createTestReader().buildIndex(file, 1);
+            Files.writeString(file, VALUES);
+            try (CSVReader reader = createTestReader().build(file)) {
+                Assertions.assertThrows(IllegalArgumentException.class, () -> reader.seekToRow(0, index));
+            }
+            try (CSVReader reader = createTestReader().build(VALUES)) {
+                Assertions.assertThrows(UnsupportedOperationException.class, () -> reader.seekToRow(0, index));
+            }
+            Assertions.assertThrows(IllegalArgumentException.class, () -> createTestReader().buildIndex(file, 0));
+            Files.writeString(sidecar, VALUES);
+            Assertions.assertThrows(IOException.class, () -> RowIndex.read(sidecar));
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    @Test
+    public void checkpoint() throws Exception {
+        String document = String.join("\n", HEADER, VALUES, SPECIAL_CHARACTERS_IN_QUOTED_VALUES, CHARACTER_OUTSIDE_BMP, QUOTED_VALUES, VALUES);
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Files.writeString(file, document);
+            List<String[]> expected = new ArrayList<>();
+            createTestReader().build(document).forEach(expected::add);
+
+            for (int rows = 0; rows <= expected.size(); rows++) {
+                Checkpoint checkpoint;
+                try (CSVReader reader = createTestReader().build(file)) {
+                    for (int i = 0; i < rows; i++) reader.readLine();
+                    checkpoint = reader.checkpoint();
+                }
+                // Checkpoints survive serialization
+                ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+                try (ObjectOutputStream output = new ObjectOutputStream(serialized)) {
+                    output.writeObject(checkpoint);
+                }
+                try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(serialized.toByteArray()))) {
+                    checkpoint = (Checkpoint) input.readObject();
+                }
+                Assertions.assertEquals(rows, checkpoint.rowCount());
+
+                try (CSVReader reader = createTestReader().resumeFrom(checkpoint).build(file)) {
+                    Assertions.assertEquals(rows, reader.rowCount());
+                    List<String[]> remaining = new ArrayList<>();
+                    reader.forEach(remaining::add);
+                    Assertions.assertEquals(expected.size() - rows, remaining.size());
+                    for (int i = 0; i < remaining.size(); i++) Assertions.assertArrayEquals(expected.get(rows + i), remaining.get(i));
+                }
+            }
+
+            Checkpoint checkpoint;
+            try (CSVReader reader = createTestReader().build(file)) {
+                checkpoint = reader.checkpoint();
+            }
+            Assertions.assertThrows(IllegalStateException.class, () -> createTestReader().trimWhitespace(true).resumeFrom(checkpoint).build(file));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> createTestReader().resumeFrom(checkpoint).build(document));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> createTestReader().build(document).checkpoint());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void buildFollowing() throws Exception {
+        Path file = Files.createTempFile("CSVReaderTest", ".csv");
+        try {
+            Files.writeString(file, "a,b\n");
+            // Rows are appended in pieces, splitting a row and a quoted field
+            String[] pieces = {"c,\"d", "\n", "e\",f", "\ng,h\n"};
+            Thread appender = new Thread(() -> {
+                try {
+                    for (String piece : pieces) {
+                        Thread.sleep(20);
+                        Files.writeString(file, piece, StandardOpenOption.APPEND);
+                    }
+                } catch (IOException | InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            try (CSVReader reader = createTestReader().buildFollowing(file, Duration.ofMillis(1))) {
+                appender.start();
+                Assertions.assertArrayEquals(new String[]{"a", "b"}, reader.readLine());
+                Assertions.assertArrayEquals(new String[]{"c", "d\ne", "f"}, reader.readLine());
+                Assertions.assertArrayEquals(new String[]{"g", "h"}, reader.readLine());
+                Assertions.assertTrue(reader.hasNext());
+                appender.join();
+
+                // Closing from another thread ends a waiting read
+                Thread closer = new Thread(() -> {
+                    try {
+                        Thread.sleep(20);
+                        reader.close();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                closer.start();
+                Assertions.assertThrows(AsynchronousCloseException.class, reader::readLine);
+                closer.join();
+            }
+
+            // Resuming from a checkpoint follows from the checkpoint's offset
+            Checkpoint checkpoint;
+            try (CSVReader reader = createTestReader().build(file)) {
+                reader.readLine();
+                reader.readLine();
+                checkpoint = reader.checkpoint();
+            }
+            try (CSVReader reader = createTestReader().resumeFrom(checkpoint).buildFollowing(file, Duration.ofMillis(1))) {
+                Assertions.assertEquals(2, reader.rowCount());
+                Assertions.assertArrayEquals(new String[]{"g", "h"}, reader.readLine());
+                // Following readers take checkpoints at the next row, also when input past it has been buffered
+                checkpoint = reader.checkpoint();
+                Assertions.assertEquals(Files.size(file), checkpoint.offset());
+                Assertions.assertEquals(3, checkpoint.rowCount());
+            }
+            Files.writeString(file, "i,j\nk,l\n", StandardOpenOption.APPEND);
+            try (CSVReader reader = createTestReader().resumeFrom(checkpoint).buildFollowing(file, Duration.ofMillis(1))) {
+                Assertions.assertArrayEquals(new String[]{"i", "j"}, reader.readLine());
+                checkpoint = reader.checkpoint();
+                Assertions.assertEquals(Files.size(file) - 4, checkpoint.offset());
+            }
+            try (CSVReader reader = createTestReader().resumeFrom(checkpoint).buildFollowing(file, Duration.ofMillis(1))) {
+                Assertions.assertEquals(4, reader.rowCount());
+                Assertions.assertArrayEquals(new String[]{"k", "l"}, reader.readLine());
+            }
+            // Non-ASCII separators are decoded through a Reader, without known offsets
+            try (CSVReader reader = createTestReader().setUnitSeparator('§').buildFollowing(file, Duration.ofMillis(1))) {
+                Assertions.assertThrows(UnsupportedOperationException.class, reader::checkpoint);
+            }
+            Assertions.assertThrows(IllegalArgumentException.class, () -> createTestReader().buildFollowing(file, Duration.ZERO));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void buildGzip() throws Exception {
+        StringBuilder builder = new StringBuilder(HEADER);
+        Random random = new Random(21);
+        for (int i = 0; i < 20_000; i++) builder.append('\n').append(switch (random.nextInt(4)) {
+            case 0 -> VALUES;
+            case 1 -> QUOTED_VALUES;
+            case 2 -> SPECIAL_CHARACTERS_IN_QUOTED_VALUES;
+            default -> CHARACTER_OUTSIDE_BMP;
+        });
+        String document = builder.toString();
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        List<String[]> expected = new ArrayList<>();
+        createTestReader().build(document).forEach(expected::add);
+
+        // Single member
+        ByteArrayOutputStream single = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(single)) {
+            output.write(bytes);
+        }
+        // Concatenated members, split mid-row
+        ByteArrayOutputStream multiple = new ByteArrayOutputStream();
+        for (int start = 0; start < bytes.length; start += 100_000) {
+            try (GZIPOutputStream output = new GZIPOutputStream(multiple)) {
+                output.write(bytes, start, Math.min(100_000, bytes.length - start));
+            }
+        }
+        // BGZF blocks, followed by an empty end-of-file block
+        ByteArrayOutputStream bgzf = new ByteArrayOutputStream();
+        for (int start = 0; start < bytes.length; start += 60_000) writeBgzfBlock(bgzf, bytes, start, Math.min(60_000, bytes.length - start));
+        writeBgzfBlock(bgzf, bytes, 0, 0);
+        // A mix of plain members and BGZF blocks
+        ByteArrayOutputStream mixed = new ByteArrayOutputStream();
+        for (int start = 0; start < bytes.length; start += 30_000) {
+            int length = Math.min(30_000, bytes.length - start);
+            if (start % 60_000 == 0) {
+                writeBgzfBlock(mixed, bytes, start, length);
+            } else {
+                try (GZIPOutputStream output = new GZIPOutputStream(mixed)) {
+                    output.write(bytes, start, length);
+                }
+            }
+        }
+
+        // BGZF blocks, with the second header starting 10 bytes before the end of the 64KB input buffer
+        ByteArrayOutputStream boundary = new ByteArrayOutputStream();
+        int boundaryLength = 65_000;
+        do {
+            boundary.reset();
+            writeBgzfBlock(boundary, bytes, 0, ++boundaryLength, Deflater.NO_COMPRESSION);
+        } while (boundary.size() < 65_536 - 10);
+        Assertions.assertEquals(65_536 - 10, boundary.size());
+        for (int start = boundaryLength; start < bytes.length; start += 60_000) writeBgzfBlock(boundary, bytes, start, Math.min(60_000, bytes.length - start));
+
+        for (ByteArrayOutputStream compressed : List.of(single, multiple, bgzf, mixed, boundary)) {
+            for (int threads : new int[]{1, 4}) {
+                for (boolean shortReads : new boolean[]{false, true}) {
+                    InputStream input = new ByteArrayInputStream(compressed.toByteArray());
+                    if (shortReads) input = new FilterInputStream(input) {
+                        @Override
+                        public int read(byte[] b, int off, int len) throws IOException {
+                            return super.read(b, off, Math.min(len, 7));
+                        }
+                    };
+                    try (CSVReader reader = createTestReader().buildGzip(input, threads)) {
+                        List<String[]> actual = new ArrayList<>();
+                        reader.forEach(actual::add);
+                        Assertions.assertEquals(expected.size(), actual.size());
+                        for (int i = 0; i < expected.size(); i++) Assertions.assertArrayEquals(expected.get(i), actual.get(i));
+                    }
+                }
+            }
+        }
+
+        // Closing before reading to the end stops decompression
+        try (CSVReader reader = createTestReader().buildGzip(new ByteArrayInputStream(bgzf.toByteArray()), 4)) {
+            Assertions.assertArrayEquals(expected.get(0), reader.readLine());
+        }
+        // Corrupt input is reported as an IOException
+        byte[] corrupt = bgzf.toByteArray();
+        corrupt[corrupt.length / 2] ^= 0x55;
+        Assertions.assertThrows(IOException.class, () -> {
+            try (CSVReader reader = createTestReader().buildGzip(new ByteArrayInputStream(corrupt), 4)) {
+                while (reader.advance()) ;
+            }
+        });
+        Assertions.assertThrows(IOException.class, () -> createTestReader().buildGzip(new ByteArrayInputStream(bytes), 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> createTestReader().buildGzip(new ByteArrayInputStream(single.toByteArray()), 0));
+    }
+
+    /**
+     * Writes a BGZF block, a gzip member whose extra field records its compressed size
+     */
+    private static void writeBgzfBlock(OutputStream output, byte[] bytes, int offset, int length) throws IOException {
+        writeBgzfBlock(output, bytes, offset, length, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    private static void writeBgzfBlock(OutputStream output, byte[] bytes, int offset, int length, int level) throws IOException {
+        Deflater deflater = new Deflater(level, true);
+        deflater.setInput(bytes, offset, length);
+        deflater.finish();
+        byte[] deflated = new byte[length + 1024];
+        int deflatedLength = deflater.deflate(deflated);
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        int blockSize = 18 + deflatedLength + 8;
+        ByteBuffer block = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+        block.put(new byte[]{0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0});
+        block.putShort((short) (blockSize - 1));
+        block.put(deflated, 0, deflatedLength);
+        block.putInt((int) crc.getValue());
+        block.putInt(length);
+        output.write(block.array());
+    }
 }
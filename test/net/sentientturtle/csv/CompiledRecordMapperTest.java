@@ -0,0 +1,184 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.processor.CSVRecordProcessor;
+import net.sentientturtle.csv.reflection.TypeToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for {@link CompiledRecordMapper} and {@link CSVRecordProcessor}
+ * <br>
+ * Records are compiled with the annotation processor at test time, and must map identically to records mapped through reflection
+ */
+public class CompiledRecordMapperTest {
+    private static final String SOURCE = """
+            package example;
+
+            import net.sentientturtle.csv.CSVRecord;
+
+            @CSVRecord
+            public record Trade(String id, int quantity, double price, Boolean settled, char side, long time) {
+                public Trade {
+                    if (quantity < 0) throw new IllegalStateException("negative");
+                }
+
+                @CSVRecord
+                public record Nested(byte a, short b, float c, Character d, Long e, boolean f, Integer g) {}
+            }
+            """;
+    // Identical records without annotation, mapped through reflection
+    private static final String REFLECTIVE_SOURCE = SOURCE.replace("@CSVRecord", "").replace("Trade", "Reflective");
+    private static final Pattern TOP_LEVEL_NAME = Pattern.compile("public (?:record|class) (\\w+)");
+
+    /**
+     * Compiles sources with the annotation processor, against the library classes
+     *
+     * @param directory Directory to write sources and classes to
+     * @throws AssertionError If compilation succeeds when it should not, or vice versa
+     */
+    private static void compile(Path directory, boolean expectSuccess, String... sources) throws IOException, URISyntaxException {
+        String classPath = Path.of(CSVRecord.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        List<Path> files = new ArrayList<>();
+        for (String source : sources) {
+            Matcher name = TOP_LEVEL_NAME.matcher(source);
+            Assertions.assertTrue(name.find());
+            files.add(Files.writeString(directory.resolve(name.group(1) + ".java"), source));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null, fileManager, diagnostics,
+                    List.of("-d", directory.toString(), "-cp", classPath, "-implicit:class"),
+                    null, fileManager.getJavaFileObjectsFromPaths(files)
+            );
+            task.setProcessors(List.of(new CSVRecordProcessor()));
+            boolean success = task.call();
+            Assertions.assertEquals(expectSuccess, success, diagnostics.getDiagnostics().stream().map(Object::toString).collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+
+    private static Class<? extends Record> load(URLClassLoader loader, String name) throws ClassNotFoundException {
+        return loader.loadClass(name).asSubclass(Record.class);
+    }
+
+    /**
+     * @return Each record of the document, or the exception thrown while mapping it, as a string with the record name replaced
+     */
+    private static List<String> mapAll(Class<? extends Record> recordType, String document, boolean readHeader) throws Exception {
+        List<String> results = new ArrayList<>();
+        try (CSVMapper<? extends Record> mapper = CSVReader.Builder.DEFAULT_RFC4180().mapped(recordType, readHeader).build(document)) {
+            while (mapper.iterator().hasNext()) {
+                try {
+                    results.add(mapper.readRecord().toString());
+                } catch (Exception e) {
+                    results.add(e.getClass().getName() + ": " + e.getMessage() + " / " + e.getCause());
+                }
+            }
+        }
+        return results.stream().map(result -> result.replace(recordType.getSimpleName() + "[", "[")).toList();
+    }
+
+    private static String construct(ThrowingFunction<Object[], ? extends Record> constructor, Object[] fields) {
+        try {
+            return constructor.apply(fields).toString().replaceFirst("^\\w+\\[", "[");
+        } catch (Exception e) {
+            return e.getClass().getName() + " / " + e.getCause();
+        }
+    }
+
+    @Test
+    public void matchesReflection() throws Exception {
+        Path directory = Files.createTempDirectory("CompiledRecordMapperTest");
+        try {
+            compile(directory, true, SOURCE, REFLECTIVE_SOURCE);
+            Assertions.assertTrue(Files.exists(directory.resolve("example/Trade_CSVRecordMapper.class")));
+            Assertions.assertTrue(Files.exists(directory.resolve("example/Trade$Nested_CSVRecordMapper.class")));
+            Assertions.assertFalse(Files.exists(directory.resolve("example/Reflective_CSVRecordMapper.class")));
+
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, CompiledRecordMapperTest.class.getClassLoader())) {
+                Class<? extends Record> trade = load(loader, "example.Trade");
+                Class<? extends Record> reflective = load(loader, "example.Reflective");
+                Assertions.assertNotNull(CompiledRecordMapper.find(trade));
+                Assertions.assertNull(CompiledRecordMapper.find(reflective));
+
+                String document = "time,side,price,quantity,id,settled,extra\n" +
+                                  "1,B,1.5,10,a,true,x\n" +
+                                  "2,S,-0.25,-1,b,false,x\n" +
+                                  "3,BB,1,1,c,true,x\n" +
+                                  "4,S,1,x,d,true,x\n" +
+                                  "5,S,1e3,2,\"e,\",maybe,x\n" +
+                                  "6,S";
+                Assertions.assertEquals(mapAll(reflective, document, true), mapAll(trade, document, true));
+                Assertions.assertEquals(
+                        mapAll(load(loader, "example.Reflective$Nested"), "1,2,3.5,c,4,true,5\n128,2,3,c,4,true,5\n1,2,3,😀,4,true,5\n1,2,3,c,4,false,-0", false),
+                        mapAll(load(loader, "example.Trade$Nested"), "1,2,3.5,c,4,true,5\n128,2,3,c,4,true,5\n1,2,3,😀,4,true,5\n1,2,3,c,4,false,-0", false)
+                );
+
+                // Type mappers may be overridden, in which case only the compiled constructor is used
+                @SuppressWarnings("unchecked")
+                Class<Record> tradeType = (Class<Record>) trade;
+                try (CSVMapper<Record> mapper = CSVReader.Builder.DEFAULT_RFC4180().mapped(tradeType, false).addTypeMapper(new TypeToken<>(int.class), string -> Integer.parseInt(string, 16)).build("a,ff,1,true,B,1")) {
+                    Assertions.assertEquals("Trade[id=a, quantity=255, price=1.0, settled=true, side=B, time=1]", mapper.readRecord().toString());
+                }
+
+                ThrowingFunction<Object[], ? extends Record> compiled = CompiledRecordMapper.find(trade)::construct;
+                ThrowingFunction<Object[], ? extends Record> reflection = new TypeToken<>(reflective).getRecordConstructor();
+                Object[][] arguments = {
+                        {"a", 1, 1.5, true, 'B', 1L},
+                        {"a", (short) 1, 1.5f, null, 'B', 'c'},     // Widened as by reflection
+                        {"a", -1, 1.5, true, 'B', 1L},
+                        {"a", 1L, 1.5, true, 'B', 1L},
+                        {"a", null, 1.5, true, 'B', 1L},
+                        {1, 1, 1.5, true, 'B', 1L},
+                        {"a", 1, 1.5, "true", 'B', 1L},
+                        {"a", 1, 1.5, true, "B", 1L},
+                        {"a", 1, 1.5, true, 'B'},
+                };
+                for (Object[] fields : arguments) {
+                    Assertions.assertEquals(construct(reflection, fields), construct(compiled, fields));
+                }
+            }
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Test
+    public void unsupportedRecords() throws Exception {
+        Path directory = Files.createTempDirectory("CompiledRecordMapperTest");
+        try {
+            compile(directory, false, "package example; @net.sentientturtle.csv.CSVRecord public record Listed(java.util.List<String> values) {}");
+            compile(directory, false, "package example; @net.sentientturtle.csv.CSVRecord public record Generic<T>(T value) {}");
+            compile(directory, false, "package example; public class Outer { @net.sentientturtle.csv.CSVRecord private record Hidden(int value) {} }");
+            compile(directory, false, "package example; @net.sentientturtle.csv.CSVRecord public class NotARecord {}");
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package net.sentientturtle.csv;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Tests for {@link DelimiterScanner}
+ * <br>
+ * All scanner implementations must give results identical to {@link ScalarDelimiterScanner}
+ */
+public class DelimiterScannerTest {
+    private static final int[][] DELIMITERS = {
+            {',', '\n'},
+            {',', '\n', '"'},
+            {'\t', '\n', '"'},
+            {'"'},
+            {0x1F, 0x1E},
+            {0x1F60A, 0x1F60B, '"'}
+    };
+
+    @Test
+    public void createdScannerMatchesScalar() {
+        for (int[] delimiters : DELIMITERS) {
+            assertMatchesScalar(DelimiterScanner.create(delimiters), delimiters);
+        }
+    }
+
+    @Test
+    public void swarScannerMatchesScalar() {
+        for (int[] delimiters : DELIMITERS) {
+            assertMatchesScalar(new SwarDelimiterScanner(delimiters), delimiters);
+        }
+    }
+
+    @Test
+    public void surrogatesAreDelimiters() {
+        DelimiterScanner scanner = DelimiterScanner.create(',');
+        Assertions.assertEquals(5, scanner.indexOf("value😊,".toCharArray(), 0, 8));
+        Assertions.assertEquals(6, scanner.indexOf("value😊,".toCharArray(), 6, 8));
+        Assertions.assertEquals(7, scanner.indexOf("value😊,".toCharArray(), 7, 8));
+    }
+
+    @Test
+    public void tooManyDelimiters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DelimiterScanner.create(',', '\n', '"', '\r'));
+    }
+
+    /**
+     * Compares scanner results over random inputs of varying length, with sparse delimiters such that long runs are scanned
+     */
+    static void assertMatchesScalar(DelimiterScanner scanner, int[] delimiters) {
+        ScalarDelimiterScanner scalar = new ScalarDelimiterScanner(delimiters);
+        Random random = new Random(delimiters.length * 31L + delimiters[0]);
+        String alphabet = "abcé中 \"\r\n,\t\u001F\u001E😊\uDE0B";
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            int length = random.nextInt(300);
+            int density = 1 + random.nextInt(64);
+            char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = random.nextInt(density) == 0 ? alphabet.charAt(random.nextInt(alphabet.length())) : (char) ('a' + random.nextInt(26));
+            }
+            byte[] bytes = new String(chars).getBytes(StandardCharsets.UTF_8);
+            ByteBuffer heap = ByteBuffer.wrap(bytes);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).clear();
+
+            int from = length == 0 ? 0 : random.nextInt(length);
+            for (int i = from; i < length; i = scalar.indexOf(chars, i, length) + 1) {
+                Assertions.assertEquals(scalar.indexOf(chars, i, length), scanner.indexOf(chars, i, length));
+            }
+            for (int i = 0; i < bytes.length; i = scalar.indexOf(heap, i, bytes.length) + 1) {
+                Assertions.assertEquals(scalar.indexOf(heap, i, bytes.length), scanner.indexOf(heap, i, bytes.length));
+                Assertions.assertEquals(scalar.indexOf(heap, i, bytes.length), scanner.indexOf(direct, i, bytes.length));
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package net.sentientturtle.csv;
+
+import net.sentientturtle.csv.exception.BooleanParseException;
+import net.sentientturtle.csv.reflection.TypeToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for {@link FieldParsers}
+ * <br>
+ * Parsers must accept and reject exactly the same values as the default type mappers, with identical exception messages
+ */
+public class FieldParsersTest {
+    private static final List<String> VALUES = List.of(
+            "", "0", "-0", "+0", "1", "-1", "+", "-", ".", "1.", ".5", "-.5", "1.5", "01.50", "1e5", "1E-5", "1.5d", "1.5f", " 1", "1 ",
+            "2147483647", "2147483648", "-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808", "-9223372036854775808",
+            "0.1", "0.3", "123456789012345", "1234567890123456", "0.0000000000000000000001", "0.00000000000000000000001", "1.7976931348623157",
+            "1e", "1e+", "1e-", "e5", ".e5", "1.e5", "1e5.", "1e+05", "1E-0", "0e999999999999", "-0e-5", "1e308", "1.8e308", "1e309", "4.9e-324", "2.4e-324", "2.5e-324", "1e-400",
+            "3.4028235e38", "3.4028236e38", "1.4e-45", "7e-46", "9007199254740993", "9007199254740992.5", "2.2250738585072011e-308", "2.2250738585072012e-308",
+            "1.00000005960464477539062499", "1.000000059604644775390625", "16777217", "16777217.0", "9999999999999999999", "99999999999999999999", "1e+", "1e5d", "1e5 ",
+            "00000000000000000000001", "0.00000000000000000000000000000000000000000000000000000000001",
+            "NaN", "Infinity", "-Infinity", "0x1p3", "١٢٣", "1_000", "1,5", "true", "false", "TRUE", "fAlSe", "yes", "truee", "tru"
+    );
+
+    private static void assertEquivalent(ThrowingFunction<String, Object> expected, ThrowingFunction<String, Object> actual, String value) {
+        Object expectedResult;
+        try {
+            expectedResult = expected.apply(value);
+        } catch (Exception e) {
+            Exception exception = Assertions.assertThrows(e.getClass(), () -> actual.apply(value), value);
+            Assertions.assertEquals(e.getMessage(), exception.getMessage());
+            return;
+        }
+        Assertions.assertDoesNotThrow(() -> Assertions.assertEquals(expectedResult, actual.apply(value), value));
+    }
+
+    private static void assertEquivalentParsers(String value) {
+        CharSequence view = new StringBuilder(value);   // Not a String, such that parsers cannot use String-specific paths
+        assertEquivalent(Integer::parseInt, string -> FieldParsers.parseInt(view), value);
+        assertEquivalent(Long::parseLong, string -> FieldParsers.parseLong(view), value);
+        assertEquivalent(Double::parseDouble, string -> FieldParsers.parseDouble(view), value);
+        assertEquivalent(Float::parseFloat, string -> FieldParsers.parseFloat(view), value);
+        assertEquivalent(CSVMapper.Builder.DEFAULT_TYPE_MAPPERS.get(new TypeToken<>(boolean.class)), string -> FieldParsers.parseBoolean(view), value);
+    }
+
+    @Test
+    public void matchesDefaultTypeMappers() {
+        for (String value : VALUES) {
+            assertEquivalentParsers(value);
+        }
+    }
+
+    @Test
+    public void randomDecimals() {
+        Random random = new Random(8);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder value = new StringBuilder();
+            if (random.nextBoolean()) value.append(random.nextBoolean() ? '-' : '+');
+            int digits = random.nextInt(20);
+            int point = random.nextInt(digits + 2) - 1;
+            for (int digit = 0; digit < digits; digit++) {
+                if (digit == point) value.append('.');
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+            assertEquivalentParsers(value.toString());
+        }
+    }
+
+    @Test
+    public void randomScientific() {
+        Random random = new Random(22);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder value = new StringBuilder();
+            if (random.nextBoolean()) value.append('-');
+            int digits = 1 + random.nextInt(20);
+            int point = random.nextInt(digits + 1);
+            for (int digit = 0; digit < digits; digit++) {
+                if (digit == point) value.append('.');
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+            value.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(700) - 350);
+            assertEquivalentParsers(value.toString());
+        }
+        // Exactly halfway between doubles, and between floats
+        for (int i = 0; i < 10_000; i++) {
+            double lower = Double.longBitsToDouble(random.nextLong() & 0x7FEFFFFFFFFFFFFFL);
+            assertEquivalentParsers(new BigDecimal(lower).add(new BigDecimal(Math.nextUp(lower))).divide(BigDecimal.valueOf(2)).round(new MathContext(19)).toString());
+            float lowerFloat = Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF);
+            assertEquivalentParsers(new BigDecimal(lowerFloat).add(new BigDecimal(Math.nextUp(lowerFloat))).divide(BigDecimal.valueOf(2)).round(new MathContext(19)).toString());
+        }
+    }
+
+    @Test
+    public void randomIntegers() {
+        Random random = new Random(23);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            assertEquivalentParsers(Long.toString(value));
+            assertEquivalentParsers(Long.toString(value).concat(Integer.toString(random.nextInt(10))));
+        }
+    }
+
+    @Test
+    public void booleanException() {
+        Assertions.assertThrows(BooleanParseException.class, () -> FieldParsers.parseBoolean("1"));
+    }
+}
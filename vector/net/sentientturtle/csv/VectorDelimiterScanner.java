@@ -0,0 +1,61 @@
+package net.sentientturtle.csv;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Delimiter scanner comparing a full vector of bytes or characters at a time, using the {@code jdk.incubator.vector} API
+ * <br>
+ * Each vector is compared against all delimiters, producing a mask of matching lanes; The first set lane is the index of the first delimiter.
+ * Remaining bytes or characters that do not fill a vector are scanned by the scalar scanner.
+ * <br>
+ * Requires compilation and execution with {@code --add-modules jdk.incubator.vector}; Only loaded through {@link DelimiterScanner#create(int...)} if the module is present.
+ */
+class VectorDelimiterScanner extends ScalarDelimiterScanner {
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> CHAR_SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    /**
+     * @param delimiters Up to 3 delimiter codepoints
+     * @throws IllegalArgumentException If more than 3 delimiters are specified
+     */
+    VectorDelimiterScanner(int... delimiters) throws IllegalArgumentException {
+        super(delimiters);
+    }
+
+    @Override
+    int indexOf(ByteBuffer buffer, int from, int to) {
+        byte byte0 = this.byte0;
+        byte byte1 = this.byte1;
+        byte byte2 = this.byte2;
+        int i = from;
+        int bound = to - BYTE_SPECIES.length();
+        for (; i <= bound; i += BYTE_SPECIES.length()) {
+            ByteVector vector = ByteVector.fromByteBuffer(BYTE_SPECIES, buffer, i, ByteOrder.nativeOrder());
+            VectorMask<Byte> mask = vector.eq(byte0).or(vector.eq(byte1)).or(vector.eq(byte2));
+            if (mask.anyTrue()) return i + mask.firstTrue();
+        }
+        return super.indexOf(buffer, i, to);
+    }
+
+    @Override
+    int indexOf(char[] buffer, int from, int to) {
+        short char0 = (short) this.char0;
+        short char1 = (short) this.char1;
+        short char2 = (short) this.char2;
+        int i = from;
+        int bound = to - CHAR_SPECIES.length();
+        for (; i <= bound; i += CHAR_SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(CHAR_SPECIES, buffer, i);
+            VectorMask<Short> mask = vector.eq(char0).or(vector.eq(char1)).or(vector.eq(char2))
+                    .or(vector.and((short) 0xF800).eq((short) 0xD800));  // Surrogates: 0xD800 - 0xDFFF
+            if (mask.anyTrue()) return i + mask.firstTrue();
+        }
+        return super.indexOf(buffer, i, to);
+    }
+}